@@ -29,6 +29,11 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Map;
+import java.util.stream.Stream;
+
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
@@ -81,6 +86,14 @@ public final class MapMate {
         return this.deserializer.deserialize(yaml, targetType, MarshallingType.yaml());
     }
 
+    public <T> Stream<T> deserializeYamlDocuments(final InputStream yaml, final Class<T> targetType) {
+        return this.deserializer.deserializeDocuments(yaml, targetType, MarshallingType.yaml());
+    }
+
+    public <T> Stream<T> deserializeYamlDocuments(final Reader yaml, final Class<T> targetType) {
+        return this.deserializer.deserializeDocuments(yaml, targetType, MarshallingType.yaml());
+    }
+
     public <T> T deserializeXml(final String xml, final Class<T> targetType) {
         return this.deserializer.deserialize(xml, targetType, MarshallingType.xml());
     }
@@ -88,4 +101,12 @@ public final class MapMate {
     public <T> T deserialize(final String json, final Class<T> targetType, final MarshallingType marshallingType) {
         return this.deserializer.deserialize(json, targetType, marshallingType);
     }
+
+    public Map<String, Object> diff(final Object before, final Object after) {
+        return this.serializer.diff(before, after);
+    }
+
+    public <T> T applyPatch(final T base, final Map<String, Object> patch) {
+        return this.deserializer.applyPatch(base, patch, this.serializer::elementsOf);
+    }
 }
@@ -28,25 +28,34 @@ import com.envimate.mapmate.builder.definitions.CustomPrimitiveDefinition;
 import com.envimate.mapmate.builder.definitions.SerializedObjectDefinition;
 import com.envimate.mapmate.builder.recipes.Recipe;
 import com.envimate.mapmate.deserialization.Deserializer;
+import com.envimate.mapmate.deserialization.DeserializerOptions;
 import com.envimate.mapmate.deserialization.Unmarshaller;
 import com.envimate.mapmate.deserialization.validation.*;
 import com.envimate.mapmate.injector.InjectorFactory;
 import com.envimate.mapmate.injector.InjectorLambda;
 import com.envimate.mapmate.marshalling.MarshallerRegistry;
 import com.envimate.mapmate.marshalling.MarshallingType;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.envimate.mapmate.marshalling.tape.TapeSegmentPool;
+import com.envimate.mapmate.parallel.Parallelism;
 import com.envimate.mapmate.serialization.Marshaller;
+import com.envimate.mapmate.serialization.OutputCache;
 import com.envimate.mapmate.serialization.Serializer;
+import com.envimate.mapmate.serialization.SerializerOptions;
 
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 import static com.envimate.mapmate.builder.DefaultPackageScanner.defaultPackageScanner;
 import static com.envimate.mapmate.builder.MapMate.mapMate;
 import static com.envimate.mapmate.builder.anticorruption.DefinitionsFactory.definitionsFactory;
 import static com.envimate.mapmate.deserialization.Deserializer.theDeserializer;
+import static com.envimate.mapmate.deserialization.DeserializerOptions.defaultDeserializerOptions;
 import static com.envimate.mapmate.injector.InjectorFactory.injectorFactory;
 import static com.envimate.mapmate.marshalling.MarshallerRegistry.marshallerRegistry;
 import static com.envimate.mapmate.serialization.Serializer.theSerializer;
+import static com.envimate.mapmate.serialization.SerializerOptions.defaultSerializerOptions;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
@@ -57,6 +66,7 @@ public final class MapMateBuilder {
     public Detector detector = ConventionalDetectors.conventionalDetectorWithAnnotations();
     private final PackageScanner packageScanner;
     private final List<Recipe> recipes = new LinkedList<>();
+    private final Map<Class<?>, UnaryOperator<CustomPrimitiveDefinition>> memoizedCustomPrimitives = new HashMap<>(1);
     private final ValidationMappings validationMappings = ValidationMappings.empty();
     private final ValidationErrorsMapping validationErrorsMapping = validationErrors -> {
         throw AggregatedValidationException.fromList(validationErrors);
@@ -64,6 +74,8 @@ public final class MapMateBuilder {
     private Map<MarshallingType, Marshaller> marshallerMap = new HashMap<>(1);
     private Map<MarshallingType, Unmarshaller> unmarshallerMap = new HashMap<>(1);
     private InjectorFactory injectorFactory = InjectorFactory.emptyInjectorFactory();
+    private SerializerOptions serializerOptions = defaultSerializerOptions();
+    private DeserializerOptions deserializerOptions = defaultDeserializerOptions();
 
     private MapMateBuilder(final PackageScanner packageScanner) {
         this.packageScanner = packageScanner;
@@ -143,6 +155,57 @@ public final class MapMateBuilder {
         return this;
     }
 
+    public MapMateBuilder withParallelSerialization(final Parallelism parallelism) {
+        this.serializerOptions = this.serializerOptions.withParallelism(parallelism);
+        return this;
+    }
+
+    public MapMateBuilder withParallelDeserialization(final Parallelism parallelism) {
+        this.deserializerOptions = this.deserializerOptions.withParallelism(parallelism);
+        return this;
+    }
+
+    public MapMateBuilder withPayloadLimits(final PayloadLimits payloadLimits) {
+        this.deserializerOptions = this.deserializerOptions.withPayloadLimits(payloadLimits);
+        return this;
+    }
+
+    public MapMateBuilder preservingReferences() {
+        this.serializerOptions = this.serializerOptions.preservingReferences();
+        this.deserializerOptions = this.deserializerOptions.resolvingReferences();
+        return this;
+    }
+
+    public MapMateBuilder withCanonicalOutput() {
+        this.serializerOptions = this.serializerOptions.withCanonicalOutput();
+        return this;
+    }
+
+    public MapMateBuilder withCompactMaps() {
+        this.serializerOptions = this.serializerOptions.withCompactMaps();
+        return this;
+    }
+
+    public MapMateBuilder withOutputCache(final OutputCache outputCache) {
+        this.serializerOptions = this.serializerOptions.withOutputCache(outputCache);
+        return this;
+    }
+
+    public MapMateBuilder withTapeSegmentPool(final TapeSegmentPool tapeSegmentPool) {
+        this.serializerOptions = this.serializerOptions.withTapeSegmentPool(tapeSegmentPool);
+        this.deserializerOptions = this.deserializerOptions.withTapeSegmentPool(tapeSegmentPool);
+        return this;
+    }
+
+    public MapMateBuilder withMemoizedCustomPrimitive(final Class<?> type,
+                                                      final int cacheSize,
+                                                      final Object... constants) {
+        validateNotNull(type, "type");
+        validateNotNull(constants, "constants");
+        this.memoizedCustomPrimitives.put(type, definition -> definition.memoized(cacheSize, constants));
+        return this;
+    }
+
     public MapMateBuilder usingRecipe(final Recipe recipe) {
         this.recipes.add(recipe);
         return this;
@@ -194,6 +257,15 @@ public final class MapMateBuilder {
         this.detector.customPrimitives(detectionCandidates)
                 .forEach(definition -> customPrimitives.put(definition.type, definition));
 
+        this.memoizedCustomPrimitives.forEach((type, memoization) -> {
+            final CustomPrimitiveDefinition definition = customPrimitives.get(type);
+            if (definition == null) {
+                throw new IllegalArgumentException(String.format(
+                        "cannot memoize %s because it is not a custom primitive", type.getName()));
+            }
+            customPrimitives.put(type, memoization.apply(definition));
+        });
+
         final List<Class<?>> serializedObjectDetectionCandidates = subtractKeys(detectionCandidates, customPrimitives);
         this.detector.serializedObjects(serializedObjectDetectionCandidates)
                 .forEach(definition -> serializedObjects.put(definition.type, definition));
@@ -203,7 +275,11 @@ public final class MapMateBuilder {
                 customPrimitives.values(),
                 serializedObjects.values()
         );
-        final Serializer serializer = theSerializer(marshallerRegistry, definitionsFactory.toSerializableDefinitions());
+        final Serializer serializer = theSerializer(
+                marshallerRegistry,
+                definitionsFactory.toSerializableDefinitions(),
+                this.serializerOptions
+        );
 
         final MarshallerRegistry<Unmarshaller> unmarshallerRegistry = marshallerRegistry(this.unmarshallerMap);
         final Deserializer deserializer = theDeserializer(
@@ -212,7 +288,8 @@ public final class MapMateBuilder {
                 this.validationMappings,
                 this.validationErrorsMapping,
                 false,
-                this.injectorFactory
+                this.injectorFactory,
+                this.deserializerOptions
         );
         return mapMate(serializer, deserializer);
     }
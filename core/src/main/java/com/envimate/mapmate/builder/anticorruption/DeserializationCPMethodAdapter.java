@@ -22,6 +22,7 @@
 package com.envimate.mapmate.builder.anticorruption;
 
 import com.envimate.mapmate.builder.definitions.deserializers.CustomPrimitiveDeserializer;
+import com.envimate.mapmate.builder.definitions.deserializers.ScalarCustomPrimitiveDeserializer;
 import com.envimate.mapmate.deserialization.methods.DeserializationCPMethod;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
@@ -49,4 +50,12 @@ public final class DeserializationCPMethodAdapter implements DeserializationCPMe
     public Object deserialize(final String input, final Class<?> targetType) throws Exception {
         return this.deserializer.deserialize(input);
     }
+
+    @Override
+    public Object deserializeScalar(final Object input, final Class<?> targetType) throws Exception {
+        if (this.deserializer instanceof ScalarCustomPrimitiveDeserializer) {
+            return ((ScalarCustomPrimitiveDeserializer<?>) this.deserializer).deserializeScalar(input);
+        }
+        return this.deserializer.deserialize(input.toString());
+    }
 }
@@ -22,6 +22,7 @@
 package com.envimate.mapmate.builder.anticorruption;
 
 import com.envimate.mapmate.builder.definitions.serializers.CustomPrimitiveSerializer;
+import com.envimate.mapmate.builder.definitions.serializers.ScalarCustomPrimitiveSerializer;
 import com.envimate.mapmate.serialization.methods.SerializationCPMethod;
 import com.envimate.mapmate.serialization.methods.SerializationCPMethodDefinition;
 import lombok.AccessLevel;
@@ -51,4 +52,12 @@ public final class SerializationCPMethodAdapter implements SerializationCPMethod
     public String serialize(final Object object) {
         return this.serializer.serialize(object);
     }
+
+    @Override
+    public Object serializeScalar(final Object object) {
+        if (this.serializer instanceof ScalarCustomPrimitiveSerializer) {
+            return ((ScalarCustomPrimitiveSerializer) this.serializer).serializeScalar(object);
+        }
+        return this.serializer.serialize(object);
+    }
 }
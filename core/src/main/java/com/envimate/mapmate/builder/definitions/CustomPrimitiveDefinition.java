@@ -29,9 +29,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 import static com.envimate.mapmate.builder.definitions.deserializers.CustomPrimitiveByMethodDeserializer.createDeserializer;
 import static com.envimate.mapmate.builder.definitions.serializers.CustomPrimitiveByMethodSerializer.createSerializer;
+import static com.envimate.mapmate.builder.definitions.serializers.MemoizingCustomPrimitiveSerializer.memoizingCustomPrimitiveSerializer;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
 
 @ToString
@@ -65,4 +67,18 @@ public final class CustomPrimitiveDefinition {
         validateNotNull(deserializer, "deserializer");
         return new CustomPrimitiveDefinition(type, serializer, deserializer);
     }
+
+    @SuppressWarnings("unchecked")
+    public CustomPrimitiveDefinition memoized(final int cacheSize, final Object... constants) {
+        validateNotNull(constants, "constants");
+        for (final Object constant : constants) {
+            if (!this.type.isInstance(constant)) {
+                throw new IllegalArgumentException(String.format(
+                        "constant %s is not an instance of the custom primitive type %s", constant, this.type.getName()));
+            }
+        }
+        final CustomPrimitiveSerializer<?> memoizingSerializer = memoizingCustomPrimitiveSerializer(
+                (CustomPrimitiveSerializer<Object>) this.serializer, cacheSize, List.of(constants));
+        return new CustomPrimitiveDefinition(this.type, memoizingSerializer, this.deserializer);
+    }
 }
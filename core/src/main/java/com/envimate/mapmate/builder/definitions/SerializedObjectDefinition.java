@@ -31,15 +31,13 @@ import lombok.ToString;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 import static com.envimate.mapmate.builder.definitions.deserializers.SerializedObjectByConstructorDeserializer.createDeserializer;
 import static com.envimate.mapmate.builder.definitions.deserializers.SerializedObjectByMethodDeserializer.createDeserializer;
 import static com.envimate.mapmate.builder.definitions.IncompatibleSerializedObjectException.incompatibleSerializedObjectException;
+import static com.envimate.mapmate.builder.definitions.serializers.SerializedObjectByFieldsSerializer.createSerializer;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
-import static java.lang.reflect.Modifier.*;
 import static java.util.Arrays.stream;
 
 @ToString
@@ -117,59 +115,4 @@ public final class SerializedObjectDefinition {
                     stream(parameterTypes).map(Class::getName).collect(Collectors.joining(",")), e);
         }
     }
-
-    private static SerializationDTOMethod createSerializer(final Class<?> type, final Field[] serializedFields) {
-        if (serializedFields.length < 1) {
-            throw incompatibleSerializedObjectException(
-                    "The SerializedObject %s does not have any serialized fields",
-                    type
-            );
-        }
-
-        stream(serializedFields).forEach(field -> validateFieldModifiers(type, field));
-
-        return (object, serializerCallback) -> {
-            final Map<String, Object> normalizedChildren = new HashMap<>(serializedFields.length);
-
-            stream(serializedFields)
-                    .forEach(field -> {
-                        try {
-                            final String name = field.getName();
-                            final Object value = field.get(object);
-                            final Object serializedValue = serializerCallback.apply(value);
-                            normalizedChildren.put(name, serializedValue);
-                        } catch (final IllegalAccessException e) {
-                            throw new UnsupportedOperationException(String.format(
-                                    "This should never happen. Tried to access field %s on instance " +
-                                            "%s of type %s during SerializedObject serialization",
-                                    field,
-                                    object,
-                                    type), e);
-                        }
-                    });
-
-            return normalizedChildren;
-        };
-    }
-
-    private static void validateFieldModifiers(final Class<?> type, final Field field) {
-        final int fieldModifiers = field.getModifiers();
-
-        if (!isPublic(fieldModifiers)) {
-            throw incompatibleSerializedObjectException(
-                    "The field %s for the SerializedObject of type %s must be public",
-                    field, type);
-        }
-        if (isStatic(fieldModifiers)) {
-            throw incompatibleSerializedObjectException(
-                    "The field %s for the SerializedObject of type %s must not be static",
-                    field, type);
-        }
-        if (isTransient(fieldModifiers)) {
-            throw incompatibleSerializedObjectException(
-                    "The field %s for the SerializedObject of type %s must not be transient",
-                    field, type);
-        }
-    }
-
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.definitions.serializers;
+
+import java.lang.ref.WeakReference;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+/**
+ * Remembers the serialized values of custom primitives. The values of registered constants are computed once when the
+ * serializer is created. Other instances are remembered by identity in a fixed number of slots, where a newer instance
+ * replaces whichever instance previously occupied its slot.
+ */
+public final class MemoizingCustomPrimitiveSerializer<T> implements ScalarCustomPrimitiveSerializer<T> {
+    private static final int MAX_CACHE_SIZE = 1 << 30;
+
+    private final CustomPrimitiveSerializer<T> delegate;
+    private final Map<Object, Object> constants;
+    private final AtomicReferenceArray<Memo> memos;
+
+    private MemoizingCustomPrimitiveSerializer(final CustomPrimitiveSerializer<T> delegate,
+                                               final Map<Object, Object> constants,
+                                               final int slots) {
+        this.delegate = delegate;
+        this.constants = constants;
+        this.memos = slots == 0 ? null : new AtomicReferenceArray<>(slots);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> MemoizingCustomPrimitiveSerializer<T> memoizingCustomPrimitiveSerializer(
+            final CustomPrimitiveSerializer<T> delegate,
+            final int cacheSize,
+            final Iterable<?> constants) {
+        validateNotNull(delegate, "delegate");
+        validateNotNull(constants, "constants");
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must not be negative but was " + cacheSize);
+        }
+        if (cacheSize > MAX_CACHE_SIZE) {
+            throw new IllegalArgumentException("cacheSize must not exceed " + MAX_CACHE_SIZE + " but was " + cacheSize);
+        }
+        final MemoizingCustomPrimitiveSerializer<T> uncached = new MemoizingCustomPrimitiveSerializer<>(
+                delegate, Map.of(), 0);
+        final Map<Object, Object> precomputed = new IdentityHashMap<>();
+        for (final Object constant : constants) {
+            validateNotNull(constant, "constant");
+            precomputed.put(constant, uncached.compute((T) constant));
+        }
+        final int slots = cacheSize == 0 ? 0 : Math.max(1, Integer.highestOneBit(cacheSize - 1) << 1);
+        return new MemoizingCustomPrimitiveSerializer<>(delegate, precomputed, slots);
+    }
+
+    @Override
+    public Object serializeScalar(final T object) {
+        final Object constant = this.constants.get(object);
+        if (constant != null) {
+            return constant;
+        }
+        if (this.memos == null) {
+            return this.compute(object);
+        }
+        final int slot = System.identityHashCode(object) & (this.memos.length() - 1);
+        final Memo memo = this.memos.get(slot);
+        if (memo != null && memo.get() == object) {
+            return memo.serialized;
+        }
+        final Object serialized = this.compute(object);
+        if (serialized != null) {
+            this.memos.set(slot, new Memo(object, serialized));
+        }
+        return serialized;
+    }
+
+    private Object compute(final T object) {
+        if (this.delegate instanceof ScalarCustomPrimitiveSerializer) {
+            return ((ScalarCustomPrimitiveSerializer<T>) this.delegate).serializeScalar(object);
+        }
+        return this.delegate.serialize(object);
+    }
+
+    private static final class Memo extends WeakReference<Object> {
+        private final Object serialized;
+
+        private Memo(final Object object, final Object serialized) {
+            super(object);
+            this.serialized = serialized;
+        }
+    }
+}
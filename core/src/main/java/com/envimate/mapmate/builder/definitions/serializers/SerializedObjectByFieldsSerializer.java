@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.definitions.serializers;
+
+import com.envimate.mapmate.marshalling.CompactMap;
+import com.envimate.mapmate.marshalling.CompactMapShape;
+import com.envimate.mapmate.serialization.methods.SerializationDTOMethod;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.envimate.mapmate.builder.definitions.IncompatibleSerializedObjectException.incompatibleSerializedObjectException;
+import static com.envimate.mapmate.marshalling.CompactMapShape.compactMapShape;
+import static java.lang.reflect.Modifier.*;
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SerializedObjectByFieldsSerializer implements SerializationDTOMethod {
+    private final Class<?> type;
+    private final Field[] serializedFields;
+    private final CompactMapShape shape;
+
+    public static SerializationDTOMethod createSerializer(final Class<?> type, final Field[] serializedFields) {
+        if (serializedFields.length < 1) {
+            throw incompatibleSerializedObjectException(
+                    "The SerializedObject %s does not have any serialized fields",
+                    type
+            );
+        }
+
+        stream(serializedFields).forEach(field -> validateFieldModifiers(type, field));
+
+        final String[] names = stream(serializedFields).map(Field::getName).toArray(String[]::new);
+        return new SerializedObjectByFieldsSerializer(type, serializedFields.clone(), compactMapShape(names));
+    }
+
+    @Override
+    public Object serialize(final Object object, final Function<Object, Object> serializerCallback) {
+        final CompactMap normalizedChildren = this.shape.newMap();
+        for (int i = 0; i < this.serializedFields.length; ++i) {
+            this.serializeField(object, i, serializerCallback, normalizedChildren);
+        }
+        return normalizedChildren;
+    }
+
+    @Override
+    public Optional<List<String>> fieldNames(final Class<?> type) {
+        return Optional.of(stream(this.serializedFields).map(Field::getName).collect(toUnmodifiableList()));
+    }
+
+    @Override
+    public Object serialize(final Object object,
+                            final Function<Object, Object> serializerCallback,
+                            final int[] includedFieldIndices) {
+        final CompactMap normalizedChildren = this.shape.newMap();
+        for (final int index : includedFieldIndices) {
+            this.serializeField(object, index, serializerCallback, normalizedChildren);
+        }
+        return normalizedChildren;
+    }
+
+    private void serializeField(final Object object,
+                                final int index,
+                                final Function<Object, Object> serializerCallback,
+                                final CompactMap normalizedChildren) {
+        final Field field = this.serializedFields[index];
+        try {
+            final Object value = field.get(object);
+            final Object serializedValue = serializerCallback.apply(value);
+            normalizedChildren.set(index, serializedValue);
+        } catch (final IllegalAccessException e) {
+            throw new UnsupportedOperationException(String.format(
+                    "This should never happen. Tried to access field %s on instance " +
+                            "%s of type %s during SerializedObject serialization",
+                    field,
+                    object,
+                    this.type), e);
+        }
+    }
+
+    private static void validateFieldModifiers(final Class<?> type, final Field field) {
+        final int fieldModifiers = field.getModifiers();
+
+        if (!isPublic(fieldModifiers)) {
+            throw incompatibleSerializedObjectException(
+                    "The field %s for the SerializedObject of type %s must be public",
+                    field, type);
+        }
+        if (isStatic(fieldModifiers)) {
+            throw incompatibleSerializedObjectException(
+                    "The field %s for the SerializedObject of type %s must not be static",
+                    field, type);
+        }
+        if (isTransient(fieldModifiers)) {
+            throw incompatibleSerializedObjectException(
+                    "The field %s for the SerializedObject of type %s must not be transient",
+                    field, type);
+        }
+    }
+}
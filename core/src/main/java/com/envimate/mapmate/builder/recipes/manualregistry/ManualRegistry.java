@@ -25,6 +25,8 @@ import com.envimate.mapmate.builder.Detector;
 import com.envimate.mapmate.builder.MapMateBuilder;
 import com.envimate.mapmate.builder.definitions.CustomPrimitiveDefinition;
 import com.envimate.mapmate.builder.definitions.SerializedObjectDefinition;
+import com.envimate.mapmate.builder.definitions.deserializers.ScalarCustomPrimitiveDeserializer;
+import com.envimate.mapmate.builder.definitions.serializers.ScalarCustomPrimitiveSerializer;
 import com.envimate.mapmate.builder.recipes.Recipe;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
@@ -61,6 +63,14 @@ public final class ManualRegistry implements Recipe {
         ));
     }
 
+    public <T> ManualRegistry withScalarCustomPrimitive(final Class<T> type,
+                                                        final Function<T, Object> serializationMethod,
+                                                        final Function<Object, T> deserializationMethod) {
+        final ScalarCustomPrimitiveSerializer<T> serializer = serializationMethod::apply;
+        final ScalarCustomPrimitiveDeserializer<T> deserializer = deserializationMethod::apply;
+        return this.withCustomPrimitive(customPrimitiveDefinition(type, serializer, deserializer));
+    }
+
     public ManualRegistry withCustomPrimitive(final CustomPrimitiveDefinition customPrimitive) {
         final CustomPrimitiveDefinition alreadyAdded = this.customPrimitiveDefinitions.put(
                 customPrimitive.type,
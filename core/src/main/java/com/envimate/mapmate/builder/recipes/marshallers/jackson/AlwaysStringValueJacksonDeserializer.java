@@ -1,56 +0,0 @@
-/*
- * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
- *
- * Licensed to the Apache Software Foundation (ASF) under one
- * or more contributor license agreements.  See the NOTICE file
- * distributed with this work for additional information
- * regarding copyright ownership.  The ASF licenses this file
- * to you under the Apache License, Version 2.0 (the
- * "License"); you may not use this file except in compliance
- * with the License.  You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing,
- * software distributed under the License is distributed on an
- * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
- * KIND, either express or implied.  See the License for the
- * specific language governing permissions and limitations
- * under the License.
- */
-
-package com.envimate.mapmate.builder.recipes.marshallers.jackson;
-
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonTokenId;
-import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.deser.std.UntypedObjectDeserializer;
-
-import java.io.IOException;
-import java.util.Set;
-
-final class AlwaysStringValueJacksonDeserializer extends UntypedObjectDeserializer {
-    private static final Set<Integer> STRING_TOKENS = Set.of(
-            JsonTokenId.ID_NUMBER_INT,
-            JsonTokenId.ID_NUMBER_FLOAT,
-            JsonTokenId.ID_TRUE,
-            JsonTokenId.ID_FALSE
-    );
-
-    AlwaysStringValueJacksonDeserializer() {
-        super(null, null);
-    }
-
-    @Override
-    public Object deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
-        final int currentTokenId = p.getCurrentTokenId();
-        if (STRING_TOKENS.contains(currentTokenId)) {
-            if (this._stringDeserializer != null) {
-                return this._stringDeserializer.deserialize(p, ctxt);
-            }
-            return p.getText();
-        } else {
-            return super.deserialize(p, ctxt);
-        }
-    }
-}
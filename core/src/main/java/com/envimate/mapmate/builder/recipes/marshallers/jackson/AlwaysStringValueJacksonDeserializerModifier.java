@@ -1,43 +0,0 @@
-/*
- * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
- *
- * Licensed to the Apache Software Foundation (ASF) under one
- * or more contributor license agreements.  See the NOTICE file
- * distributed with this work for additional information
- * regarding copyright ownership.  The ASF licenses this file
- * to you under the Apache License, Version 2.0 (the
- * "License"); you may not use this file except in compliance
- * with the License.  You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing,
- * software distributed under the License is distributed on an
- * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
- * KIND, either express or implied.  See the License for the
- * specific language governing permissions and limitations
- * under the License.
- */
-
-package com.envimate.mapmate.builder.recipes.marshallers.jackson;
-
-import com.fasterxml.jackson.databind.BeanDescription;
-import com.fasterxml.jackson.databind.DeserializationConfig;
-import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
-import com.fasterxml.jackson.databind.deser.std.UntypedObjectDeserializer;
-import com.fasterxml.jackson.databind.deser.std.UntypedObjectDeserializer.Vanilla;
-
-class AlwaysStringValueJacksonDeserializerModifier extends BeanDeserializerModifier {
-    @Override
-    public JsonDeserializer<?> modifyDeserializer(final DeserializationConfig config,
-                                                  final BeanDescription beanDesc,
-                                                  final JsonDeserializer<?> deserializer) {
-        if (deserializer instanceof UntypedObjectDeserializer ||
-                deserializer instanceof Vanilla) {
-            return new AlwaysStringValueJacksonDeserializer();
-        } else {
-            return deserializer;
-        }
-    }
-}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.jackson;
+
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+
+import java.io.IOException;
+
+import static com.fasterxml.jackson.core.JsonTokenId.*;
+
+final class JacksonLimits {
+
+    private JacksonLimits() {
+    }
+
+    static void checkLimits(final JsonParser parser,
+                            final int depth,
+                            final PayloadLimits limits) throws IOException {
+        switch (parser.currentTokenId()) {
+            case ID_END_OBJECT:
+            case ID_END_ARRAY:
+                return;
+            case ID_FIELD_NAME:
+                limits.checkFieldCount(parser.getParsingContext().getEntryCount());
+                limits.checkStringLength(parser.getTextLength());
+                return;
+            case ID_START_OBJECT:
+            case ID_START_ARRAY:
+                limits.checkDepth(depth + 1);
+                if (depth > 0) {
+                    checkArrayLength(parser.getParsingContext().getParent(), limits);
+                }
+                return;
+            case ID_STRING:
+                limits.checkStringLength(parser.getTextLength());
+                break;
+            default:
+                break;
+        }
+        if (depth > 0) {
+            checkArrayLength(parser.getParsingContext(), limits);
+        }
+    }
+
+    private static void checkArrayLength(final JsonStreamContext context, final PayloadLimits limits) {
+        if (context.inArray()) {
+            limits.checkArrayLength(context.getEntryCount());
+        }
+    }
+}
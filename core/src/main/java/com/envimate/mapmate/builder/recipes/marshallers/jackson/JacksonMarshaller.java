@@ -23,31 +23,69 @@ package com.envimate.mapmate.builder.recipes.marshallers.jackson;
 
 import com.envimate.mapmate.builder.MapMateBuilder;
 import com.envimate.mapmate.builder.recipes.Recipe;
+import com.envimate.mapmate.marshalling.MarshallingType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JsonParserUnmarshaller.jsonParserUnmarshaller;
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.ObjectWriterMarshaller.objectWriterMarshaller;
+import static com.envimate.mapmate.marshalling.MarshallingType.json;
+import static com.envimate.mapmate.marshalling.MarshallingType.xml;
+import static com.envimate.mapmate.marshalling.MarshallingType.yaml;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
 
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class JacksonMarshaller implements Recipe {
     private final ObjectMapper objectMapper;
+    private final MarshallingType marshallingType;
+    private final boolean nativeScalars;
 
     public static JacksonMarshaller jacksonMarshallerJson(final ObjectMapper objectMapper) {
-        return new JacksonMarshaller(objectMapper);
+        return jacksonMarshaller(objectMapper, json());
+    }
+
+    public static JacksonMarshaller jacksonMarshallerXml(final ObjectMapper xmlMapper) {
+        return jacksonMarshaller(xmlMapper, xml());
+    }
+
+    public static JacksonMarshaller jacksonMarshallerYaml(final ObjectMapper yamlMapper) {
+        return jacksonMarshaller(yamlMapper, yaml());
+    }
+
+    public static JacksonMarshaller jacksonMarshaller(final ObjectMapper objectMapper,
+                                                      final MarshallingType marshallingType) {
+        validateNotNull(objectMapper, "objectMapper");
+        validateNotNull(marshallingType, "marshallingType");
+        return new JacksonMarshaller(objectMapper, marshallingType, false);
+    }
+
+    public JacksonMarshaller withNativeScalars() {
+        return new JacksonMarshaller(this.objectMapper, this.marshallingType, true);
     }
 
     @Override
     public void cook(final MapMateBuilder mapMateBuilder) {
-        final SimpleModule simpleModule = new SimpleModule();
-        simpleModule.setDeserializerModifier(new AlwaysStringValueJacksonDeserializerModifier());
-        this.objectMapper.setSerializationInclusion(NON_NULL);
-        this.objectMapper.registerModule(simpleModule);
-        mapMateBuilder.usingJsonMarshaller(this.objectMapper::writeValueAsString, this.objectMapper::readValue);
+        final ObjectMapper configured = copyIfSupported(this.objectMapper);
+        configured.setSerializationInclusion(NON_NULL);
+        mapMateBuilder.usingMarshaller(
+                this.marshallingType,
+                objectWriterMarshaller(configured.writer().without(AUTO_CLOSE_TARGET)),
+                jsonParserUnmarshaller(configured.getFactory(), this.nativeScalars));
+    }
+
+    // subclasses of ObjectMapper that do not override copy() refuse to be copied and are configured in place
+    private static ObjectMapper copyIfSupported(final ObjectMapper objectMapper) {
+        try {
+            return objectMapper.copy();
+        } catch (final IllegalStateException e) {
+            return objectMapper;
+        }
     }
 }
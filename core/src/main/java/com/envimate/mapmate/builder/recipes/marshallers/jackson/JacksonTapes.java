@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.jackson;
+
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.envimate.mapmate.marshalling.tape.Tape;
+import com.envimate.mapmate.marshalling.tape.TapeCursor;
+import com.envimate.mapmate.marshalling.tape.TapeToken;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonLimits.checkLimits;
+import static com.fasterxml.jackson.core.JsonTokenId.*;
+
+final class JacksonTapes {
+
+    private JacksonTapes() {
+    }
+
+    static void readToTape(final JsonParser parser,
+                           final Tape tape,
+                           final boolean nativeScalars,
+                           final PayloadLimits limits) throws IOException {
+        int depth = 0;
+        if (parser.nextToken() == null) {
+            return;
+        }
+        do {
+            checkLimits(parser, depth, limits);
+            switch (parser.currentTokenId()) {
+                case ID_START_OBJECT:
+                    tape.startObject();
+                    ++depth;
+                    break;
+                case ID_END_OBJECT:
+                    tape.endObject();
+                    --depth;
+                    break;
+                case ID_START_ARRAY:
+                    tape.startArray();
+                    ++depth;
+                    break;
+                case ID_END_ARRAY:
+                    tape.endArray();
+                    --depth;
+                    break;
+                case ID_FIELD_NAME:
+                    tape.fieldName(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    break;
+                case ID_NUMBER_INT:
+                case ID_NUMBER_FLOAT:
+                    if (nativeScalars) {
+                        tape.number(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    } else {
+                        tape.string(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    }
+                    break;
+                case ID_TRUE:
+                case ID_FALSE:
+                    if (nativeScalars) {
+                        tape.bool(parser.getBooleanValue());
+                    } else {
+                        tape.string(parser.getText());
+                    }
+                    break;
+                case ID_NULL:
+                    tape.nullValue();
+                    break;
+                case ID_EMBEDDED_OBJECT:
+                    tape.scalar(parser.getEmbeddedObject());
+                    break;
+                default:
+                    tape.string(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    break;
+            }
+        } while (depth > 0 && parser.nextToken() != null);
+        if (depth > 0) {
+            throw new IOException("Unexpected end of input while reading to tape");
+        }
+    }
+
+    static void writeFromTape(final TapeCursor cursor, final JsonGenerator generator) throws IOException {
+        TapeToken token = cursor.next();
+        while (token != null) {
+            switch (token) {
+                case START_OBJECT:
+                    generator.writeStartObject();
+                    break;
+                case END_OBJECT:
+                    generator.writeEndObject();
+                    break;
+                case START_ARRAY:
+                    generator.writeStartArray();
+                    break;
+                case END_ARRAY:
+                    generator.writeEndArray();
+                    break;
+                case FIELD_NAME:
+                    final String name = cursor.text();
+                    token = cursor.next();
+                    if (token == TapeToken.NULL) {
+                        token = cursor.next();
+                        continue;
+                    }
+                    generator.writeFieldName(name);
+                    continue;
+                case STRING:
+                    generator.writeString(cursor.text());
+                    break;
+                case NUMBER:
+                    generator.writeNumber(cursor.text());
+                    break;
+                case TRUE:
+                case FALSE:
+                    generator.writeBoolean(cursor.booleanValue());
+                    break;
+                case NULL:
+                    generator.writeNull();
+                    break;
+                default:
+                    throw new UnsupportedOperationException(token.name());
+            }
+            token = cursor.next();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.jackson;
+
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonLimits.checkLimits;
+import static com.fasterxml.jackson.core.JsonTokenId.*;
+
+@SuppressWarnings("unchecked")
+final class JacksonTreeBuilder {
+    private final Deque<Object> containers = new ArrayDeque<>();
+    private final List<String> fieldNamesOfOpenContainers = new ArrayList<>();
+    private final boolean nativeScalars;
+    private final PayloadLimits limits;
+    private String fieldName;
+    private Object result;
+
+    private JacksonTreeBuilder(final boolean nativeScalars, final PayloadLimits limits) {
+        this.nativeScalars = nativeScalars;
+        this.limits = limits;
+    }
+
+    static JacksonTreeBuilder jacksonTreeBuilder(final boolean nativeScalars, final PayloadLimits limits) {
+        return new JacksonTreeBuilder(nativeScalars, limits);
+    }
+
+    static Object readTree(final JsonParser parser,
+                           final boolean nativeScalars,
+                           final PayloadLimits limits) throws IOException {
+        final JsonToken firstToken = parser.hasCurrentToken() ? parser.currentToken() : parser.nextToken();
+        if (firstToken == null) {
+            return null;
+        }
+        final JacksonTreeBuilder builder = jacksonTreeBuilder(nativeScalars, limits);
+        boolean complete = builder.accept(parser);
+        while (!complete) {
+            final JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IOException("Unexpected end of input while reading " + builder.containers.peek());
+            }
+            complete = builder.accept(parser);
+        }
+        return builder.result();
+    }
+
+    boolean accept(final JsonParser parser) throws IOException {
+        checkLimits(parser, this.containers.size(), this.limits);
+        switch (parser.currentTokenId()) {
+            case ID_START_OBJECT:
+                this.open(new LinkedHashMap<String, Object>());
+                return false;
+            case ID_START_ARRAY:
+                this.open(new ArrayList<>());
+                return false;
+            case ID_END_OBJECT:
+            case ID_END_ARRAY:
+                return this.close();
+            case ID_FIELD_NAME:
+                this.fieldName = parser.getCurrentName();
+                return false;
+            case ID_NULL:
+                return this.value(null);
+            case ID_EMBEDDED_OBJECT:
+                return this.value(parser.getEmbeddedObject());
+            case ID_NUMBER_INT:
+            case ID_NUMBER_FLOAT:
+                return this.value(this.nativeScalars ? parser.getNumberValue() : parser.getText());
+            case ID_TRUE:
+            case ID_FALSE:
+                return this.value(this.nativeScalars ? parser.getBooleanValue() : parser.getText());
+            default:
+                return this.value(parser.getText());
+        }
+    }
+
+    boolean isInsideRootValue() {
+        return !this.containers.isEmpty();
+    }
+
+    Object result() {
+        final Object completed = this.result;
+        this.result = null;
+        return completed;
+    }
+
+    private void open(final Object container) {
+        this.fieldNamesOfOpenContainers.add(this.fieldName);
+        this.fieldName = null;
+        this.containers.push(container);
+    }
+
+    private boolean close() {
+        final Object container = this.containers.pop();
+        this.fieldName = this.fieldNamesOfOpenContainers.remove(this.fieldNamesOfOpenContainers.size() - 1);
+        return this.value(container);
+    }
+
+    private boolean value(final Object value) {
+        final Object parent = this.containers.peek();
+        if (parent == null) {
+            this.result = value;
+            return true;
+        }
+        if (parent instanceof Map) {
+            ((Map<String, Object>) parent).put(this.fieldName, value);
+            this.fieldName = null;
+        } else {
+            ((List<Object>) parent).add(value);
+        }
+        return false;
+    }
+}
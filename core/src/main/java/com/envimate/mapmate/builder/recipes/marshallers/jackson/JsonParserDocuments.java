@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.jackson;
+
+import com.envimate.mapmate.deserialization.CloseableIterator;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonTreeBuilder.readTree;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class JsonParserDocuments<T> implements CloseableIterator<T> {
+    private final JsonParser parser;
+    private final Class<T> type;
+    private final boolean insideArray;
+    private final boolean nativeScalars;
+    private final PayloadLimits limits;
+    private boolean advanced;
+    private boolean exhausted;
+
+    static <T> JsonParserDocuments<T> jsonParserDocuments(final JsonParser parser,
+                                                          final Class<T> type,
+                                                          final boolean nativeScalars,
+                                                          final PayloadLimits limits) {
+        validateNotNull(parser, "parser");
+        validateNotNull(type, "type");
+        return new JsonParserDocuments<>(parser, type, false, nativeScalars, limits);
+    }
+
+    static <T> JsonParserDocuments<T> jsonParserArrayElements(final JsonParser parser,
+                                                              final Class<T> type,
+                                                              final boolean nativeScalars,
+                                                              final PayloadLimits limits) throws IOException {
+        validateNotNull(parser, "parser");
+        validateNotNull(type, "type");
+        final JsonToken firstToken = parser.nextToken();
+        if (firstToken != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Expected a top-level array but found " + firstToken);
+        }
+        return new JsonParserDocuments<>(parser, type, true, nativeScalars, limits);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.advanced && !this.exhausted) {
+            try {
+                final JsonToken token = this.parser.nextToken();
+                this.exhausted = token == null || this.insideArray && token == JsonToken.END_ARRAY;
+            } catch (final IOException e) {
+                throw new UnsupportedOperationException("Could not read next document", e);
+            }
+            this.advanced = true;
+        }
+        return !this.exhausted;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.advanced = false;
+        final Object document;
+        try {
+            document = readTree(this.parser, this.nativeScalars, this.limits);
+        } catch (final IOException e) {
+            throw new UnsupportedOperationException("Could not read next document", e);
+        }
+        if (document != null && !this.type.isInstance(document)) {
+            throw new UnsupportedOperationException(String.format(
+                    "Expected document of type %s but found %s",
+                    this.type.getSimpleName(), document.getClass().getSimpleName()));
+        }
+        return this.type.cast(document);
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.parser.close();
+        } catch (final IOException e) {
+            throw new UnsupportedOperationException("Could not close parser", e);
+        }
+    }
+}
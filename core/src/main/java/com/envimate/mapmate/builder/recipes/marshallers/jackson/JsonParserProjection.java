@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.jackson;
+
+import com.envimate.mapmate.deserialization.ProjectionPaths;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonTreeBuilder.readTree;
+
+final class JsonParserProjection {
+
+    private JsonParserProjection() {
+    }
+
+    static Map<String, Object> readProjection(final JsonParser parser,
+                                              final ProjectionPaths paths,
+                                              final boolean nativeScalars,
+                                              final PayloadLimits limits) throws IOException {
+        final JsonToken firstToken = parser.nextToken();
+        if (firstToken != JsonToken.START_OBJECT) {
+            throw new IOException("Expected an object but found " + firstToken);
+        }
+        return readObject(parser, paths, nativeScalars, limits);
+    }
+
+    private static Map<String, Object> readObject(final JsonParser parser,
+                                                  final ProjectionPaths paths,
+                                                  final boolean nativeScalars,
+                                                  final PayloadLimits limits) throws IOException {
+        final Map<String, Object> projected = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final ProjectionPaths child = paths.child(parser.getCurrentName());
+            final JsonToken valueToken = parser.nextToken();
+            if (child == null) {
+                parser.skipChildren();
+            } else if (child.isSelected()) {
+                projected.put(parser.getCurrentName(), readTree(parser, nativeScalars, limits));
+            } else if (valueToken == JsonToken.START_OBJECT) {
+                projected.put(parser.getCurrentName(), readObject(parser, child, nativeScalars, limits));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return projected;
+    }
+}
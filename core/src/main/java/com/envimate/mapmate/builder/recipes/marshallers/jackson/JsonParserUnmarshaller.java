@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.jackson;
+
+import com.envimate.mapmate.deserialization.CloseableIterator;
+import com.envimate.mapmate.deserialization.IncrementalRecordUnmarshalling;
+import com.envimate.mapmate.deserialization.IncrementalUnmarshalling;
+import com.envimate.mapmate.deserialization.ProjectionPaths;
+import com.envimate.mapmate.deserialization.Unmarshaller;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.envimate.mapmate.marshalling.RecordFraming;
+import com.envimate.mapmate.marshalling.tape.Tape;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Map;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonTapes.readToTape;
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonTreeBuilder.readTree;
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JsonParserDocuments.jsonParserArrayElements;
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JsonParserDocuments.jsonParserDocuments;
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JsonParserProjection.readProjection;
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.NonBlockingJsonRecords.nonBlockingJsonRecords;
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.NonBlockingJsonUnmarshalling.nonBlockingJsonUnmarshalling;
+import static com.envimate.mapmate.marshalling.PayloadLimits.unlimitedPayloads;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class JsonParserUnmarshaller implements Unmarshaller {
+    private final JsonFactory jsonFactory;
+    private final boolean nativeScalars;
+    private final PayloadLimits payloadLimits;
+
+    static JsonParserUnmarshaller jsonParserUnmarshaller(final JsonFactory jsonFactory, final boolean nativeScalars) {
+        validateNotNull(jsonFactory, "jsonFactory");
+        return new JsonParserUnmarshaller(jsonFactory, nativeScalars, unlimitedPayloads());
+    }
+
+    @Override
+    public JsonParserUnmarshaller withPayloadLimits(final PayloadLimits limits) {
+        validateNotNull(limits, "limits");
+        return new JsonParserUnmarshaller(this.jsonFactory, this.nativeScalars, limits);
+    }
+
+    @Override
+    public <T> T unmarshal(final String input, final Class<T> type) throws IOException {
+        try (JsonParser parser = this.jsonFactory.createParser(input)) {
+            return this.unmarshal(parser, type);
+        }
+    }
+
+    @Override
+    public <T> T unmarshal(final byte[] input, final Class<T> type) throws IOException {
+        try (JsonParser parser = this.jsonFactory.createParser(input)) {
+            return this.unmarshal(parser, type);
+        }
+    }
+
+    @Override
+    public <T> T unmarshal(final InputStream input, final Class<T> type) throws IOException {
+        try (JsonParser parser = borrowingParser(this.jsonFactory.createParser(input))) {
+            return this.unmarshal(parser, type);
+        }
+    }
+
+    @Override
+    public <T> CloseableIterator<T> unmarshalDocuments(final InputStream input, final Class<T> type) throws IOException {
+        return jsonParserDocuments(owningParser(this.jsonFactory.createParser(input)), type, this.nativeScalars, this.payloadLimits);
+    }
+
+    @Override
+    public <T> CloseableIterator<T> unmarshalDocuments(final Reader input, final Class<T> type) throws IOException {
+        return jsonParserDocuments(owningParser(this.jsonFactory.createParser(input)), type, this.nativeScalars, this.payloadLimits);
+    }
+
+    @Override
+    public <T> CloseableIterator<T> unmarshalRecords(final InputStream input,
+                                                     final RecordFraming framing,
+                                                     final Class<T> type) throws IOException {
+        switch (framing) {
+            case NEWLINE_DELIMITED:
+                return jsonParserDocuments(owningParser(this.jsonFactory.createParser(input)), type, this.nativeScalars, this.payloadLimits);
+            case TOP_LEVEL_ARRAY:
+                return jsonParserArrayElements(owningParser(this.jsonFactory.createParser(input)), type, this.nativeScalars, this.payloadLimits);
+            default:
+                throw new UnsupportedOperationException(framing.name());
+        }
+    }
+
+    @Override
+    public IncrementalUnmarshalling unmarshalIncrementally(final Class<?> type) throws Exception {
+        if (!this.jsonFactory.canParseAsync()) {
+            return Unmarshaller.super.unmarshalIncrementally(type);
+        }
+        return nonBlockingJsonUnmarshalling(this.jsonFactory.createNonBlockingByteArrayParser(), type, this.nativeScalars, this.payloadLimits);
+    }
+
+    @Override
+    public IncrementalRecordUnmarshalling unmarshalRecordsIncrementally(final RecordFraming framing,
+                                                                        final Class<?> type) throws Exception {
+        if (!this.jsonFactory.canParseAsync()) {
+            return Unmarshaller.super.unmarshalRecordsIncrementally(framing, type);
+        }
+        return nonBlockingJsonRecords(this.jsonFactory.createNonBlockingByteArrayParser(), framing, type, this.nativeScalars, this.payloadLimits);
+    }
+
+    @Override
+    public void unmarshalToTape(final InputStream input, final Class<?> type, final Tape tape) throws IOException {
+        try (JsonParser parser = borrowingParser(this.jsonFactory.createParser(input))) {
+            readToTape(parser, tape, this.nativeScalars, this.payloadLimits);
+        }
+    }
+
+    @Override
+    public Map<String, Object> unmarshalProjection(final String input, final ProjectionPaths paths) throws IOException {
+        try (JsonParser parser = this.jsonFactory.createParser(input)) {
+            return readProjection(parser, paths, this.nativeScalars, this.payloadLimits);
+        }
+    }
+
+    private static JsonParser borrowingParser(final JsonParser parser) {
+        return parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    }
+
+    // record iterators own their input and close it together with the parser
+    private static JsonParser owningParser(final JsonParser parser) {
+        return parser.enable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    }
+
+    private <T> T unmarshal(final JsonParser parser, final Class<T> type) throws IOException {
+        final Object tree = readTree(parser, this.nativeScalars, this.payloadLimits);
+        if (tree != null && !type.isInstance(tree)) {
+            throw new IOException(String.format(
+                    "Expected input of type %s but found %s", type.getSimpleName(), tree.getClass().getSimpleName()));
+        }
+        return type.cast(tree);
+    }
+}
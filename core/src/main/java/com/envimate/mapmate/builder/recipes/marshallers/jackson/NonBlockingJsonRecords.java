@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.jackson;
+
+import com.envimate.mapmate.deserialization.IncrementalRecordUnmarshalling;
+import com.envimate.mapmate.marshalling.RecordFraming;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonTreeBuilder.jacksonTreeBuilder;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class NonBlockingJsonRecords implements IncrementalRecordUnmarshalling {
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final RecordFraming framing;
+    private final Class<?> type;
+    private final JacksonTreeBuilder treeBuilder;
+    private boolean arrayStarted;
+    private boolean arrayEnded;
+
+    static NonBlockingJsonRecords nonBlockingJsonRecords(final JsonParser parser,
+                                                         final RecordFraming framing,
+                                                         final Class<?> type,
+                                                         final boolean nativeScalars,
+                                                         final PayloadLimits limits) {
+        validateNotNull(parser, "parser");
+        validateNotNull(framing, "framing");
+        validateNotNull(type, "type");
+        return new NonBlockingJsonRecords(parser, (ByteArrayFeeder) parser.getNonBlockingInputFeeder(), framing, type,
+                jacksonTreeBuilder(nativeScalars, limits));
+    }
+
+    @Override
+    public void feed(final ByteBuffer chunk, final Consumer<Object> records) throws IOException {
+        if (chunk.hasArray()) {
+            final int offset = chunk.arrayOffset() + chunk.position();
+            this.feeder.feedInput(chunk.array(), offset, offset + chunk.remaining());
+            chunk.position(chunk.limit());
+        } else {
+            final byte[] bytes = new byte[chunk.remaining()];
+            chunk.get(bytes);
+            this.feeder.feedInput(bytes, 0, bytes.length);
+        }
+        this.drain(records);
+    }
+
+    @Override
+    public void complete(final Consumer<Object> records) throws IOException {
+        try {
+            this.feeder.endOfInput();
+            this.drain(records);
+        } finally {
+            this.parser.close();
+        }
+        if (this.treeBuilder.isInsideRootValue() || (this.arrayStarted && !this.arrayEnded)) {
+            throw new IOException("Unexpected end of input");
+        }
+    }
+
+    private void drain(final Consumer<Object> records) throws IOException {
+        JsonToken token = this.parser.nextToken();
+        while (token != null && token != JsonToken.NOT_AVAILABLE) {
+            if (this.framing == RecordFraming.TOP_LEVEL_ARRAY && !this.treeBuilder.isInsideRootValue()) {
+                this.acceptArrayBoundary(token, records);
+            } else {
+                this.acceptRecordToken(records);
+            }
+            token = this.parser.nextToken();
+        }
+    }
+
+    private void acceptArrayBoundary(final JsonToken token, final Consumer<Object> records) throws IOException {
+        if (this.arrayEnded) {
+            throw new IOException("Expected a single top-level array but found more");
+        }
+        if (!this.arrayStarted) {
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a top-level array but found " + token);
+            }
+            this.arrayStarted = true;
+        } else if (token == JsonToken.END_ARRAY) {
+            this.arrayEnded = true;
+        } else {
+            this.acceptRecordToken(records);
+        }
+    }
+
+    private void acceptRecordToken(final Consumer<Object> records) throws IOException {
+        if (this.treeBuilder.accept(this.parser)) {
+            final Object record = this.treeBuilder.result();
+            if (record != null && !this.type.isInstance(record)) {
+                throw new IOException(String.format(
+                        "Expected record of type %s but found %s",
+                        this.type.getSimpleName(), record.getClass().getSimpleName()));
+            }
+            records.accept(record);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.jackson;
+
+import com.envimate.mapmate.deserialization.IncrementalUnmarshalling;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonTreeBuilder.jacksonTreeBuilder;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class NonBlockingJsonUnmarshalling implements IncrementalUnmarshalling {
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Class<?> type;
+    private final JacksonTreeBuilder treeBuilder;
+    private boolean rootValueComplete;
+    private Object result;
+
+    static NonBlockingJsonUnmarshalling nonBlockingJsonUnmarshalling(final JsonParser parser,
+                                                                     final Class<?> type,
+                                                                     final boolean nativeScalars,
+                                                                     final PayloadLimits limits) {
+        validateNotNull(parser, "parser");
+        validateNotNull(type, "type");
+        return new NonBlockingJsonUnmarshalling(parser, (ByteArrayFeeder) parser.getNonBlockingInputFeeder(), type,
+                jacksonTreeBuilder(nativeScalars, limits));
+    }
+
+    @Override
+    public void feed(final ByteBuffer chunk) throws IOException {
+        if (chunk.hasArray()) {
+            final int offset = chunk.arrayOffset() + chunk.position();
+            this.feeder.feedInput(chunk.array(), offset, offset + chunk.remaining());
+            chunk.position(chunk.limit());
+        } else {
+            final byte[] bytes = new byte[chunk.remaining()];
+            chunk.get(bytes);
+            this.feeder.feedInput(bytes, 0, bytes.length);
+        }
+        this.drain();
+    }
+
+    @Override
+    public Object complete() throws IOException {
+        try {
+            this.feeder.endOfInput();
+            this.drain();
+        } finally {
+            this.parser.close();
+        }
+        if (this.treeBuilder.isInsideRootValue()) {
+            throw new IOException("Unexpected end of input");
+        }
+        if (this.result != null && !this.type.isInstance(this.result)) {
+            throw new IOException(String.format(
+                    "Expected input of type %s but found %s",
+                    this.type.getSimpleName(), this.result.getClass().getSimpleName()));
+        }
+        return this.result;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token = this.parser.nextToken();
+        while (token != null && token != JsonToken.NOT_AVAILABLE) {
+            if (this.treeBuilder.accept(this.parser)) {
+                if (this.rootValueComplete) {
+                    throw new IOException("Expected a single root value but found more");
+                }
+                this.rootValueComplete = true;
+                this.result = this.treeBuilder.result();
+            }
+            token = this.parser.nextToken();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.jackson;
+
+import com.envimate.mapmate.marshalling.tape.Tape;
+import com.envimate.mapmate.serialization.Marshaller;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonTapes.writeFromTape;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ObjectWriterMarshaller implements Marshaller {
+    private final ObjectWriter objectWriter;
+
+    static ObjectWriterMarshaller objectWriterMarshaller(final ObjectWriter objectWriter) {
+        validateNotNull(objectWriter, "objectWriter");
+        return new ObjectWriterMarshaller(objectWriter);
+    }
+
+    @Override
+    public String marshal(final Object object) throws IOException {
+        return this.objectWriter.writeValueAsString(object);
+    }
+
+    @Override
+    public void marshal(final Object object, final Appendable appendable) throws IOException {
+        if (appendable instanceof Writer) {
+            this.objectWriter.writeValue((Writer) appendable, object);
+        } else {
+            appendable.append(this.marshal(object));
+        }
+    }
+
+    @Override
+    public byte[] marshalToBytes(final Object object) throws IOException {
+        return this.objectWriter.writeValueAsBytes(object);
+    }
+
+    @Override
+    public void marshal(final Object object, final OutputStream outputStream) throws IOException {
+        this.objectWriter.writeValue(outputStream, object);
+    }
+
+    @Override
+    public void marshalTape(final Tape tape, final OutputStream outputStream) throws IOException {
+        final JsonFactory factory = this.objectWriter.getFactory();
+        if (!JsonFactory.FORMAT_NAME_JSON.equals(factory.getFormatName())) {
+            this.marshal(tape.root(), outputStream);
+            return;
+        }
+        try (JsonGenerator generator = factory.createGenerator(outputStream).disable(AUTO_CLOSE_TARGET)) {
+            if (this.objectWriter.isEnabled(INDENT_OUTPUT)) {
+                generator.useDefaultPrettyPrinter();
+            }
+            writeFromTape(tape.cursor(), generator);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.urlencoded;
+
+import static java.lang.String.format;
+
+public final class InvalidUrlEncodedKeyException extends RuntimeException {
+
+    private InvalidUrlEncodedKeyException(final String message) {
+        super(message);
+    }
+
+    static InvalidUrlEncodedKeyException arrayIndexOutOfRange(final int index, final int elementCount) {
+        final String message = format("array index %d is out of range for an array with %d elements; " +
+                "indices must be consecutive and start at 0", index, elementCount);
+        return new InvalidUrlEncodedKeyException(message);
+    }
+
+    static InvalidUrlEncodedKeyException duplicateArrayIndex(final String index) {
+        final String message = format("array index '%s' denotes an element that is already present", index);
+        return new InvalidUrlEncodedKeyException(message);
+    }
+
+    static InvalidUrlEncodedKeyException mixedArrayIndexAndMapKey(final String key) {
+        final String message = format("key '%s' cannot be mixed with array indices on the same level", key);
+        return new InvalidUrlEncodedKeyException(message);
+    }
+}
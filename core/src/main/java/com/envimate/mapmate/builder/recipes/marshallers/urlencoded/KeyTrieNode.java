@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.urlencoded;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.InvalidUrlEncodedKeyException.arrayIndexOutOfRange;
+import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.InvalidUrlEncodedKeyException.duplicateArrayIndex;
+import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.InvalidUrlEncodedKeyException.mixedArrayIndexAndMapKey;
+import static java.util.Collections.emptyMap;
+
+final class KeyTrieNode {
+    private static final int MAX_ARRAY_INDEX_DIGITS = 9;
+    private static final int DECIMAL_RADIX = 10;
+
+    private String value;
+    private Map<String, KeyTrieNode> children = emptyMap();
+    private boolean hasArrayIndexChild;
+
+    static KeyTrieNode rootNode() {
+        return new KeyTrieNode();
+    }
+
+    KeyTrieNode child(final String element) {
+        final KeyTrieNode existing = this.children.get(element);
+        if (existing != null) {
+            return existing;
+        }
+        if (this.children.isEmpty()) {
+            this.children = new LinkedHashMap<>();
+        }
+        final KeyTrieNode child = new KeyTrieNode();
+        this.children.put(element, child);
+        if (asArrayIndex(element) >= 0) {
+            this.hasArrayIndexChild = true;
+        }
+        return child;
+    }
+
+    void setValueIfAbsent(final String value) {
+        if (this.value == null) {
+            this.value = value;
+        }
+    }
+
+    Object materialize() {
+        if (this.value != null) {
+            return this.value;
+        }
+        if (this.hasArrayIndexChild) {
+            return this.materializeList();
+        }
+        return this.materializeMap();
+    }
+
+    private List<Object> materializeList() {
+        final int size = this.children.size();
+        final Object[] elements = new Object[size];
+        this.children.forEach((element, child) -> {
+            final int index = asArrayIndex(element);
+            if (index < 0) {
+                throw mixedArrayIndexAndMapKey(element);
+            }
+            if (index >= size) {
+                throw arrayIndexOutOfRange(index, size);
+            }
+            if (elements[index] != null) {
+                throw duplicateArrayIndex(element);
+            }
+            elements[index] = child.materialize();
+        });
+        final List<Object> list = new ArrayList<>(size);
+        Collections.addAll(list, elements);
+        return list;
+    }
+
+    private Map<String, Object> materializeMap() {
+        final Map<String, Object> map = new HashMap<>(this.children.size());
+        this.children.forEach((element, child) -> map.put(element, child.materialize()));
+        return map;
+    }
+
+    private static int asArrayIndex(final String element) {
+        final int length = element.length();
+        if (length == 0 || length > MAX_ARRAY_INDEX_DIGITS) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < length; ++i) {
+            final char c = element.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * DECIMAL_RADIX + (c - '0');
+        }
+        return index;
+    }
+}
@@ -26,39 +26,64 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import java.util.List;
-import java.util.Optional;
-
+import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.KeyTrieNode.rootNode;
+import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.PercentDecoder.percentDecoder;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
-import static java.util.Arrays.stream;
-import static java.util.stream.Collectors.toList;
 
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 final class ParsedUrlEncoded {
-    private final List<KeyValue> keyValues;
+    private final KeyTrieNode root;
 
-    static ParsedUrlEncoded parse(final String string) {
-        validateNotNull(string, "string");
-        final List<KeyValue> keyValues = stream(string.split("&"))
-                .map(KeyValue::parse)
-                .collect(toList());
-        return new ParsedUrlEncoded(keyValues);
+    static ParsedUrlEncoded parse(final CharSequence input) {
+        validateNotNull(input, "input");
+        final KeyTrieNode root = rootNode();
+        final PercentDecoder decoder = percentDecoder();
+        final int length = input.length();
+        int start = 0;
+        while (start <= length) {
+            int end = start;
+            int separator = -1;
+            while (end < length && input.charAt(end) != '&') {
+                if (separator < 0 && input.charAt(end) == '=') {
+                    separator = end;
+                }
+                ++end;
+            }
+            if (end > start) {
+                final int keyEnd = separator < 0 ? end : separator;
+                final String key = decoder.decode(input, start, keyEnd);
+                final String value = separator < 0 ? "" : decoder.decode(input, separator + 1, end);
+                insert(root, key, value);
+            }
+            start = end + 1;
+        }
+        return new ParsedUrlEncoded(root);
     }
 
-    List<KeyElement> directChildren(final Key prefix) {
-        return this.keyValues.stream()
-                .map(KeyValue::key)
-                .filter(prefix::isPrefixTo)
-                .map(key -> key.elementAfter(prefix))
-                .collect(toList());
+    private static void insert(final KeyTrieNode root, final String key, final String value) {
+        final int firstBracket = key.indexOf('[');
+        if (firstBracket < 0) {
+            root.child(key).setValueIfAbsent(value);
+            return;
+        }
+        KeyTrieNode node = root.child(key.substring(0, firstBracket));
+        int position = firstBracket;
+        while (position < key.length() && key.charAt(position) == '[') {
+            final int closingBracket = key.indexOf(']', position + 1);
+            if (closingBracket < 0) {
+                node = node.child(key.substring(position + 1));
+                position = key.length();
+            } else {
+                node = node.child(key.substring(position + 1, closingBracket));
+                position = closingBracket + 1;
+            }
+        }
+        node.setValueIfAbsent(value);
     }
 
-    Optional<String> getValue(final Key key) {
-        return this.keyValues.stream()
-                .filter(keyValue -> keyValue.key().equals(key))
-                .map(KeyValue::value)
-                .findFirst();
+    Object materialize() {
+        return this.root.materialize();
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.urlencoded;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+final class PercentDecoder {
+    private static final int RADIX = 16;
+    private static final int ESCAPE_LENGTH = 3;
+
+    private final StringBuilder builder = new StringBuilder();
+    private byte[] bytes = new byte[0];
+
+    static PercentDecoder percentDecoder() {
+        return new PercentDecoder();
+    }
+
+    String decode(final CharSequence input, final int start, final int end) {
+        if (!needsDecoding(input, start, end)) {
+            return input.subSequence(start, end).toString();
+        }
+        this.builder.setLength(0);
+        int i = start;
+        while (i < end) {
+            final char c = input.charAt(i);
+            if (c == '+') {
+                this.builder.append(' ');
+                ++i;
+            } else if (c == '%') {
+                i = this.decodeEscapeSequence(input, i, end);
+            } else {
+                this.builder.append(c);
+                ++i;
+            }
+        }
+        return this.builder.toString();
+    }
+
+    private int decodeEscapeSequence(final CharSequence input, final int start, final int end) {
+        final int maxBytes = (end - start) / ESCAPE_LENGTH;
+        if (this.bytes.length < maxBytes) {
+            this.bytes = new byte[maxBytes];
+        }
+        int count = 0;
+        int i = start;
+        while (i < end && input.charAt(i) == '%') {
+            if (i + ESCAPE_LENGTH > end) {
+                throw new IllegalArgumentException(format(
+                        "Incomplete trailing escape pattern in '%s'", input.subSequence(start, end)));
+            }
+            final int high = Character.digit(input.charAt(i + 1), RADIX);
+            final int low = Character.digit(input.charAt(i + 2), RADIX);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException(format(
+                        "Illegal hex characters in escape pattern '%s'", input.subSequence(i, i + ESCAPE_LENGTH)));
+            }
+            this.bytes[count] = (byte) ((high << 4) + low);
+            ++count;
+            i += ESCAPE_LENGTH;
+        }
+        this.builder.append(new String(this.bytes, 0, count, UTF_8));
+        return i;
+    }
+
+    private static boolean needsDecoding(final CharSequence input, final int start, final int end) {
+        for (int i = start; i < end; ++i) {
+            final char c = input.charAt(i);
+            if (c == '%' || c == '+') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.urlencoded;
+
+import java.io.IOException;
+
+final class PercentEncoder {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] UNRESERVED = unreservedCharacters();
+    private static final int ASCII_LIMIT = 128;
+    private static final int TWO_BYTE_LIMIT = 0x800;
+    private static final int LOW_NIBBLE = 0x0F;
+    private static final int CONTINUATION_BITS = 0x3F;
+    private static final int CONTINUATION_MARKER = 0x80;
+    private static final int TWO_BYTE_MARKER = 0xC0;
+    private static final int THREE_BYTE_MARKER = 0xE0;
+    private static final int FOUR_BYTE_MARKER = 0xF0;
+    private static final int BITS_PER_CONTINUATION = 6;
+    private static final int NIBBLE = 4;
+
+    private PercentEncoder() {
+    }
+
+    static void encode(final CharSequence input, final Appendable appendable) throws IOException {
+        final int length = input.length();
+        for (int i = 0; i < length; ++i) {
+            final char c = input.charAt(i);
+            if (c < ASCII_LIMIT && UNRESERVED[c]) {
+                appendable.append(c);
+            } else if (c == ' ') {
+                appendable.append('+');
+            } else if (c < ASCII_LIMIT) {
+                appendByte(c, appendable);
+            } else if (c < TWO_BYTE_LIMIT) {
+                appendByte(TWO_BYTE_MARKER | (c >> BITS_PER_CONTINUATION), appendable);
+                appendContinuation(c, 0, appendable);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(input.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, input.charAt(i + 1));
+                appendByte(FOUR_BYTE_MARKER | (codePoint >> (3 * BITS_PER_CONTINUATION)), appendable);
+                appendContinuation(codePoint, 2 * BITS_PER_CONTINUATION, appendable);
+                appendContinuation(codePoint, BITS_PER_CONTINUATION, appendable);
+                appendContinuation(codePoint, 0, appendable);
+                ++i;
+            } else if (Character.isSurrogate(c)) {
+                appendByte('?', appendable);
+            } else {
+                appendByte(THREE_BYTE_MARKER | (c >> (2 * BITS_PER_CONTINUATION)), appendable);
+                appendContinuation(c, BITS_PER_CONTINUATION, appendable);
+                appendContinuation(c, 0, appendable);
+            }
+        }
+    }
+
+    private static void appendContinuation(final int codePoint,
+                                           final int shift,
+                                           final Appendable appendable) throws IOException {
+        appendByte(CONTINUATION_MARKER | ((codePoint >> shift) & CONTINUATION_BITS), appendable);
+    }
+
+    private static void appendByte(final int value, final Appendable appendable) throws IOException {
+        appendable.append('%');
+        appendable.append(HEX_DIGITS[(value >> NIBBLE) & LOW_NIBBLE]);
+        appendable.append(HEX_DIGITS[value & LOW_NIBBLE]);
+    }
+
+    private static boolean[] unreservedCharacters() {
+        final boolean[] unreserved = new boolean[ASCII_LIMIT];
+        for (char c = 'a'; c <= 'z'; ++c) {
+            unreserved[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; ++c) {
+            unreserved[c] = true;
+        }
+        for (char c = '0'; c <= '9'; ++c) {
+            unreserved[c] = true;
+        }
+        unreserved['.'] = true;
+        unreserved['-'] = true;
+        unreserved['*'] = true;
+        unreserved['_'] = true;
+        return unreserved;
+    }
+}
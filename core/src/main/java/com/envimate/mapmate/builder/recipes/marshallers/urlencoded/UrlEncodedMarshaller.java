@@ -27,17 +27,16 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import java.util.LinkedList;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
-import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.Key.emptyKey;
-import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.KeyValue.keyValue;
+import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.PercentEncoder.encode;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.elementAsString;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.isPrimitiveArray;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.length;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
 import static java.lang.String.format;
-import static java.lang.String.valueOf;
-import static java.util.Arrays.asList;
-import static java.util.stream.Collectors.joining;
 
 @ToString
 @EqualsAndHashCode
@@ -49,56 +48,124 @@ public final class UrlEncodedMarshaller implements Marshaller {
     }
 
     @Override
-    public String marshal(final Object object) {
+    public String marshal(final Object object) throws IOException {
+        final StringBuilder output = new StringBuilder();
+        marshal(object, output);
+        return output.toString();
+    }
+
+    @Override
+    public void marshal(final Object object, final Appendable appendable) throws IOException {
         validateNotNull(object, "object");
-        final List<KeyValue> parts = new LinkedList<>();
-        marshal(emptyKey(), parts, object);
-        return parts.stream()
-                .map(KeyValue::render)
-                .collect(joining("&"));
+        validateNotNull(appendable, "appendable");
+        final Output output = new Output(appendable);
+        marshal(output, object);
     }
 
     @SuppressWarnings("unchecked")
-    private void marshal(final Key keyPrefix,
-                         final List<KeyValue> parts,
-                         final Object object) {
+    private static void marshal(final Output output, final Object object) throws IOException {
+        if (object == null) {
+            return;
+        }
         if (object instanceof Map) {
-            marshalMap(keyPrefix, parts, (Map<String, Object>) object);
+            marshalMap(output, (Map<String, Object>) object);
         } else if (object instanceof List) {
-            marshalList(keyPrefix, parts, (List<Object>) object);
+            marshalList(output, (List<Object>) object);
+        } else if (isPrimitiveArray(object)) {
+            marshalPrimitiveArray(output, object);
         } else if (object.getClass().isArray()) {
-            final List<Object> list = asList((Object[]) object);
-            marshalList(keyPrefix, parts, list);
+            marshalArray(output, (Object[]) object);
         } else if (object instanceof String) {
-            marshalString(keyPrefix, parts, (String) object);
+            output.writeValue((String) object);
+        } else if (object instanceof Number || object instanceof Boolean) {
+            output.writeValue(String.valueOf(object));
         } else {
             throw new IllegalArgumentException(
                     format("Unable to marshal for url-encoded because the type of '%s' is not supported", object));
         }
     }
 
-    private void marshalMap(final Key keyPrefix,
-                            final List<KeyValue> parts,
-                            final Map<String, Object> map) {
-        map.keySet().forEach(key -> {
-            final Key childKey = keyPrefix.child(key);
-            marshal(childKey, parts, map.get(key));
-        });
+    private static void marshalMap(final Output output,
+                                   final Map<String, Object> map) throws IOException {
+        for (final Map.Entry<String, Object> entry : map.entrySet()) {
+            final int prefixLength = output.enter(entry.getKey());
+            marshal(output, entry.getValue());
+            output.leave(prefixLength);
+        }
+    }
+
+    private static void marshalList(final Output output,
+                                    final List<Object> list) throws IOException {
+        final int size = list.size();
+        for (int i = 0; i < size; ++i) {
+            final int prefixLength = output.enter(i);
+            marshal(output, list.get(i));
+            output.leave(prefixLength);
+        }
+    }
+
+    private static void marshalArray(final Output output,
+                                     final Object[] array) throws IOException {
+        for (int i = 0; i < array.length; ++i) {
+            final int prefixLength = output.enter(i);
+            marshal(output, array[i]);
+            output.leave(prefixLength);
+        }
     }
 
-    private void marshalList(final Key keyPrefix,
-                             final List<KeyValue> parts,
-                             final List<Object> list) {
-        for (int i = 0; i < list.size(); ++i) {
-            final Key childKey = keyPrefix.child(valueOf(i));
-            final Object object = list.get(i);
-            marshal(childKey, parts, object);
+    private static void marshalPrimitiveArray(final Output output,
+                                              final Object array) throws IOException {
+        final int length = length(array);
+        for (int i = 0; i < length; ++i) {
+            final int prefixLength = output.enter(i);
+            output.writeValue(elementAsString(array, i));
+            output.leave(prefixLength);
         }
     }
 
-    private void marshalString(final Key key,
-                               final List<KeyValue> parts,
-                               final String string) {
-        parts.add(keyValue(key, string));
+    private static final class Output {
+        private final Appendable appendable;
+        private final StringBuilder keyPrefix = new StringBuilder();
+        private boolean first = true;
+
+        private Output(final Appendable appendable) {
+            this.appendable = appendable;
+        }
+
+        int enter(final String element) throws IOException {
+            final int prefixLength = this.keyPrefix.length();
+            if (prefixLength == 0) {
+                encode(element, this.keyPrefix);
+            } else {
+                this.keyPrefix.append('[');
+                encode(element, this.keyPrefix);
+                this.keyPrefix.append(']');
+            }
+            return prefixLength;
+        }
+
+        int enter(final int index) {
+            final int prefixLength = this.keyPrefix.length();
+            if (prefixLength == 0) {
+                this.keyPrefix.append(index);
+            } else {
+                this.keyPrefix.append('[').append(index).append(']');
+            }
+            return prefixLength;
+        }
+
+        void leave(final int prefixLength) {
+            this.keyPrefix.setLength(prefixLength);
+        }
+
+        void writeValue(final String value) throws IOException {
+            if (!this.first) {
+                this.appendable.append('&');
+            }
+            this.first = false;
+            this.appendable.append(this.keyPrefix);
+            this.appendable.append('=');
+            encode(value, this.appendable);
+        }
     }
 }
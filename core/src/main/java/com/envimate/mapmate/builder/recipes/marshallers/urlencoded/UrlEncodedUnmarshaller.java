@@ -27,12 +27,6 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-
-import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.Key.emptyKey;
 import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.ParsedUrlEncoded.parse;
 
 @ToString
@@ -48,47 +42,6 @@ public final class UrlEncodedUnmarshaller implements Unmarshaller {
     @Override
     public <T> T unmarshal(final String input, final Class<T> type) {
         final ParsedUrlEncoded parsed = parse(input);
-        return (T) parseFromKey(emptyKey(), parsed);
-    }
-
-    private Object parseFromKey(final Key key, final ParsedUrlEncoded parsed) {
-        return parsed.getValue(key)
-                .map(string -> (Object) string)
-                .orElseGet(() -> parseArrayOrMap(key, parsed));
-    }
-
-    private Object parseArrayOrMap(final Key key, final ParsedUrlEncoded parsed) {
-        final List<KeyElement> children = parsed.directChildren(key);
-        if (areArrayIndeces(children)) {
-            return parseArray(key, children, parsed);
-        }
-        return parseMap(key, children, parsed);
-    }
-
-    private List<Object> parseArray(final Key key,
-                                    final List<KeyElement> children,
-                                    final ParsedUrlEncoded parsed) {
-        final List<Object> list = new LinkedList<>();
-        children.forEach(child -> {
-            final Object childValue = parseFromKey(key.child(child), parsed);
-            list.add(child.asArrayIndex(), childValue);
-        });
-        return list;
-    }
-
-    private Map<String, Object> parseMap(final Key key,
-                                         final List<KeyElement> children,
-                                         final ParsedUrlEncoded parsed) {
-        final Map<String, Object> map = new HashMap<>();
-        children.forEach(child -> {
-            final Object childValue = parseFromKey(key.child(child), parsed);
-            map.put(child.value(), childValue);
-        });
-        return map;
-    }
-
-    private static boolean areArrayIndeces(final List<KeyElement> indeces) {
-        return indeces.stream()
-                .anyMatch(KeyElement::isArrayIndex);
+        return (T) parsed.materialize();
     }
 }
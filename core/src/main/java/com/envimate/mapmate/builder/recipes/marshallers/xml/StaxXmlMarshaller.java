@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.xml;
+
+import com.envimate.mapmate.serialization.Marshaller;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.xml.XmlConventions.*;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.elementAsString;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.isPrimitiveArray;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.length;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class StaxXmlMarshaller implements Marshaller {
+    private final XMLOutputFactory outputFactory;
+
+    static StaxXmlMarshaller staxXmlMarshaller() {
+        return new StaxXmlMarshaller(XMLOutputFactory.newFactory());
+    }
+
+    @Override
+    public String marshal(final Object object) throws XMLStreamException {
+        final StringWriter writer = new StringWriter();
+        write(this.outputFactory.createXMLStreamWriter(writer), object);
+        return writer.toString();
+    }
+
+    @Override
+    public void marshal(final Object object, final Appendable appendable) throws Exception {
+        if (appendable instanceof Writer) {
+            write(this.outputFactory.createXMLStreamWriter((Writer) appendable), object);
+        } else {
+            appendable.append(this.marshal(object));
+        }
+    }
+
+    @Override
+    public byte[] marshalToBytes(final Object object) throws XMLStreamException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        this.marshal(object, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public void marshal(final Object object, final OutputStream outputStream) throws XMLStreamException {
+        write(this.outputFactory.createXMLStreamWriter(outputStream, UTF_8.name()), object);
+    }
+
+    private static void write(final XMLStreamWriter writer, final Object object) throws XMLStreamException {
+        try {
+            writeElement(writer, ROOT, false, object);
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeElement(final XMLStreamWriter writer,
+                                     final String key,
+                                     final boolean keyed,
+                                     final Object value) throws XMLStreamException {
+        if (keyed && needsEntryElement(key)) {
+            writer.writeStartElement(ENTRY);
+            writer.writeAttribute(KEY, key);
+        } else {
+            writer.writeStartElement(key);
+        }
+        if (isEmptyMap(value)) {
+            writer.writeAttribute(EMPTY, EMPTY_MAP);
+        } else if (isEmptyList(value)) {
+            writer.writeAttribute(EMPTY, EMPTY_LIST);
+        } else if (value instanceof Map) {
+            for (final Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                if (entry.getValue() != null) {
+                    writeElement(writer, entry.getKey(), true, entry.getValue());
+                }
+            }
+        } else if (value instanceof List) {
+            for (final Object item : (List<Object>) value) {
+                writeElement(writer, ITEM, false, item);
+            }
+        } else if (value instanceof Object[]) {
+            for (final Object item : (Object[]) value) {
+                writeElement(writer, ITEM, false, item);
+            }
+        } else if (isPrimitiveArray(value)) {
+            final int length = length(value);
+            for (int i = 0; i < length; ++i) {
+                writer.writeStartElement(ITEM);
+                writer.writeCharacters(elementAsString(value, i));
+                writer.writeEndElement();
+            }
+        } else if (value != null) {
+            writer.writeCharacters(String.valueOf(value));
+        }
+        writer.writeEndElement();
+    }
+
+    private static boolean isEmptyMap(final Object value) {
+        if (!(value instanceof Map)) {
+            return false;
+        }
+        for (final Object element : ((Map<?, ?>) value).values()) {
+            if (element != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEmptyList(final Object value) {
+        if (value instanceof List) {
+            return ((List<?>) value).isEmpty();
+        } else if (value instanceof Object[]) {
+            return ((Object[]) value).length == 0;
+        } else if (isPrimitiveArray(value)) {
+            return length(value) == 0;
+        }
+        return false;
+    }
+}
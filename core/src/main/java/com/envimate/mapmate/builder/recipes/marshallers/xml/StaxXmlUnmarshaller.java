@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.xml;
+
+import com.envimate.mapmate.deserialization.CloseableIterator;
+import com.envimate.mapmate.deserialization.Unmarshaller;
+import com.envimate.mapmate.marshalling.RecordFraming;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.xml.XmlElementRecords.xmlElementRecords;
+import static com.envimate.mapmate.builder.recipes.marshallers.xml.XmlTreeBuilder.readDocument;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class StaxXmlUnmarshaller implements Unmarshaller {
+    private final XMLInputFactory inputFactory;
+
+    static StaxXmlUnmarshaller staxXmlUnmarshaller() {
+        final XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return new StaxXmlUnmarshaller(inputFactory);
+    }
+
+    @Override
+    public <T> T unmarshal(final String input, final Class<T> type) throws XMLStreamException {
+        return unmarshal(this.inputFactory.createXMLStreamReader(new StringReader(input)), type);
+    }
+
+    @Override
+    public <T> T unmarshal(final byte[] input, final Class<T> type) throws XMLStreamException {
+        return unmarshal(new ByteArrayInputStream(input), type);
+    }
+
+    @Override
+    public <T> T unmarshal(final InputStream input, final Class<T> type) throws XMLStreamException {
+        return unmarshal(this.inputFactory.createXMLStreamReader(input), type);
+    }
+
+    @Override
+    public <T> CloseableIterator<T> unmarshalRecords(final InputStream input,
+                                                     final RecordFraming framing,
+                                                     final Class<T> type) throws Exception {
+        if (framing == RecordFraming.TOP_LEVEL_ARRAY) {
+            return xmlElementRecords(this.inputFactory.createXMLStreamReader(input), input, type);
+        }
+        return Unmarshaller.super.unmarshalRecords(input, framing, type);
+    }
+
+    private static <T> T unmarshal(final XMLStreamReader reader, final Class<T> type) throws XMLStreamException {
+        try {
+            final Object tree = readDocument(reader, type);
+            if (tree != null && !type.isInstance(tree)) {
+                throw new XMLStreamException(String.format(
+                        "Expected input of type %s but found %s", type.getSimpleName(), tree.getClass().getSimpleName()));
+            }
+            return type.cast(tree);
+        } finally {
+            reader.close();
+        }
+    }
+}
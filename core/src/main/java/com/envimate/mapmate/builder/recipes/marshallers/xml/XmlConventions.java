@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.xml;
+
+final class XmlConventions {
+    static final String ROOT = "root";
+    static final String ITEM = "item";
+    static final String ENTRY = "entry";
+    static final String KEY = "key";
+    static final String EMPTY = "empty";
+    static final String EMPTY_LIST = "list";
+    static final String EMPTY_MAP = "map";
+
+    private XmlConventions() {
+    }
+
+    static boolean needsEntryElement(final String key) {
+        if (key.isEmpty() || ITEM.equals(key) || ENTRY.equals(key)) {
+            return true;
+        }
+        final char first = key.charAt(0);
+        if (!Character.isLetter(first) && first != '_') {
+            return true;
+        }
+        for (int i = 1; i < key.length(); ++i) {
+            final char c = key.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.xml;
+
+import com.envimate.mapmate.deserialization.CloseableIterator;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.xml.XmlTreeBuilder.*;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class XmlElementRecords<T> implements CloseableIterator<T> {
+    private final XMLStreamReader reader;
+    private final InputStream input;
+    private final Class<T> type;
+    private boolean advanced;
+    private boolean exhausted;
+
+    static <T> XmlElementRecords<T> xmlElementRecords(final XMLStreamReader reader,
+                                                      final InputStream input,
+                                                      final Class<T> type) throws XMLStreamException {
+        if (!advanceToDocumentElement(reader)) {
+            reader.close();
+            throw new XMLStreamException("Expected a document element");
+        }
+        return new XmlElementRecords<>(reader, input, type);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.advanced && !this.exhausted) {
+            try {
+                int event = this.reader.next();
+                while (event != START_ELEMENT && event != END_ELEMENT && this.reader.hasNext()) {
+                    event = this.reader.next();
+                }
+                this.exhausted = event != START_ELEMENT;
+            } catch (final XMLStreamException e) {
+                throw new UnsupportedOperationException("Could not read next element", e);
+            }
+            this.advanced = true;
+        }
+        return !this.exhausted;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.advanced = false;
+        final Object element;
+        try {
+            element = readElement(this.reader, shapeOf(this.type));
+        } catch (final XMLStreamException e) {
+            throw new UnsupportedOperationException("Could not read next element", e);
+        }
+        if (!this.type.isInstance(element)) {
+            throw new UnsupportedOperationException(String.format(
+                    "Expected element of type %s but found %s",
+                    this.type.getSimpleName(), element.getClass().getSimpleName()));
+        }
+        return this.type.cast(element);
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.reader.close();
+            this.input.close();
+        } catch (final XMLStreamException | IOException e) {
+            throw new UnsupportedOperationException("Could not close reader", e);
+        }
+    }
+}
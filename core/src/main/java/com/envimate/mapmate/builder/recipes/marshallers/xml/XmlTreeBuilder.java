@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.marshallers.xml;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.*;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.xml.XmlConventions.*;
+import static javax.xml.stream.XMLStreamConstants.*;
+
+final class XmlTreeBuilder {
+    private final Deque<Element> openElements = new ArrayDeque<>();
+
+    private XmlTreeBuilder() {
+    }
+
+    static Object readDocument(final XMLStreamReader reader, final Class<?> type) throws XMLStreamException {
+        if (!advanceToDocumentElement(reader)) {
+            return null;
+        }
+        return readElement(reader, shapeOf(type));
+    }
+
+    static boolean advanceToDocumentElement(final XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext() && reader.next() != START_ELEMENT) {
+            // skip prolog, comments and processing instructions
+        }
+        return reader.isStartElement();
+    }
+
+    static Shape shapeOf(final Class<?> type) {
+        if (List.class.isAssignableFrom(type)) {
+            return Shape.LIST;
+        } else if (Map.class.isAssignableFrom(type)) {
+            return Shape.MAP;
+        } else {
+            return Shape.INFERRED;
+        }
+    }
+
+    static Object readElement(final XMLStreamReader reader, final Shape shape) throws XMLStreamException {
+        final XmlTreeBuilder builder = new XmlTreeBuilder();
+        final Element root = Element.startedBy(reader);
+        builder.openElements.push(root);
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case START_ELEMENT:
+                    builder.openElements.push(Element.startedBy(reader));
+                    break;
+                case CHARACTERS:
+                case CDATA:
+                case SPACE:
+                    builder.openElements.peek().text
+                            .append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case END_ELEMENT:
+                    final Element element = builder.openElements.pop();
+                    if (builder.openElements.isEmpty()) {
+                        return element.close(shape);
+                    }
+                    builder.openElements.peek().addChild(element, element.close(Shape.INFERRED));
+                    break;
+                default:
+                    break;
+            }
+        }
+        throw new XMLStreamException("Unexpected end of document inside element " + root.key);
+    }
+
+    enum Shape {
+        INFERRED,
+        MAP,
+        LIST
+    }
+
+    private static final class Element {
+        private final String key;
+        private final boolean keyedEntry;
+        private final String emptyContainer;
+        private final Map<String, Object> attributes;
+        private final List<String> childKeys = new ArrayList<>();
+        private final List<Boolean> childKeyedEntries = new ArrayList<>();
+        private final List<Object> childValues = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+
+        private Element(final String key,
+                        final boolean keyedEntry,
+                        final String emptyContainer,
+                        final Map<String, Object> attributes) {
+            this.key = key;
+            this.keyedEntry = keyedEntry;
+            this.emptyContainer = emptyContainer;
+            this.attributes = attributes;
+        }
+
+        static Element startedBy(final XMLStreamReader reader) {
+            String key = reader.getLocalName();
+            boolean keyedEntry = false;
+            String emptyContainer = null;
+            final Map<String, Object> attributes = new LinkedHashMap<>(reader.getAttributeCount());
+            for (int i = 0; i < reader.getAttributeCount(); ++i) {
+                final String name = reader.getAttributeLocalName(i);
+                final String value = reader.getAttributeValue(i);
+                if (!keyedEntry && ENTRY.equals(key) && KEY.equals(name)) {
+                    key = value;
+                    keyedEntry = true;
+                } else if (EMPTY.equals(name) && (EMPTY_LIST.equals(value) || EMPTY_MAP.equals(value))) {
+                    emptyContainer = value;
+                } else {
+                    attributes.put(name, value);
+                }
+            }
+            return new Element(key, keyedEntry, emptyContainer, attributes);
+        }
+
+        void addChild(final Element child, final Object value) {
+            this.childKeys.add(child.key);
+            this.childKeyedEntries.add(child.keyedEntry);
+            this.childValues.add(value);
+        }
+
+        Object close(final Shape shape) {
+            switch (shape) {
+                case LIST:
+                    return new ArrayList<>(this.childValues);
+                case MAP:
+                    return this.asMap();
+                default:
+                    if (!this.attributes.isEmpty()) {
+                        return this.asMap();
+                    }
+                    if (this.childKeys.isEmpty()) {
+                        if (EMPTY_LIST.equals(this.emptyContainer)) {
+                            return new ArrayList<>();
+                        }
+                        if (EMPTY_MAP.equals(this.emptyContainer)) {
+                            return new LinkedHashMap<>();
+                        }
+                        return this.text.toString();
+                    }
+                    for (int i = 0; i < this.childKeys.size(); ++i) {
+                        if (!ITEM.equals(this.childKeys.get(i)) || this.childKeyedEntries.get(i)) {
+                            return this.asMap();
+                        }
+                    }
+                    return new ArrayList<>(this.childValues);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> asMap() {
+            final Map<String, Object> map = new LinkedHashMap<>(this.attributes);
+            final Set<String> repeatedKeys = new HashSet<>();
+            for (int i = 0; i < this.childKeys.size(); ++i) {
+                final String childKey = this.childKeys.get(i);
+                final Object value = this.childValues.get(i);
+                final Object previous = map.putIfAbsent(childKey, value);
+                if (previous == null) {
+                    continue;
+                }
+                if (repeatedKeys.add(childKey)) {
+                    final List<Object> repeated = new ArrayList<>();
+                    repeated.add(previous);
+                    map.put(childKey, repeated);
+                }
+                ((List<Object>) map.get(childKey)).add(value);
+            }
+            return map;
+        }
+    }
+}
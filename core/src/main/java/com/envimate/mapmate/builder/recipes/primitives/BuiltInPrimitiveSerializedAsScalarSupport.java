@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder.recipes.primitives;
+
+import com.envimate.mapmate.builder.definitions.CustomPrimitiveDefinition;
+import com.envimate.mapmate.builder.definitions.deserializers.ScalarCustomPrimitiveDeserializer;
+import com.envimate.mapmate.builder.definitions.serializers.ScalarCustomPrimitiveSerializer;
+import com.envimate.mapmate.builder.recipes.Recipe;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.envimate.mapmate.builder.definitions.CustomPrimitiveDefinition.customPrimitiveDefinition;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BuiltInPrimitiveSerializedAsScalarSupport implements Recipe {
+    public static BuiltInPrimitiveSerializedAsScalarSupport builtInPrimitiveSerializedAsScalarSupport() {
+        return new BuiltInPrimitiveSerializedAsScalarSupport();
+    }
+
+    @Override
+    public Map<Class<?>, CustomPrimitiveDefinition> customPrimitiveDefinitions() {
+        return List.of(
+                toCustomPrimitiveDefinition(int.class, BuiltInPrimitiveSerializedAsScalarSupport::toInt),
+                toCustomPrimitiveDefinition(Integer.class, BuiltInPrimitiveSerializedAsScalarSupport::toInt),
+                toCustomPrimitiveDefinition(long.class, BuiltInPrimitiveSerializedAsScalarSupport::toLong),
+                toCustomPrimitiveDefinition(Long.class, BuiltInPrimitiveSerializedAsScalarSupport::toLong),
+                toCustomPrimitiveDefinition(short.class, BuiltInPrimitiveSerializedAsScalarSupport::toShort),
+                toCustomPrimitiveDefinition(Short.class, BuiltInPrimitiveSerializedAsScalarSupport::toShort),
+                toCustomPrimitiveDefinition(double.class, BuiltInPrimitiveSerializedAsScalarSupport::toDouble),
+                toCustomPrimitiveDefinition(Double.class, BuiltInPrimitiveSerializedAsScalarSupport::toDouble),
+                toCustomPrimitiveDefinition(float.class, BuiltInPrimitiveSerializedAsScalarSupport::toFloat),
+                toCustomPrimitiveDefinition(Float.class, BuiltInPrimitiveSerializedAsScalarSupport::toFloat),
+                toCustomPrimitiveDefinition(boolean.class, BuiltInPrimitiveSerializedAsScalarSupport::toBoolean),
+                toCustomPrimitiveDefinition(Boolean.class, BuiltInPrimitiveSerializedAsScalarSupport::toBoolean),
+                toCustomPrimitiveDefinition(BigDecimal.class, BuiltInPrimitiveSerializedAsScalarSupport::toBigDecimal),
+                toCustomPrimitiveDefinition(String.class, String::valueOf)
+        ).stream().collect(Collectors.toMap(
+                customPrimitiveDefinition -> customPrimitiveDefinition.type,
+                Function.identity())
+        );
+    }
+
+    private static <T> CustomPrimitiveDefinition toCustomPrimitiveDefinition(final Class<T> type,
+                                                                             final Function<Object, T> deserializer) {
+        final ScalarCustomPrimitiveSerializer<T> customPrimitiveSerializer = obj -> obj;
+        final ScalarCustomPrimitiveDeserializer<T> customPrimitiveDeserializer = deserializer::apply;
+        return customPrimitiveDefinition(type, customPrimitiveSerializer, customPrimitiveDeserializer);
+    }
+
+    private static Integer toInt(final Object value) {
+        if (isIntegral(value)) {
+            return Math.toIntExact(((Number) value).longValue());
+        }
+        return Integer.valueOf(value.toString());
+    }
+
+    private static Long toLong(final Object value) {
+        if (isIntegral(value)) {
+            return ((Number) value).longValue();
+        }
+        return Long.valueOf(value.toString());
+    }
+
+    private static Short toShort(final Object value) {
+        return Short.valueOf(value.toString());
+    }
+
+    private static Double toDouble(final Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return Double.valueOf(value.toString());
+    }
+
+    private static Float toFloat(final Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).floatValue();
+        }
+        return Float.valueOf(value.toString());
+    }
+
+    private static Boolean toBoolean(final Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return Boolean.valueOf(value.toString());
+    }
+
+    private static BigDecimal toBigDecimal(final Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static boolean isIntegral(final Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class BufferedArrayRecords implements IncrementalRecordUnmarshalling {
+    private final IncrementalUnmarshalling arrayUnmarshalling;
+
+    static BufferedArrayRecords bufferedArrayRecords(final IncrementalUnmarshalling arrayUnmarshalling) {
+        validateNotNull(arrayUnmarshalling, "arrayUnmarshalling");
+        return new BufferedArrayRecords(arrayUnmarshalling);
+    }
+
+    @Override
+    public void feed(final ByteBuffer chunk, final Consumer<Object> records) throws Exception {
+        this.arrayUnmarshalling.feed(chunk);
+    }
+
+    @Override
+    public void complete(final Consumer<Object> records) throws Exception {
+        final Object elements = this.arrayUnmarshalling.complete();
+        if (elements != null) {
+            ((List<?>) elements).forEach(records);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class BufferingUnmarshalling implements IncrementalUnmarshalling {
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final BufferedInputUnmarshaller unmarshaller;
+
+    static BufferingUnmarshalling bufferingUnmarshalling(final BufferedInputUnmarshaller unmarshaller) {
+        validateNotNull(unmarshaller, "unmarshaller");
+        return new BufferingUnmarshalling(unmarshaller);
+    }
+
+    @Override
+    public void feed(final ByteBuffer chunk) {
+        if (chunk.hasArray()) {
+            this.buffer.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            chunk.position(chunk.limit());
+        } else {
+            final byte[] bytes = new byte[chunk.remaining()];
+            chunk.get(bytes);
+            this.buffer.writeBytes(bytes);
+        }
+    }
+
+    @Override
+    public Object complete() throws Exception {
+        return this.unmarshaller.unmarshal(this.buffer.toByteArray());
+    }
+
+    interface BufferedInputUnmarshaller {
+        Object unmarshal(byte[] input) throws Exception;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import java.util.Iterator;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+    static <T> CloseableIterator<T> closeableIterator(final Iterator<T> iterator, final AutoCloseable resource) {
+        validateNotNull(iterator, "iterator");
+        validateNotNull(resource, "resource");
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+                try {
+                    resource.close();
+                } catch (final Exception e) {
+                    throw new UnsupportedOperationException("Could not close resource " + resource, e);
+                }
+            }
+        };
+    }
+
+    @Override
+    void close();
+}
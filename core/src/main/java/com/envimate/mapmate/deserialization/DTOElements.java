@@ -46,6 +46,7 @@ public final class DTOElements {
                     }
                     return type;
                 })
+                .filter(type -> !type.isPrimitive())
                 .distinct()
                 .collect(Collectors.toList());
     }
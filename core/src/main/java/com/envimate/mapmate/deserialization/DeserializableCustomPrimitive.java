@@ -47,6 +47,14 @@ public final class DeserializableCustomPrimitive<T> implements Definition {
         return (T) deserialized;
     }
 
+    @SuppressWarnings("unchecked")
+    public T deserialize(final Object input) throws Exception {
+        if (input instanceof Number || input instanceof Boolean) {
+            return (T) this.deserializationMethod.deserializeScalar(input, this.type);
+        }
+        return this.deserialize((String) input);
+    }
+
     @Override
     public boolean isCustomPrimitive() {
         return true;
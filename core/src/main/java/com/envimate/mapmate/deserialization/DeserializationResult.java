@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import com.envimate.mapmate.deserialization.validation.ValidationResult;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DeserializationResult<T> {
+    private final T result;
+    private final ValidationResult validationResult;
+
+    static <T> DeserializationResult<T> deserializationResult(final T result,
+                                                              final ValidationResult validationResult) {
+        validateNotNull(validationResult, "validationResult");
+        return new DeserializationResult<>(result, validationResult);
+    }
+
+    public boolean isValid() {
+        return !this.validationResult.hasValidationErrors();
+    }
+
+    public T result() {
+        if (!this.isValid()) {
+            throw new IllegalStateException("Cannot access the result of an invalid deserialization: " +
+                    this.validationResult.validationErrors());
+        }
+        return this.result;
+    }
+
+    public ValidationResult validationResult() {
+        return this.validationResult;
+    }
+}
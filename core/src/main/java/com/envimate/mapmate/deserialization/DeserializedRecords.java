@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import com.envimate.mapmate.deserialization.validation.ExceptionTracker;
+import com.envimate.mapmate.deserialization.validation.ValidationError;
+import com.envimate.mapmate.deserialization.validation.ValidationErrorsMapping;
+import com.envimate.mapmate.deserialization.validation.ValidationMappings;
+import com.envimate.mapmate.injector.InjectorFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.envimate.mapmate.deserialization.validation.ExceptionTracker.emptyTracker;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class DeserializedRecords<T> implements CloseableIterator<T> {
+    private final CloseableIterator<?> records;
+    private final Class<T> targetType;
+    private final InternalDeserializer internalDeserializer;
+    private final ValidationMappings validationMappings;
+    private final ValidationErrorsMapping onValidationErrors;
+    private final InjectorFactory injectorFactory;
+    private int index;
+    private boolean prefetched;
+    private boolean rejected;
+    private T next;
+
+    static <T> DeserializedRecords<T> deserializedRecords(final CloseableIterator<?> records,
+                                                         final Class<T> targetType,
+                                                         final InternalDeserializer internalDeserializer,
+                                                         final ValidationMappings validationMappings,
+                                                         final ValidationErrorsMapping onValidationErrors,
+                                                         final InjectorFactory injectorFactory) {
+        return new DeserializedRecords<>(records, targetType, internalDeserializer,
+                validationMappings, onValidationErrors, injectorFactory);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.prefetched && this.records.hasNext()) {
+            final Object record = this.records.next();
+            final ExceptionTracker exceptionTracker = emptyTracker(record, this.validationMappings)
+                    .stepIntoArray(this.index++);
+            this.rejected = false;
+            final T deserialized = this.internalDeserializer.deserialize(
+                    record, this.targetType, exceptionTracker, this.injectorFactory.create(), this::reject);
+            if (!this.rejected) {
+                this.next = deserialized;
+                this.prefetched = true;
+            }
+        }
+        return this.prefetched;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T current = this.next;
+        this.next = null;
+        this.prefetched = false;
+        return current;
+    }
+
+    @Override
+    public void close() {
+        this.records.close();
+    }
+
+    private void reject(final List<ValidationError> errors) {
+        this.rejected = true;
+        this.onValidationErrors.map(errors);
+    }
+}
@@ -31,21 +31,43 @@ import com.envimate.mapmate.injector.InjectorFactory;
 import com.envimate.mapmate.injector.InjectorLambda;
 import com.envimate.mapmate.marshalling.MarshallerRegistry;
 import com.envimate.mapmate.marshalling.MarshallingType;
+import com.envimate.mapmate.marshalling.RecordFraming;
+import com.envimate.mapmate.marshalling.tape.Tape;
+import com.envimate.mapmate.marshalling.tape.TapeSegmentPool;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.envimate.mapmate.DefinitionNotFoundException.definitionNotFound;
+import static com.envimate.mapmate.deserialization.DeserializedRecords.deserializedRecords;
+import static com.envimate.mapmate.deserialization.DeserializerOptions.defaultDeserializerOptions;
+import static com.envimate.mapmate.deserialization.DeserializingProcessor.deserializingProcessor;
+import static com.envimate.mapmate.deserialization.IncrementalDeserialization.incrementalDeserialization;
 import static com.envimate.mapmate.deserialization.InternalDeserializer.internalDeserializer;
+import static com.envimate.mapmate.deserialization.PipelinedRecords.pipelinedRecords;
+import static com.envimate.mapmate.deserialization.Projection.projection;
+import static com.envimate.mapmate.deserialization.ProjectionPaths.projectionPaths;
 import static com.envimate.mapmate.deserialization.Unmarshallers.unmarshallers;
 import static com.envimate.mapmate.deserialization.builder.DeserializerBuilder.aDeserializerBuilder;
 import static com.envimate.mapmate.deserialization.validation.ExceptionTracker.emptyTracker;
 import static com.envimate.mapmate.marshalling.MarshallingType.json;
+import static com.envimate.mapmate.marshalling.RecordFraming.TOP_LEVEL_ARRAY;
+import static com.envimate.mapmate.marshalling.tape.Tape.tape;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static java.lang.String.format;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
 
 @ToString
 @EqualsAndHashCode
@@ -56,6 +78,7 @@ public final class Deserializer {
     private final Unmarshallers unmarshallers;
     private final InternalDeserializer internalDeserializer;
     private final InjectorFactory injectorFactory;
+    private final TapeSegmentPool tapeSegmentPool;
 
     public static Deserializer theDeserializer(final MarshallerRegistry<Unmarshaller> unmarshallerRegistry,
                                                final DeserializableDefinitions definitions,
@@ -63,19 +86,33 @@ public final class Deserializer {
                                                final ValidationErrorsMapping onValidationErrors,
                                                final boolean validateNoUnsupportedOutgoingReferences,
                                                final InjectorFactory injectorFactory) {
+        return theDeserializer(unmarshallerRegistry, definitions, exceptionMapping, onValidationErrors,
+                validateNoUnsupportedOutgoingReferences, injectorFactory, defaultDeserializerOptions());
+    }
+
+    public static Deserializer theDeserializer(final MarshallerRegistry<Unmarshaller> unmarshallerRegistry,
+                                               final DeserializableDefinitions definitions,
+                                               final ValidationMappings exceptionMapping,
+                                               final ValidationErrorsMapping onValidationErrors,
+                                               final boolean validateNoUnsupportedOutgoingReferences,
+                                               final InjectorFactory injectorFactory,
+                                               final DeserializerOptions options) {
         validateNotNull(unmarshallerRegistry, "unmarshallerRegistry");
         validateNotNull(definitions, "definitions");
         validateNotNull(exceptionMapping, "validationMappings");
         validateNotNull(onValidationErrors, "onValidationErrors");
         validateNotNull(injectorFactory, "injectorFactory");
+        validateNotNull(options, "options");
 
         if (validateNoUnsupportedOutgoingReferences) {
             definitions.validateNoUnsupportedOutgoingReferences();
         }
 
-        final Unmarshallers unmarshalles = unmarshallers(unmarshallerRegistry, definitions);
-        final InternalDeserializer internalDeserializer = internalDeserializer(definitions, onValidationErrors);
-        return new Deserializer(definitions, exceptionMapping, unmarshalles, internalDeserializer, injectorFactory);
+        final Unmarshallers unmarshalles = unmarshallers(unmarshallerRegistry, definitions, options.payloadLimits());
+        final InternalDeserializer internalDeserializer = internalDeserializer(definitions, onValidationErrors,
+                options.parallelism(), options.payloadLimits(), options.resolveReferences());
+        return new Deserializer(definitions, exceptionMapping, unmarshalles, internalDeserializer, injectorFactory,
+                options.tapeSegmentPool());
     }
 
     public static DeserializerBuilder aDeserializer() {
@@ -133,6 +170,200 @@ public final class Deserializer {
         return this.internalDeserializer.deserialize(unmarshalled, targetType, exceptionTracker, injector);
     }
 
+    public <T> T deserialize(final byte[] input,
+                             final Class<T> targetType,
+                             final MarshallingType marshallingType) {
+        validateNotNull(input, "input");
+        validateNotNull(targetType, "targetType");
+        validateNotNull(marshallingType, "marshallingType");
+        final Object unmarshalled = this.unmarshallers.unmarshal(input, targetType, marshallingType);
+        final String description = format("<%d bytes of %s>", input.length, marshallingType.internalValueForMapping());
+        return deserializeUnmarshalled(description, unmarshalled, targetType);
+    }
+
+    public <T> T deserialize(final InputStream input,
+                             final Class<T> targetType,
+                             final MarshallingType marshallingType) {
+        validateNotNull(input, "input");
+        validateNotNull(targetType, "targetType");
+        validateNotNull(marshallingType, "marshallingType");
+        final Object unmarshalled = this.unmarshallers.unmarshal(input, targetType, marshallingType);
+        return deserializeUnmarshalled(streamedInput(marshallingType), unmarshalled, targetType);
+    }
+
+    public <T> T deserializeThroughTape(final InputStream input,
+                                        final Class<T> targetType,
+                                        final MarshallingType marshallingType) {
+        validateNotNull(input, "input");
+        validateNotNull(targetType, "targetType");
+        validateNotNull(marshallingType, "marshallingType");
+        try (Tape tape = tape(this.tapeSegmentPool)) {
+            final Object unmarshalled = this.unmarshallers.unmarshalToTape(input, targetType, marshallingType, tape);
+            return deserializeUnmarshalled(streamedInput(marshallingType), unmarshalled, targetType);
+        }
+    }
+
+    public <T> T deserializeFromTape(final Tape tape, final Class<T> targetType) {
+        validateNotNull(tape, "tape");
+        validateNotNull(targetType, "targetType");
+        return deserializeUnmarshalled("<tape>", tape.root(), targetType);
+    }
+
+    public <T> T applyPatch(final T base,
+                            final Map<String, Object> patch,
+                            final Function<Object, Map<String, Object>> elementsOf) {
+        validateNotNull(base, "base");
+        validateNotNull(patch, "patch");
+        validateNotNull(elementsOf, "elementsOf");
+        if (patch.isEmpty()) {
+            return base;
+        }
+        final ExceptionTracker exceptionTracker = emptyTracker(patch, this.validationMappings);
+        final Injector injector = this.injectorFactory.create();
+        return this.internalDeserializer.applyPatch(base, patch, elementsOf, exceptionTracker, injector);
+    }
+
+    public Projection deserializeProjection(final String input,
+                                            final Class<?> targetType,
+                                            final MarshallingType marshallingType,
+                                            final Set<String> paths) {
+        validateNotNull(input, "input");
+        validateNotNull(targetType, "targetType");
+        final ProjectionPaths projectionPaths = projectionPaths(paths);
+        final Map<String, Class<?>> pathTypes = this.internalDeserializer.resolveProjection(targetType, paths);
+        final Map<String, Object> unmarshalled = this.unmarshallers.unmarshalProjection(
+                input, projectionPaths, marshallingType);
+        final ExceptionTracker exceptionTracker = emptyTracker(input, this.validationMappings);
+        final Injector injector = this.injectorFactory.create();
+        return projection(this.internalDeserializer.deserializeProjection(
+                unmarshalled, pathTypes, exceptionTracker, injector));
+    }
+
+    public <T> Stream<T> deserializeDocuments(final InputStream input,
+                                              final Class<T> targetType,
+                                              final MarshallingType marshallingType) {
+        validateNotNull(targetType, "targetType");
+        return documentStream(this.unmarshallers.unmarshalDocuments(input, targetType, marshallingType), targetType);
+    }
+
+    public <T> Stream<T> deserializeDocuments(final Reader input,
+                                              final Class<T> targetType,
+                                              final MarshallingType marshallingType) {
+        validateNotNull(targetType, "targetType");
+        return documentStream(this.unmarshallers.unmarshalDocuments(input, targetType, marshallingType), targetType);
+    }
+
+    public <T> Stream<T> stream(final InputStream input,
+                                final Class<T> targetType,
+                                final MarshallingType marshallingType) {
+        return stream(input, targetType, marshallingType, TOP_LEVEL_ARRAY);
+    }
+
+    public <T> Stream<T> stream(final InputStream input,
+                                final Class<T> targetType,
+                                final MarshallingType marshallingType,
+                                final RecordFraming framing) {
+        return stream(input, targetType, marshallingType, framing, this.internalDeserializer.onValidationErrors());
+    }
+
+    public <T> Stream<T> stream(final InputStream input,
+                                final Class<T> targetType,
+                                final MarshallingType marshallingType,
+                                final RecordFraming framing,
+                                final ValidationErrorsMapping onValidationErrors) {
+        validateNotNull(targetType, "targetType");
+        validateNotNull(onValidationErrors, "onValidationErrors");
+        final CloseableIterator<?> records = this.unmarshallers.unmarshalRecords(
+                input, framing, targetType, marshallingType);
+        return recordStream(records, targetType, onValidationErrors);
+    }
+
+    public <T> IncrementalDeserialization<T> deserializeIncrementally(final Class<T> targetType,
+                                                                      final MarshallingType marshallingType) {
+        validateNotNull(targetType, "targetType");
+        validateNotNull(marshallingType, "marshallingType");
+        final IncrementalUnmarshalling unmarshalling = this.unmarshallers.unmarshalIncrementally(
+                targetType, marshallingType);
+        return incrementalDeserialization(unmarshalling, targetType, this.internalDeserializer,
+                this.validationMappings, this.injectorFactory);
+    }
+
+    public <T> Stream<T> ingest(final InputStream input,
+                                final Class<T> targetType,
+                                final MarshallingType marshallingType,
+                                final RecordFraming framing,
+                                final IngestionPipeline pipeline) {
+        return ingest(input, targetType, marshallingType, framing, pipeline,
+                this.internalDeserializer.onValidationErrors());
+    }
+
+    public <T> Stream<T> ingest(final InputStream input,
+                                final Class<T> targetType,
+                                final MarshallingType marshallingType,
+                                final RecordFraming framing,
+                                final IngestionPipeline pipeline,
+                                final ValidationErrorsMapping onValidationErrors) {
+        validateNotNull(targetType, "targetType");
+        validateNotNull(pipeline, "pipeline");
+        validateNotNull(onValidationErrors, "onValidationErrors");
+        final CloseableIterator<?> records = this.unmarshallers.unmarshalRecords(
+                input, framing, targetType, marshallingType);
+        final PipelinedRecords<T> pipelined = pipelinedRecords(
+                records, targetType, this.internalDeserializer, this.validationMappings,
+                onValidationErrors, this.injectorFactory, pipeline);
+        final int characteristics = pipeline.isOrdered() ? ORDERED : 0;
+        return StreamSupport.stream(spliteratorUnknownSize(pipelined, characteristics), false)
+                .onClose(pipelined::close);
+    }
+
+    public <T> Flow.Processor<ByteBuffer, T> processor(final Class<T> targetType,
+                                                       final MarshallingType marshallingType,
+                                                       final RecordFraming framing,
+                                                       final int bufferSize) {
+        return processor(targetType, marshallingType, framing, bufferSize,
+                this.internalDeserializer.onValidationErrors());
+    }
+
+    public <T> Flow.Processor<ByteBuffer, T> processor(final Class<T> targetType,
+                                                       final MarshallingType marshallingType,
+                                                       final RecordFraming framing,
+                                                       final int bufferSize,
+                                                       final ValidationErrorsMapping onValidationErrors) {
+        validateNotNull(targetType, "targetType");
+        validateNotNull(marshallingType, "marshallingType");
+        final IncrementalRecordUnmarshalling records = this.unmarshallers.unmarshalRecordsIncrementally(
+                framing, targetType, marshallingType);
+        return deserializingProcessor(bufferSize, records, targetType, this.internalDeserializer,
+                this.validationMappings, onValidationErrors, this.injectorFactory);
+    }
+
+    private <T> Stream<T> documentStream(final CloseableIterator<?> documents,
+                                         final Class<T> targetType) {
+        return recordStream(documents, targetType, this.internalDeserializer.onValidationErrors());
+    }
+
+    private <T> Stream<T> recordStream(final CloseableIterator<?> records,
+                                       final Class<T> targetType,
+                                       final ValidationErrorsMapping onValidationErrors) {
+        final DeserializedRecords<T> deserialized = deserializedRecords(
+                records, targetType, this.internalDeserializer, this.validationMappings,
+                onValidationErrors, this.injectorFactory);
+        return StreamSupport.stream(spliteratorUnknownSize(deserialized, ORDERED), false)
+                .onClose(deserialized::close);
+    }
+
+    private static String streamedInput(final MarshallingType marshallingType) {
+        return format("<streamed %s>", marshallingType.internalValueForMapping());
+    }
+
+    private <T> T deserializeUnmarshalled(final String originalInput,
+                                          final Object unmarshalled,
+                                          final Class<T> targetType) {
+        final ExceptionTracker exceptionTracker = emptyTracker(originalInput, this.validationMappings);
+        final Injector injector = this.injectorFactory.create();
+        return this.internalDeserializer.deserialize(unmarshalled, targetType, exceptionTracker, injector);
+    }
+
     public Set<MarshallingType> supportedMarshallingTypes() {
         return this.unmarshallers.supportedMarshallingTypes();
     }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.envimate.mapmate.marshalling.tape.TapeSegmentPool;
+import com.envimate.mapmate.parallel.Parallelism;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import static com.envimate.mapmate.marshalling.PayloadLimits.unlimitedPayloads;
+import static com.envimate.mapmate.marshalling.tape.TapeSegmentPool.defaultTapeSegmentPool;
+import static com.envimate.mapmate.parallel.Parallelism.sequential;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DeserializerOptions {
+    private static final DeserializerOptions DEFAULTS = new DeserializerOptions(
+            sequential(), unlimitedPayloads(), false, defaultTapeSegmentPool());
+
+    private final Parallelism parallelism;
+    private final PayloadLimits payloadLimits;
+    private final boolean resolveReferences;
+    private final TapeSegmentPool tapeSegmentPool;
+
+    public static DeserializerOptions defaultDeserializerOptions() {
+        return DEFAULTS;
+    }
+
+    public DeserializerOptions withParallelism(final Parallelism parallelism) {
+        validateNotNull(parallelism, "parallelism");
+        return new DeserializerOptions(parallelism, this.payloadLimits, this.resolveReferences, this.tapeSegmentPool);
+    }
+
+    public DeserializerOptions withPayloadLimits(final PayloadLimits payloadLimits) {
+        validateNotNull(payloadLimits, "payloadLimits");
+        return new DeserializerOptions(this.parallelism, payloadLimits, this.resolveReferences, this.tapeSegmentPool);
+    }
+
+    public DeserializerOptions resolvingReferences() {
+        return new DeserializerOptions(this.parallelism, this.payloadLimits, true, this.tapeSegmentPool);
+    }
+
+    public DeserializerOptions withTapeSegmentPool(final TapeSegmentPool tapeSegmentPool) {
+        validateNotNull(tapeSegmentPool, "tapeSegmentPool");
+        return new DeserializerOptions(this.parallelism, this.payloadLimits, this.resolveReferences, tapeSegmentPool);
+    }
+
+    Parallelism parallelism() {
+        return this.parallelism;
+    }
+
+    PayloadLimits payloadLimits() {
+        return this.payloadLimits;
+    }
+
+    boolean resolveReferences() {
+        return this.resolveReferences;
+    }
+
+    TapeSegmentPool tapeSegmentPool() {
+        return this.tapeSegmentPool;
+    }
+}
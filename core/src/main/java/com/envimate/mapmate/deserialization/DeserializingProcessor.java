@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import com.envimate.mapmate.deserialization.validation.ExceptionTracker;
+import com.envimate.mapmate.deserialization.validation.ValidationError;
+import com.envimate.mapmate.deserialization.validation.ValidationErrorsMapping;
+import com.envimate.mapmate.deserialization.validation.ValidationMappings;
+import com.envimate.mapmate.flow.BufferedProcessor;
+import com.envimate.mapmate.injector.InjectorFactory;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.envimate.mapmate.deserialization.validation.ExceptionTracker.emptyTracker;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+final class DeserializingProcessor<T> extends BufferedProcessor<ByteBuffer, T> {
+    private final IncrementalRecordUnmarshalling records;
+    private final Class<T> targetType;
+    private final InternalDeserializer internalDeserializer;
+    private final ValidationMappings validationMappings;
+    private final ValidationErrorsMapping onValidationErrors;
+    private final InjectorFactory injectorFactory;
+    private int index;
+    private boolean rejected;
+
+    private DeserializingProcessor(final int bufferSize,
+                                   final IncrementalRecordUnmarshalling records,
+                                   final Class<T> targetType,
+                                   final InternalDeserializer internalDeserializer,
+                                   final ValidationMappings validationMappings,
+                                   final ValidationErrorsMapping onValidationErrors,
+                                   final InjectorFactory injectorFactory) {
+        super(bufferSize);
+        this.records = records;
+        this.targetType = targetType;
+        this.internalDeserializer = internalDeserializer;
+        this.validationMappings = validationMappings;
+        this.onValidationErrors = onValidationErrors;
+        this.injectorFactory = injectorFactory;
+    }
+
+    static <T> DeserializingProcessor<T> deserializingProcessor(final int bufferSize,
+                                                               final IncrementalRecordUnmarshalling records,
+                                                               final Class<T> targetType,
+                                                               final InternalDeserializer internalDeserializer,
+                                                               final ValidationMappings validationMappings,
+                                                               final ValidationErrorsMapping onValidationErrors,
+                                                               final InjectorFactory injectorFactory) {
+        validateNotNull(records, "records");
+        validateNotNull(targetType, "targetType");
+        validateNotNull(onValidationErrors, "onValidationErrors");
+        return new DeserializingProcessor<>(bufferSize, records, targetType, internalDeserializer,
+                validationMappings, onValidationErrors, injectorFactory);
+    }
+
+    @Override
+    protected void process(final ByteBuffer chunk, final Consumer<T> output) throws Exception {
+        validateNotNull(chunk, "chunk");
+        this.records.feed(chunk, record -> this.deserialize(record, output));
+    }
+
+    @Override
+    protected void finish(final Consumer<T> output) throws Exception {
+        this.records.complete(record -> this.deserialize(record, output));
+    }
+
+    private void deserialize(final Object record, final Consumer<T> output) {
+        final ExceptionTracker exceptionTracker = emptyTracker(record, this.validationMappings)
+                .stepIntoArray(this.index++);
+        this.rejected = false;
+        final T deserialized = this.internalDeserializer.deserialize(
+                record, this.targetType, exceptionTracker, this.injectorFactory.create(), this::reject);
+        if (!this.rejected && deserialized != null) {
+            output.accept(deserialized);
+        }
+    }
+
+    private void reject(final List<ValidationError> errors) {
+        this.rejected = true;
+        this.onValidationErrors.map(errors);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import com.envimate.mapmate.deserialization.validation.ExceptionTracker;
+import com.envimate.mapmate.deserialization.validation.ValidationMappings;
+import com.envimate.mapmate.injector.InjectorFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+
+import static com.envimate.mapmate.deserialization.DeserializationResult.deserializationResult;
+import static com.envimate.mapmate.deserialization.validation.ExceptionTracker.emptyTracker;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class IncrementalDeserialization<T> {
+    private final IncrementalUnmarshalling unmarshalling;
+    private final Class<T> targetType;
+    private final InternalDeserializer internalDeserializer;
+    private final ValidationMappings validationMappings;
+    private final InjectorFactory injectorFactory;
+    private boolean completed;
+
+    static <T> IncrementalDeserialization<T> incrementalDeserialization(
+            final IncrementalUnmarshalling unmarshalling,
+            final Class<T> targetType,
+            final InternalDeserializer internalDeserializer,
+            final ValidationMappings validationMappings,
+            final InjectorFactory injectorFactory) {
+        return new IncrementalDeserialization<>(unmarshalling, targetType, internalDeserializer,
+                validationMappings, injectorFactory);
+    }
+
+    public void feed(final ByteBuffer chunk) {
+        validateNotNull(chunk, "chunk");
+        this.ensureNotCompleted();
+        try {
+            this.unmarshalling.feed(chunk);
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException("Could not unmarshal chunk", e);
+        }
+    }
+
+    public DeserializationResult<T> complete() {
+        this.ensureNotCompleted();
+        this.completed = true;
+        final Object unmarshalled;
+        try {
+            unmarshalled = this.unmarshalling.complete();
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException("Could not unmarshal input", e);
+        }
+        final ExceptionTracker exceptionTracker = emptyTracker(unmarshalled, this.validationMappings);
+        final T result = this.internalDeserializer.deserialize(
+                unmarshalled, this.targetType, exceptionTracker, this.injectorFactory.create(), validationErrors -> {
+                });
+        return deserializationResult(result, exceptionTracker.validationResult());
+    }
+
+    private void ensureNotCompleted() {
+        if (this.completed) {
+            throw new IllegalStateException("Incremental deserialization has already been completed");
+        }
+    }
+}
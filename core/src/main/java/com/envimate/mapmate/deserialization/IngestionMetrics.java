@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.concurrent.atomic.LongAdder;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class IngestionMetrics {
+    private final LongAdder recordsParsed = new LongAdder();
+    private final LongAdder recordsDeserialized = new LongAdder();
+    private final LongAdder recordsRejected = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder deserializationNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public static IngestionMetrics ingestionMetrics() {
+        return new IngestionMetrics();
+    }
+
+    void parsed(final long nanos) {
+        this.recordsParsed.increment();
+        this.parseNanos.add(nanos);
+    }
+
+    void deserialized(final long nanos, final boolean rejected) {
+        this.recordsDeserialized.increment();
+        if (rejected) {
+            this.recordsRejected.increment();
+        }
+        this.deserializationNanos.add(nanos);
+    }
+
+    void waited(final long nanos) {
+        this.waitNanos.add(nanos);
+    }
+
+    public long recordsParsed() {
+        return this.recordsParsed.sum();
+    }
+
+    public long recordsDeserialized() {
+        return this.recordsDeserialized.sum();
+    }
+
+    public long recordsRejected() {
+        return this.recordsRejected.sum();
+    }
+
+    public long parseNanos() {
+        return this.parseNanos.sum();
+    }
+
+    public long deserializationNanos() {
+        return this.deserializationNanos.sum();
+    }
+
+    public long waitNanos() {
+        return this.waitNanos.sum();
+    }
+}
@@ -19,51 +19,52 @@
  * under the License.
  */
 
-package com.envimate.mapmate.builder.recipes.marshallers.urlencoded;
+package com.envimate.mapmate.deserialization;
 
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.Key.parseKey;
+import java.util.concurrent.Executor;
+
+import static com.envimate.mapmate.deserialization.IngestionMetrics.ingestionMetrics;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
-import static java.lang.String.format;
-import static java.net.URLDecoder.decode;
-import static java.net.URLEncoder.encode;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-final class KeyValue {
-    private final Key key;
-    private final String value;
+public final class IngestionPipeline {
+    private final Executor executor;
+    private final int capacity;
+    private final boolean ordered;
+    private final IngestionMetrics metrics;
+
+    public static IngestionPipeline ingestionPipeline(final Executor executor, final int capacity) {
+        validateNotNull(executor, "executor");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive but was " + capacity);
+        }
+        return new IngestionPipeline(executor, capacity, true, ingestionMetrics());
+    }
 
-    static KeyValue keyValue(final Key key, final String value) {
-        validateNotNull(key, "key");
-        validateNotNull(value, "value");
-        return new KeyValue(key, value);
+    public IngestionPipeline unordered() {
+        return new IngestionPipeline(this.executor, this.capacity, false, this.metrics);
     }
 
-    static KeyValue parse(final String keyAndValue) {
-        final String[] split = keyAndValue.split("=");
-        final String key = decode(split[0], UTF_8);
-        final String value = decode(split[1], UTF_8);
-        return keyValue(parseKey(key), value);
+    public IngestionMetrics metrics() {
+        return this.metrics;
     }
 
-    Key key() {
-        return this.key;
+    Executor executor() {
+        return this.executor;
     }
 
-    String value() {
-        return this.value;
+    int capacity() {
+        return this.capacity;
     }
 
-    String render() {
-        final String encodedKey = this.key.render();
-        final String encodedValue = encode(this.value, UTF_8);
-        return format("%s=%s", encodedKey, encodedValue);
+    boolean isOrdered() {
+        return this.ordered;
     }
 }
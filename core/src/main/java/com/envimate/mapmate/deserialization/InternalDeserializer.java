@@ -27,36 +27,141 @@ import com.envimate.mapmate.deserialization.validation.ExceptionTracker;
 import com.envimate.mapmate.deserialization.validation.ValidationErrorsMapping;
 import com.envimate.mapmate.deserialization.validation.ValidationResult;
 import com.envimate.mapmate.injector.Injector;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.envimate.mapmate.parallel.Parallelism;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
 
 import static com.envimate.mapmate.DefinitionNotFoundException.definitionNotFound;
+import static com.envimate.mapmate.References.ID_KEY;
+import static com.envimate.mapmate.References.REFERENCE_KEY;
+import static com.envimate.mapmate.deserialization.InvalidReferenceException.circularReference;
+import static com.envimate.mapmate.deserialization.InvalidReferenceException.incompatibleReference;
+import static com.envimate.mapmate.deserialization.InvalidReferenceException.unknownReference;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.fromElements;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.isPrimitiveArrayType;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
 import static java.lang.reflect.Array.newInstance;
 
 @SuppressWarnings({"unchecked", "InstanceofConcreteClass", "CastToConcreteClass", "rawtypes"})
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 final class InternalDeserializer {
+    private static final Object PENDING = new Object();
+
     private final DeserializableDefinitions definitions;
     private final ValidationErrorsMapping onValidationErrors;
+    private final Parallelism parallelism;
+    private final PayloadLimits limits;
+    private final boolean resolveReferences;
 
     static InternalDeserializer internalDeserializer(final DeserializableDefinitions deserializableDefinitions,
-                                                     final ValidationErrorsMapping validationErrorsMapping) {
+                                                     final ValidationErrorsMapping validationErrorsMapping,
+                                                     final Parallelism parallelism,
+                                                     final PayloadLimits limits,
+                                                     final boolean resolveReferences) {
         validateNotNull(deserializableDefinitions, "deserializableDefinitions");
         validateNotNull(validationErrorsMapping, "validationErrorsMapping");
-        return new InternalDeserializer(deserializableDefinitions, validationErrorsMapping);
+        validateNotNull(parallelism, "parallelism");
+        validateNotNull(limits, "limits");
+        return new InternalDeserializer(
+                deserializableDefinitions, validationErrorsMapping, parallelism, limits, resolveReferences);
     }
 
     <T> T deserialize(final Object input,
                       final Class<T> targetType,
                       final ExceptionTracker exceptionTracker,
                       final Injector injector) {
-        final T result = this.deserializeRecursive(input, targetType, exceptionTracker, injector);
+        return this.deserialize(input, targetType, exceptionTracker, injector, this.onValidationErrors);
+    }
+
+    <T> T deserialize(final Object input,
+                      final Class<T> targetType,
+                      final ExceptionTracker exceptionTracker,
+                      final Injector injector,
+                      final ValidationErrorsMapping onValidationErrors) {
+        final T result = this.deserializeRecursive(
+                input, targetType, exceptionTracker, injector, 0, this.referencesWithin(input));
+        final ValidationResult validationResult = exceptionTracker.validationResult();
+        if (validationResult.hasValidationErrors()) {
+            onValidationErrors.map(validationResult.validationErrors());
+        }
+        return result;
+    }
+
+    Map<String, Class<?>> resolveProjection(final Class<?> targetType, final Set<String> paths) {
+        final Map<String, Class<?>> pathTypes = new LinkedHashMap<>(paths.size());
+        for (final String path : paths) {
+            Class<?> currentType = targetType;
+            for (final String elementName : path.split("\\.")) {
+                final Class<?> type = currentType;
+                final Definition definition = this.definitions.getDefinitionForType(type)
+                        .orElseThrow(() -> definitionNotFound(type));
+                if (!(definition instanceof DeserializableDataTransferObject)) {
+                    throw new IllegalArgumentException(String.format(
+                            "property path '%s' of type '%s' leads through '%s', which is not a data transfer object",
+                            path, targetType.getName(), type.getName()));
+                }
+                final DeserializationDTOMethod method = ((DeserializableDataTransferObject) definition)
+                        .getDeserializationMethod();
+                currentType = method.elements(type).get(elementName);
+                if (currentType == null) {
+                    throw new IllegalArgumentException(String.format(
+                            "property path '%s' of type '%s' references unknown element '%s' of type '%s'",
+                            path, targetType.getName(), elementName, type.getName()));
+                }
+            }
+            pathTypes.put(path, currentType);
+        }
+        return pathTypes;
+    }
+
+    Map<String, Object> deserializeProjection(final Map<String, Object> input,
+                                              final Map<String, Class<?>> pathTypes,
+                                              final ExceptionTracker exceptionTracker,
+                                              final Injector injector) {
+        final Map<String, Object> values = new LinkedHashMap<>(pathTypes.size());
+        final ResolvedReferences references = this.referencesWithin(input);
+        pathTypes.forEach((path, type) -> {
+            Object elementInput = input;
+            ExceptionTracker elementTracker = exceptionTracker;
+            int depth = 0;
+            for (final String elementName : path.split("\\.")) {
+                elementInput = elementInput instanceof Map ? ((Map<String, Object>) elementInput).get(elementName) : null;
+                elementTracker = elementTracker.stepInto(elementName);
+                ++depth;
+            }
+            final Object value = this.deserializeRecursive(
+                    elementInput, type, elementTracker, injector, depth, references);
+            if (value != null) {
+                values.put(path, value);
+            }
+        });
+        final ValidationResult validationResult = exceptionTracker.validationResult();
+        if (validationResult.hasValidationErrors()) {
+            this.onValidationErrors.map(validationResult.validationErrors());
+        }
+        return values;
+    }
+
+    <T> T applyPatch(final T base,
+                     final Map<String, Object> patch,
+                     final Function<Object, Map<String, Object>> elementsOf,
+                     final ExceptionTracker exceptionTracker,
+                     final Injector injector) {
+        final T result = this.applyPatchRecursive(
+                base, patch, elementsOf, exceptionTracker, injector, 0, this.referencesWithin(patch));
         final ValidationResult validationResult = exceptionTracker.validationResult();
         if (validationResult.hasValidationErrors()) {
             this.onValidationErrors.map(validationResult.validationErrors());
@@ -64,85 +169,188 @@ final class InternalDeserializer {
         return result;
     }
 
+    ValidationErrorsMapping onValidationErrors() {
+        return this.onValidationErrors;
+    }
+
+    private ResolvedReferences referencesWithin(final Object input) {
+        return this.resolveReferences ? new ResolvedReferences(input) : null;
+    }
+
     private <T> T deserializeRecursive(final Object input,
                                        final Class<T> targetType,
                                        final ExceptionTracker exceptionTracker,
-                                       final Injector injector) {
-        final Object injected = injector.getInjectionForPropertyPath(exceptionTracker.getPosition(), targetType).orElse(input);
+                                       final Injector injector,
+                                       final int depth,
+                                       final ResolvedReferences references) {
+        final Deque<Frame> frames = new ArrayDeque<>();
+        final Object value = this.open(input, targetType, exceptionTracker, injector, depth, references, frames);
+        if (value != PENDING) {
+            return (T) value;
+        }
+        while (true) {
+            final Frame frame = frames.peek();
+            if (frame.openNextChild(frames)) {
+                continue;
+            }
+            frames.pop();
+            final Object completed = frame.complete();
+            final Frame parent = frames.peek();
+            if (parent == null) {
+                return (T) completed;
+            }
+            parent.accept(completed);
+        }
+    }
+
+    private Object open(final Object input,
+                        final Class<?> targetType,
+                        final ExceptionTracker exceptionTracker,
+                        final Injector injector,
+                        final int depth,
+                        final ResolvedReferences references,
+                        final Deque<Frame> frames) {
+        final Object injected = injector.isEmpty()
+                ? input
+                : injector.getInjectionForPropertyPath(exceptionTracker.getPosition(), targetType).orElse(input);
         if (injected != null && injected.getClass() == targetType) {
-            return (T) injected;
+            return injected;
         }
         if (input == null) {
             return null;
         }
 
         if (injected instanceof List) {
-            return this.deserializeArray((List) injected, targetType, exceptionTracker, injector);
+            final List elements = (List) injected;
+            this.limits.checkDepth(depth + 1);
+            this.limits.checkArrayLength(elements.size());
+            if (isPrimitiveArrayType(targetType)) {
+                return this.deserializePrimitiveArray(elements, targetType, exceptionTracker);
+            }
+            if (references == null && this.parallelism.appliesTo(elements.size())) {
+                return this.deserializeArrayInParallel(elements, targetType, exceptionTracker, injector, depth + 1);
+            }
+            frames.push(new ArrayFrame(
+                    elements, targetType.getComponentType(), exceptionTracker, injector, depth + 1, references));
+            return PENDING;
         }
         final Definition definition = this.definitions.getDefinitionForType(targetType)
                 .orElseThrow(() -> definitionNotFound(targetType));
         if (definition instanceof DeserializableDataTransferObject) {
-            return this.deserializeDataTransferObject(
-                    (Map<String, Object>) injected,
+            Map<String, Object> elements = (Map<String, Object>) injected;
+            final Object declaredId = references == null ? null : references.idOf(elements);
+            final String id = declaredId == null ? null : String.valueOf(declaredId);
+            if (id != null) {
+                final Object resolved = references.instances.get(id);
+                if (resolved != null) {
+                    if (targetType.isInstance(resolved)) {
+                        return resolved;
+                    }
+                    exceptionTracker.track(incompatibleReference(id, targetType),
+                            String.format("Exception resolving reference %s", elements));
+                    return null;
+                }
+                if (references.inProgress.contains(id)) {
+                    exceptionTracker.track(circularReference(id),
+                            String.format("Exception resolving reference %s", elements));
+                    return null;
+                }
+                final Map<String, Object> referenced = references.referencedElements(elements, id);
+                if (referenced == null) {
+                    exceptionTracker.track(unknownReference(id),
+                            String.format("Exception resolving reference %s", elements));
+                    return null;
+                }
+                elements = referenced;
+                references.inProgress.add(id);
+            }
+            this.limits.checkDepth(depth + 1);
+            this.limits.checkFieldCount(elements.size());
+            frames.push(new DataTransferObjectFrame(
+                    elements,
                     (DeserializableDataTransferObject) definition,
                     exceptionTracker,
-                    injector);
+                    injector,
+                    depth + 1,
+                    references,
+                    id));
+            return PENDING;
         }
         if (definition instanceof DeserializableCustomPrimitive) {
+            if (injected instanceof String) {
+                this.limits.checkStringLength(((String) injected).length());
+            }
             return this.deserializeCustomPrimitive(
-                    (String) injected,
+                    injected,
                     (DeserializableCustomPrimitive) definition,
                     exceptionTracker);
         }
         throw new UnsupportedOperationException(definition.getClass().getName());
     }
 
-    private <T> T deserializeDataTransferObject(final Map<String, Object> input,
-                                                final DeserializableDataTransferObject definition,
-                                                final ExceptionTracker exceptionTracker,
-                                                final Injector injector) {
-        final DeserializationDTOMethod deserializationDTOMethod = definition.getDeserializationMethod();
-        final Class type = definition.getType();
+    private <T> T applyPatchRecursive(final T base,
+                                      final Map<String, Object> patch,
+                                      final Function<Object, Map<String, Object>> elementsOf,
+                                      final ExceptionTracker exceptionTracker,
+                                      final Injector injector,
+                                      final int depth,
+                                      final ResolvedReferences references) {
+        final Class type = base.getClass();
+        this.limits.checkDepth(depth + 1);
+        this.limits.checkFieldCount(patch.size());
+        final Definition definition = this.definitions.getDefinitionForType(type)
+                .orElseThrow(() -> definitionNotFound(type));
+        if (!(definition instanceof DeserializableDataTransferObject)) {
+            throw new IllegalArgumentException(String.format(
+                    "patches can only be applied to data transfer objects but '%s' is not", type.getName()));
+        }
+        final DeserializationDTOMethod deserializationDTOMethod =
+                ((DeserializableDataTransferObject) definition).getDeserializationMethod();
         final Map<String, Class<?>> elementTypes = deserializationDTOMethod.elements(type);
-        final Map<String, Object> elements = new HashMap<>(0);
-        for (final Entry<String, Class<?>> entry : elementTypes.entrySet()) {
+        final Map<String, Object> elements = new HashMap<>(elementsOf.apply(base));
+        for (final Entry<String, Object> entry : patch.entrySet()) {
             final String elementName = entry.getKey();
-            final Class elementType = entry.getValue();
-
-            final Object injected = injector.getInjectionForPropertyNameOrInstance(
-                    exceptionTracker.getWouldBePosition(elementName), elementType);
-            if (injected != null) {
-                elements.put(elementName, injected);
+            final Class elementType = elementTypes.get(elementName);
+            if (elementType == null) {
+                throw new IllegalArgumentException(String.format(
+                        "patch references unknown element '%s' of type '%s'", elementName, type.getName()));
+            }
+            final Object current = elements.get(elementName);
+            final Object elementPatch = entry.getValue();
+            if (elementPatch == null) {
+                elements.remove(elementName);
+            } else if (elementPatch instanceof Map && current != null && this.isDataTransferObject(current.getClass())) {
+                elements.put(elementName, this.applyPatchRecursive(
+                        current, (Map<String, Object>) elementPatch, elementsOf,
+                        exceptionTracker.stepInto(elementName), injector, depth + 1, references));
             } else {
-                final Object elementInput = input.get(elementName);
-                if (elementInput != null) {
-                    final Object elementObject = this.deserializeRecursive(
-                            elementInput,
-                            elementType,
-                            exceptionTracker.stepInto(elementName),
-                            injector);
-                    elements.put(elementName, elementObject);
-                }
+                elements.put(elementName, this.deserializeRecursive(elementPatch, elementType,
+                        exceptionTracker.stepInto(elementName), injector, depth + 1, references));
             }
         }
 
-        if (exceptionTracker.validationResult().hasValidationErrors()) {
+        if (exceptionTracker.hasValidationErrors()) {
+            return null;
+        }
+        try {
+            return (T) deserializationDTOMethod.deserialize(type, elements);
+        } catch (final Exception e) {
+            final String message = String.format(
+                    "Exception calling deserialize(type: %s, elements: %s) on deserializationMethod %s",
+                    type, elements, deserializationDTOMethod
+            );
+            exceptionTracker.track(e, message);
             return null;
-        } else {
-            try {
-                return (T) deserializationDTOMethod.deserialize(type, elements);
-            } catch (final Exception e) {
-                final String message = String.format(
-                        "Exception calling deserialize(type: %s, elements: %s) on deserializationMethod %s",
-                        type, elements, deserializationDTOMethod
-                );
-                exceptionTracker.track(e, message);
-                return null;
-            }
         }
     }
 
-    private <T> T deserializeCustomPrimitive(final String input,
+    private boolean isDataTransferObject(final Class<?> type) {
+        return this.definitions.getDefinitionForType(type)
+                .map(definition -> definition instanceof DeserializableDataTransferObject)
+                .orElse(false);
+    }
+
+    private <T> T deserializeCustomPrimitive(final Object input,
                                              final DeserializableCustomPrimitive definition,
                                              final ExceptionTracker exceptionTracker) {
         try {
@@ -157,20 +365,255 @@ final class InternalDeserializer {
         }
     }
 
-    private <T> T deserializeArray(final List input,
-                                   final Class<T> targetType,
-                                   final ExceptionTracker exceptionTracker,
-                                   final Injector injector) {
+    private <T> T deserializePrimitiveArray(final List input,
+                                            final Class<T> targetType,
+                                            final ExceptionTracker exceptionTracker) {
+        try {
+            return (T) fromElements(input, targetType);
+        } catch (final Exception e) {
+            final String message = String.format(
+                    "Exception deserializing primitive array of type %s from %s", targetType.getSimpleName(), input);
+            exceptionTracker.track(e, message);
+            return null;
+        }
+    }
+
+    private Object[] deserializeArrayInParallel(final List input,
+                                                final Class<?> targetType,
+                                                final ExceptionTracker exceptionTracker,
+                                                final Injector injector,
+                                                final int depth) {
         final Object[] output = (Object[]) newInstance(targetType.getComponentType(), input.size());
 
-        for (int i = 0; i < input.size(); i++) {
-            output[i] = this.deserializeRecursive(
-                    input.get(i),
-                    targetType.getComponentType(),
-                    exceptionTracker.stepIntoArray(i),
-                    injector);
+        final ExceptionTracker[] elementTrackers = new ExceptionTracker[input.size()];
+        for (int i = 0; i < elementTrackers.length; i++) {
+            elementTrackers[i] = exceptionTracker.stepIntoArray(i);
+        }
+        this.parallelism.forEachIndex(input.size(), i -> output[i] = this.deserializeRecursive(
+                input.get(i),
+                targetType.getComponentType(),
+                elementTrackers[i],
+                injector,
+                depth,
+                null));
+
+        return output;
+    }
+
+    private abstract static class Frame {
+        abstract boolean openNextChild(Deque<Frame> frames);
+
+        abstract void accept(Object value);
+
+        abstract Object complete();
+    }
+
+    private final class ArrayFrame extends Frame {
+        private final List input;
+        private final Class<?> componentType;
+        private final ExceptionTracker exceptionTracker;
+        private final Injector injector;
+        private final int depth;
+        private final ResolvedReferences references;
+        private final Object[] output;
+        private int index = -1;
+
+        private ArrayFrame(final List input,
+                           final Class<?> componentType,
+                           final ExceptionTracker exceptionTracker,
+                           final Injector injector,
+                           final int depth,
+                           final ResolvedReferences references) {
+            this.input = input;
+            this.componentType = componentType;
+            this.exceptionTracker = exceptionTracker;
+            this.injector = injector;
+            this.depth = depth;
+            this.references = references;
+            this.output = (Object[]) newInstance(componentType, input.size());
+        }
+
+        @Override
+        boolean openNextChild(final Deque<Frame> frames) {
+            if (this.index + 1 >= this.output.length) {
+                return false;
+            }
+            ++this.index;
+            final Object value = InternalDeserializer.this.open(
+                    this.input.get(this.index),
+                    this.componentType,
+                    this.exceptionTracker.stepIntoArray(this.index),
+                    this.injector,
+                    this.depth,
+                    this.references,
+                    frames);
+            if (value != PENDING) {
+                this.accept(value);
+            }
+            return true;
+        }
+
+        @Override
+        void accept(final Object value) {
+            this.output[this.index] = value;
+        }
+
+        @Override
+        Object complete() {
+            return this.output;
+        }
+    }
+
+    private final class DataTransferObjectFrame extends Frame {
+        private final Map<String, Object> input;
+        private final DeserializationDTOMethod deserializationDTOMethod;
+        private final Class type;
+        private final Iterator<Entry<String, Class<?>>> elementTypes;
+        private final ExceptionTracker exceptionTracker;
+        private final Injector injector;
+        private final int depth;
+        private final ResolvedReferences references;
+        private final String id;
+        private final Map<String, Object> elements = new HashMap<>(0);
+        private String elementName;
+
+        private DataTransferObjectFrame(final Map<String, Object> input,
+                                        final DeserializableDataTransferObject definition,
+                                        final ExceptionTracker exceptionTracker,
+                                        final Injector injector,
+                                        final int depth,
+                                        final ResolvedReferences references,
+                                        final String id) {
+            this.input = input;
+            this.deserializationDTOMethod = definition.getDeserializationMethod();
+            this.type = definition.getType();
+            this.elementTypes = this.deserializationDTOMethod.elements(this.type).entrySet().iterator();
+            this.exceptionTracker = exceptionTracker;
+            this.injector = injector;
+            this.depth = depth;
+            this.references = references;
+            this.id = id;
+        }
+
+        @Override
+        boolean openNextChild(final Deque<Frame> frames) {
+            while (this.elementTypes.hasNext()) {
+                final Entry<String, Class<?>> entry = this.elementTypes.next();
+                final String name = entry.getKey();
+                final Class elementType = entry.getValue();
+
+                final Object injected = this.injector.isEmpty()
+                        ? null
+                        : this.injector.getInjectionForPropertyNameOrInstance(
+                                this.exceptionTracker.getWouldBePosition(name), elementType);
+                if (injected != null) {
+                    this.elements.put(name, injected);
+                    continue;
+                }
+                final Object elementInput = this.input.get(name);
+                if (elementInput == null) {
+                    continue;
+                }
+                this.elementName = name;
+                final Object value = InternalDeserializer.this.open(
+                        elementInput,
+                        elementType,
+                        this.exceptionTracker.stepInto(name),
+                        this.injector,
+                        this.depth,
+                        this.references,
+                        frames);
+                if (value != PENDING) {
+                    this.accept(value);
+                }
+                return true;
+            }
+            return false;
         }
 
-        return (T) output;
+        @Override
+        void accept(final Object value) {
+            this.elements.put(this.elementName, value);
+        }
+
+        @Override
+        Object complete() {
+            final Object instance = this.instantiate();
+            if (this.id != null) {
+                this.references.inProgress.remove(this.id);
+                if (instance != null) {
+                    this.references.instances.put(this.id, instance);
+                }
+            }
+            return instance;
+        }
+
+        private Object instantiate() {
+            if (this.exceptionTracker.hasValidationErrors()) {
+                return null;
+            }
+            try {
+                return this.deserializationDTOMethod.deserialize(this.type, this.elements);
+            } catch (final Exception e) {
+                final String message = String.format(
+                        "Exception calling deserialize(type: %s, elements: %s) on deserializationMethod %s",
+                        this.type, this.elements, this.deserializationDTOMethod
+                );
+                this.exceptionTracker.track(e, message);
+                return null;
+            }
+        }
+    }
+
+    private static final class ResolvedReferences {
+        private final Object input;
+        private final Map<String, Object> instances = new HashMap<>();
+        private final Set<String> inProgress = new HashSet<>();
+        private Map<String, Map<String, Object>> identifiedElements;
+
+        private ResolvedReferences(final Object input) {
+            this.input = input;
+        }
+
+        private Object idOf(final Map<String, Object> elements) {
+            final Object reference = elements.get(REFERENCE_KEY);
+            return reference == null ? elements.get(ID_KEY) : reference;
+        }
+
+        private Map<String, Object> referencedElements(final Map<String, Object> elements, final String id) {
+            if (!elements.containsKey(REFERENCE_KEY)) {
+                return elements;
+            }
+            if (this.identifiedElements == null) {
+                this.identifiedElements = indexIdentifiedElements(this.input);
+            }
+            return this.identifiedElements.get(id);
+        }
+
+        private static Map<String, Map<String, Object>> indexIdentifiedElements(final Object input) {
+            final Map<String, Map<String, Object>> index = new HashMap<>();
+            final Deque<Object> pending = new ArrayDeque<>();
+            pushIfContainer(input, pending);
+            while (!pending.isEmpty()) {
+                final Object value = pending.pop();
+                if (value instanceof Map) {
+                    final Map<String, Object> elements = (Map<String, Object>) value;
+                    final Object id = elements.get(ID_KEY);
+                    if (id != null) {
+                        index.putIfAbsent(String.valueOf(id), elements);
+                    }
+                    elements.values().forEach(element -> pushIfContainer(element, pending));
+                } else {
+                    ((List<Object>) value).forEach(element -> pushIfContainer(element, pending));
+                }
+            }
+            return index;
+        }
+
+        private static void pushIfContainer(final Object value, final Deque<Object> pending) {
+            if (value instanceof Map || value instanceof List) {
+                pending.push(value);
+            }
+        }
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+public final class InvalidReferenceException extends RuntimeException {
+    private InvalidReferenceException(final String msg) {
+        super(msg);
+    }
+
+    public static InvalidReferenceException unknownReference(final String id) {
+        final String msg = String.format("reference '%s' does not point to any object with that id", id);
+        return new InvalidReferenceException(msg);
+    }
+
+    public static InvalidReferenceException circularReference(final String id) {
+        final String msg = String.format("reference '%s' points to an object that contains the reference", id);
+        return new InvalidReferenceException(msg);
+    }
+
+    public static InvalidReferenceException incompatibleReference(final String id, final Class<?> targetType) {
+        final String msg = String.format("reference '%s' points to an object that is not of type '%s'",
+                id, targetType.getName());
+        return new InvalidReferenceException(msg);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class LineSplittingRecords implements IncrementalRecordUnmarshalling {
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private final LineUnmarshaller unmarshaller;
+
+    static LineSplittingRecords lineSplittingRecords(final LineUnmarshaller unmarshaller) {
+        validateNotNull(unmarshaller, "unmarshaller");
+        return new LineSplittingRecords(unmarshaller);
+    }
+
+    @Override
+    public void feed(final ByteBuffer chunk, final Consumer<Object> records) throws Exception {
+        while (chunk.hasRemaining()) {
+            final byte current = chunk.get();
+            if (current == '\n') {
+                this.emitLine(records);
+            } else {
+                this.line.write(current);
+            }
+        }
+    }
+
+    @Override
+    public void complete(final Consumer<Object> records) throws Exception {
+        this.emitLine(records);
+    }
+
+    private void emitLine(final Consumer<Object> records) throws Exception {
+        final String content = this.line.toString(UTF_8);
+        this.line.reset();
+        if (!content.isBlank()) {
+            records.accept(this.unmarshaller.unmarshal(content.strip()));
+        }
+    }
+
+    interface LineUnmarshaller {
+        Object unmarshal(String line) throws Exception;
+    }
+}
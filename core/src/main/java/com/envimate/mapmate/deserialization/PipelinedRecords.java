@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import com.envimate.mapmate.deserialization.validation.ExceptionTracker;
+import com.envimate.mapmate.deserialization.validation.ValidationError;
+import com.envimate.mapmate.deserialization.validation.ValidationErrorsMapping;
+import com.envimate.mapmate.deserialization.validation.ValidationMappings;
+import com.envimate.mapmate.injector.InjectorFactory;
+import lombok.ToString;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static com.envimate.mapmate.deserialization.validation.ExceptionTracker.emptyTracker;
+
+@ToString
+final class PipelinedRecords<T> implements CloseableIterator<T> {
+    private final CloseableIterator<?> records;
+    private final Class<T> targetType;
+    private final InternalDeserializer internalDeserializer;
+    private final ValidationMappings validationMappings;
+    private final ValidationErrorsMapping onValidationErrors;
+    private final InjectorFactory injectorFactory;
+    private final IngestionPipeline pipeline;
+    private final IngestionMetrics metrics;
+    private final Deque<Future<Outcome<T>>> inOrder = new ArrayDeque<>();
+    private final Set<Future<Outcome<T>>> unordered = new HashSet<>();
+    private final CompletionService<Outcome<T>> completionService;
+    private int inFlight;
+    private int index;
+    private boolean prefetched;
+    private T next;
+
+    private PipelinedRecords(final CloseableIterator<?> records,
+                             final Class<T> targetType,
+                             final InternalDeserializer internalDeserializer,
+                             final ValidationMappings validationMappings,
+                             final ValidationErrorsMapping onValidationErrors,
+                             final InjectorFactory injectorFactory,
+                             final IngestionPipeline pipeline) {
+        this.records = records;
+        this.targetType = targetType;
+        this.internalDeserializer = internalDeserializer;
+        this.validationMappings = validationMappings;
+        this.onValidationErrors = onValidationErrors;
+        this.injectorFactory = injectorFactory;
+        this.pipeline = pipeline;
+        this.metrics = pipeline.metrics();
+        this.completionService = new ExecutorCompletionService<>(pipeline.executor());
+    }
+
+    static <T> PipelinedRecords<T> pipelinedRecords(final CloseableIterator<?> records,
+                                                   final Class<T> targetType,
+                                                   final InternalDeserializer internalDeserializer,
+                                                   final ValidationMappings validationMappings,
+                                                   final ValidationErrorsMapping onValidationErrors,
+                                                   final InjectorFactory injectorFactory,
+                                                   final IngestionPipeline pipeline) {
+        return new PipelinedRecords<>(records, targetType, internalDeserializer,
+                validationMappings, onValidationErrors, injectorFactory, pipeline);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.prefetched) {
+            this.fill();
+            if (this.inFlight == 0) {
+                return false;
+            }
+            final Outcome<T> outcome = this.awaitNext();
+            if (outcome.validationErrors == null) {
+                this.next = outcome.value;
+                this.prefetched = true;
+            } else {
+                this.onValidationErrors.map(outcome.validationErrors);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T current = this.next;
+        this.next = null;
+        this.prefetched = false;
+        return current;
+    }
+
+    @Override
+    public void close() {
+        this.inOrder.forEach(future -> future.cancel(true));
+        this.inOrder.clear();
+        this.unordered.forEach(future -> future.cancel(true));
+        this.unordered.clear();
+        this.records.close();
+    }
+
+    private void fill() {
+        while (this.inFlight < this.pipeline.capacity()) {
+            final long start = System.nanoTime();
+            final Object record;
+            try {
+                if (!this.records.hasNext()) {
+                    return;
+                }
+                record = this.records.next();
+            } catch (final RuntimeException e) {
+                this.close();
+                throw e;
+            }
+            this.metrics.parsed(System.nanoTime() - start);
+            final ExceptionTracker exceptionTracker = emptyTracker(record, this.validationMappings)
+                    .stepIntoArray(this.index++);
+            final Callable<Outcome<T>> task = () -> this.deserialize(record, exceptionTracker);
+            if (this.pipeline.isOrdered()) {
+                final FutureTask<Outcome<T>> future = new FutureTask<>(task);
+                this.inOrder.add(future);
+                this.pipeline.executor().execute(future);
+            } else {
+                this.unordered.add(this.completionService.submit(task));
+            }
+            ++this.inFlight;
+        }
+    }
+
+    private Outcome<T> deserialize(final Object record, final ExceptionTracker exceptionTracker) {
+        final long start = System.nanoTime();
+        final Outcome<T> outcome = new Outcome<>();
+        outcome.value = this.internalDeserializer.deserialize(
+                record, this.targetType, exceptionTracker, this.injectorFactory.create(),
+                validationErrors -> outcome.validationErrors = validationErrors);
+        this.metrics.deserialized(System.nanoTime() - start, outcome.validationErrors != null);
+        return outcome;
+    }
+
+    private Outcome<T> awaitNext() {
+        final long start = System.nanoTime();
+        try {
+            final Future<Outcome<T>> future;
+            if (this.pipeline.isOrdered()) {
+                future = this.inOrder.poll();
+            } else {
+                future = this.completionService.take();
+                this.unordered.remove(future);
+            }
+            --this.inFlight;
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnsupportedOperationException("Interrupted while waiting for a record", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UnsupportedOperationException("Could not deserialize record", e.getCause());
+        } finally {
+            this.metrics.waited(System.nanoTime() - start);
+        }
+    }
+
+    private static final class Outcome<T> {
+        private T value;
+        private List<ValidationError> validationErrors;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Map;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static java.util.Collections.unmodifiableMap;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Projection {
+    private final Map<String, Object> values;
+
+    static Projection projection(final Map<String, Object> values) {
+        validateNotNull(values, "values");
+        return new Projection(unmodifiableMap(values));
+    }
+
+    public boolean contains(final String path) {
+        return this.values.containsKey(path);
+    }
+
+    public <T> T get(final String path, final Class<T> type) {
+        validateNotNull(type, "type");
+        return type.cast(this.values.get(path));
+    }
+
+    public Map<String, Object> asMap() {
+        return this.values;
+    }
+}
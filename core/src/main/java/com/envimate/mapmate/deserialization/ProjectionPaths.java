@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.deserialization;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static com.envimate.mapmate.validators.RequiredStringValidator.validateNotNullNorEmpty;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ProjectionPaths {
+    private final Map<String, ProjectionPaths> children = new LinkedHashMap<>();
+    private boolean selected;
+
+    public static ProjectionPaths projectionPaths(final Set<String> paths) {
+        validateNotNull(paths, "paths");
+        final ProjectionPaths root = new ProjectionPaths();
+        for (final String path : paths) {
+            validateNotNullNorEmpty(path, "path");
+            ProjectionPaths current = root;
+            for (final String segment : path.split("\\.")) {
+                current = current.children.computeIfAbsent(segment, name -> new ProjectionPaths());
+            }
+            current.selected = true;
+        }
+        return root;
+    }
+
+    public ProjectionPaths child(final String name) {
+        return this.children.get(name);
+    }
+
+    public boolean isSelected() {
+        return this.selected;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> project(final Map<String, Object> tree) {
+        final Map<String, Object> projected = new LinkedHashMap<>(this.children.size());
+        this.children.forEach((name, child) -> {
+            final Object value = tree.get(name);
+            if (child.selected) {
+                projected.put(name, value);
+            } else if (value instanceof Map) {
+                projected.put(name, child.project((Map<String, Object>) value));
+            }
+        });
+        return projected;
+    }
+}
@@ -21,6 +21,116 @@
 
 package com.envimate.mapmate.deserialization;
 
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.envimate.mapmate.marshalling.RecordFraming;
+import com.envimate.mapmate.marshalling.tape.Tape;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.envimate.mapmate.deserialization.BufferedArrayRecords.bufferedArrayRecords;
+import static com.envimate.mapmate.deserialization.BufferingUnmarshalling.bufferingUnmarshalling;
+import static com.envimate.mapmate.deserialization.CloseableIterator.closeableIterator;
+import static com.envimate.mapmate.deserialization.LineSplittingRecords.lineSplittingRecords;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+
 public interface Unmarshaller {
     <T> T unmarshal(String input, Class<T> type) throws Exception;
+
+    default <T> T unmarshal(final byte[] input, final Class<T> type) throws Exception {
+        return unmarshal(new String(input, UTF_8), type);
+    }
+
+    default <T> T unmarshal(final InputStream input, final Class<T> type) throws Exception {
+        return unmarshal(input.readAllBytes(), type);
+    }
+
+    /**
+     * Reads the whole input into memory and returns it as a single document. Unmarshallers for formats with multiple
+     * documents per stream override this to parse one document at a time.
+     */
+    default <T> CloseableIterator<T> unmarshalDocuments(final InputStream input, final Class<T> type) throws Exception {
+        return closeableIterator(singletonList(unmarshal(input, type)).iterator(), input);
+    }
+
+    /**
+     * Reads the whole input into memory and returns it as a single document, see
+     * {@link #unmarshalDocuments(InputStream, Class)}.
+     */
+    default <T> CloseableIterator<T> unmarshalDocuments(final Reader input, final Class<T> type) throws Exception {
+        final StringWriter writer = new StringWriter();
+        input.transferTo(writer);
+        return closeableIterator(singletonList(unmarshal(writer.toString(), type)).iterator(), input);
+    }
+
+    /**
+     * Reads {@link RecordFraming#NEWLINE_DELIMITED} records line by line. {@link RecordFraming#TOP_LEVEL_ARRAY}
+     * is not streamed by this default: the whole array is read into memory and unmarshalled before the first record
+     * is returned. Streaming unmarshallers override this to parse one element at a time.
+     */
+    default <T> CloseableIterator<T> unmarshalRecords(final InputStream input,
+                                                      final RecordFraming framing,
+                                                      final Class<T> type) throws Exception {
+        switch (framing) {
+            case NEWLINE_DELIMITED:
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF_8));
+                final Iterator<T> records = reader.lines()
+                        .filter(line -> !line.isBlank())
+                        .map(line -> {
+                            try {
+                                return unmarshal(line, type);
+                            } catch (final Exception e) {
+                                throw new UnsupportedOperationException(
+                                        String.format("Could not unmarshal record %s", line), e);
+                            }
+                        })
+                        .iterator();
+                return closeableIterator(records, reader);
+            case TOP_LEVEL_ARRAY:
+                final List<?> elements = unmarshal(input, List.class);
+                return closeableIterator(elements.stream().map(type::cast).iterator(), input);
+            default:
+                throw new UnsupportedOperationException(framing.name());
+        }
+    }
+
+    default IncrementalUnmarshalling unmarshalIncrementally(final Class<?> type) throws Exception {
+        return bufferingUnmarshalling(input -> unmarshal(input, type));
+    }
+
+    /**
+     * Like {@link #unmarshalRecords(InputStream, RecordFraming, Class)}, a {@link RecordFraming#TOP_LEVEL_ARRAY} is
+     * buffered completely by this default and only split into records once it is complete.
+     */
+    default IncrementalRecordUnmarshalling unmarshalRecordsIncrementally(final RecordFraming framing,
+                                                                         final Class<?> type) throws Exception {
+        switch (framing) {
+            case NEWLINE_DELIMITED:
+                return lineSplittingRecords(line -> unmarshal(line, type));
+            case TOP_LEVEL_ARRAY:
+                return bufferedArrayRecords(bufferingUnmarshalling(input -> unmarshal(input, List.class)));
+            default:
+                throw new UnsupportedOperationException(framing.name());
+        }
+    }
+
+    default void unmarshalToTape(final InputStream input, final Class<?> type, final Tape tape) throws Exception {
+        tape.tree(unmarshal(input, type));
+    }
+
+    default Unmarshaller withPayloadLimits(final PayloadLimits limits) {
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    default Map<String, Object> unmarshalProjection(final String input, final ProjectionPaths paths) throws Exception {
+        return paths.project(unmarshal(input, Map.class));
+    }
 }
@@ -24,11 +24,18 @@ package com.envimate.mapmate.deserialization;
 import com.envimate.mapmate.Definition;
 import com.envimate.mapmate.marshalling.MarshallerRegistry;
 import com.envimate.mapmate.marshalling.MarshallingType;
+import com.envimate.mapmate.marshalling.PayloadLimitExceededException;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.envimate.mapmate.marshalling.RecordFraming;
+import com.envimate.mapmate.marshalling.tape.Tape;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -36,7 +43,9 @@ import java.util.Set;
 import java.util.regex.Pattern;
 
 import static com.envimate.mapmate.DefinitionNotFoundException.definitionNotFound;
+import static com.envimate.mapmate.deserialization.BufferingUnmarshalling.bufferingUnmarshalling;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @ToString
 @EqualsAndHashCode
@@ -46,12 +55,16 @@ final class Unmarshallers {
 
     private final MarshallerRegistry<Unmarshaller> unmarshallers;
     private final DeserializableDefinitions definitions;
+    private final PayloadLimits limits;
 
     static Unmarshallers unmarshallers(final MarshallerRegistry<Unmarshaller> unmarshallers,
-                                       final DeserializableDefinitions deserializableDefinitions) {
+                                       final DeserializableDefinitions deserializableDefinitions,
+                                       final PayloadLimits limits) {
         validateNotNull(unmarshallers, "unmarshallers");
         validateNotNull(deserializableDefinitions, "deserializableDefinitions");
-        return new Unmarshallers(unmarshallers, deserializableDefinitions);
+        validateNotNull(limits, "limits");
+        return new Unmarshallers(unmarshallers.map(unmarshaller -> unmarshaller.withPayloadLimits(limits)),
+                deserializableDefinitions, limits);
     }
 
     @SuppressWarnings("unchecked")
@@ -79,40 +92,211 @@ final class Unmarshallers {
         if (input.isEmpty()) {
             return null;
         }
+        this.limits.checkInputSize(input);
+        final String trimmedInput = input.trim();
+        return unmarshal(input, targetType, marshallingType,
+                (unmarshaller, type) -> unmarshaller.unmarshal(trimmedInput, type),
+                () -> trimmedInput);
+    }
+
+    Object unmarshal(final byte[] input,
+                     final Class<?> targetType,
+                     final MarshallingType marshallingType) {
+        validateNotNull(input, "input");
+        if (input.length == 0) {
+            return null;
+        }
+        this.limits.checkInputSize(input.length);
+        return unmarshal(input, targetType, marshallingType,
+                (unmarshaller, type) -> unmarshaller.unmarshal(input, type),
+                () -> new String(input, UTF_8).trim());
+    }
+
+    Object unmarshal(final InputStream input,
+                     final Class<?> targetType,
+                     final MarshallingType marshallingType) {
+        validateNotNull(input, "input");
+        final InputStream limitedInput = this.limits.limit(input);
+        return unmarshal(input, targetType, marshallingType,
+                (unmarshaller, type) -> unmarshaller.unmarshal(limitedInput, type),
+                () -> new String(limitedInput.readAllBytes(), UTF_8).trim());
+    }
+
+    CloseableIterator<?> unmarshalDocuments(final InputStream input,
+                                            final Class<?> targetType,
+                                            final MarshallingType marshallingType) {
+        validateNotNull(input, "input");
+        final InputStream limitedInput = this.limits.limit(input);
+        return unmarshalDocuments(targetType, marshallingType,
+                (unmarshaller, type) -> unmarshaller.unmarshalDocuments(limitedInput, type));
+    }
+
+    CloseableIterator<?> unmarshalDocuments(final Reader input,
+                                            final Class<?> targetType,
+                                            final MarshallingType marshallingType) {
+        validateNotNull(input, "input");
+        return unmarshalDocuments(targetType, marshallingType,
+                (unmarshaller, type) -> unmarshaller.unmarshalDocuments(input, type));
+    }
+
+    CloseableIterator<?> unmarshalRecords(final InputStream input,
+                                          final RecordFraming framing,
+                                          final Class<?> targetType,
+                                          final MarshallingType marshallingType) {
+        validateNotNull(input, "input");
+        validateNotNull(framing, "framing");
+        final InputStream limitedInput = this.limits.limit(input);
+        return unmarshalDocuments(targetType, marshallingType,
+                (unmarshaller, type) -> unmarshaller.unmarshalRecords(limitedInput, framing, type));
+    }
+
+    IncrementalUnmarshalling unmarshalIncrementally(final Class<?> targetType,
+                                                    final MarshallingType marshallingType) {
+        final Unmarshaller unmarshaller = this.unmarshallers.getForType(marshallingType);
+        final Class<?> documentType = this.documentTypeFor(targetType);
+        if (documentType == String.class) {
+            return bufferingUnmarshalling(input -> this.unmarshal(input, targetType, marshallingType));
+        }
+        try {
+            return unmarshaller.unmarshalIncrementally(documentType);
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException("Could not start incremental unmarshalling", e);
+        }
+    }
+
+    Object unmarshalToTape(final InputStream input,
+                           final Class<?> targetType,
+                           final MarshallingType marshallingType,
+                           final Tape tape) {
+        validateNotNull(input, "input");
+        validateNotNull(tape, "tape");
+        final Class<?> documentType = this.documentTypeFor(targetType);
+        if (documentType == String.class) {
+            return this.unmarshal(input, targetType, marshallingType);
+        }
+        final Unmarshaller unmarshaller = this.unmarshallers.getForType(marshallingType);
+        try {
+            unmarshaller.unmarshalToTape(this.limits.limit(input), documentType, tape);
+        } catch (final PayloadLimitExceededException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException("Could not unmarshal input to tape", e);
+        }
+        return tape.root();
+    }
+
+    Map<String, Object> unmarshalProjection(final String input,
+                                            final ProjectionPaths paths,
+                                            final MarshallingType marshallingType) {
+        validateNotNull(input, "input");
+        this.limits.checkInputSize(input);
+        final Unmarshaller unmarshaller = this.unmarshallers.getForType(marshallingType);
+        try {
+            return unmarshaller.unmarshalProjection(input, paths);
+        } catch (final PayloadLimitExceededException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException(String.format("Could not unmarshal projection of %s", input), e);
+        }
+    }
+
+    IncrementalRecordUnmarshalling unmarshalRecordsIncrementally(final RecordFraming framing,
+                                                                 final Class<?> targetType,
+                                                                 final MarshallingType marshallingType) {
+        validateNotNull(framing, "framing");
+        final Unmarshaller unmarshaller = this.unmarshallers.getForType(marshallingType);
+        final Class<?> documentType = this.documentTypeFor(targetType);
+        try {
+            return unmarshaller.unmarshalRecordsIncrementally(framing, documentType);
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException("Could not start incremental record unmarshalling", e);
+        }
+    }
+
+    private CloseableIterator<?> unmarshalDocuments(final Class<?> targetType,
+                                                    final MarshallingType marshallingType,
+                                                    final DocumentsSource source) {
+        final Unmarshaller unmarshaller = this.unmarshallers.getForType(marshallingType);
+        final Class<?> documentType = this.documentTypeFor(targetType);
+        try {
+            return source.read(unmarshaller, documentType);
+        } catch (final PayloadLimitExceededException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException("Could not unmarshal documents", e);
+        }
+    }
+
+    private Class<?> documentTypeFor(final Class<?> targetType) {
+        final Definition definition = this.definitions.getDefinitionForType(targetType)
+                .orElseThrow(() -> definitionNotFound(targetType));
+        if (targetType.isArray() || Collection.class.isAssignableFrom(targetType)) {
+            return List.class;
+        } else if (definition.isDataTransferObject()) {
+            return Map.class;
+        } else if (definition.isCustomPrimitive()) {
+            return String.class;
+        } else {
+            throw new UnsupportedOperationException(definition.getClass().getName());
+        }
+    }
+
+    private Object unmarshal(final Object input,
+                             final Class<?> targetType,
+                             final MarshallingType marshallingType,
+                             final Source source,
+                             final PrimitiveSource primitiveSource) {
         final Unmarshaller unmarshaller = this.unmarshallers.getForType(marshallingType);
         final Definition definition = this.definitions.getDefinitionForType(targetType)
                 .orElseThrow(() -> definitionNotFound(targetType));
 
-        final String trimmedInput = input.trim();
         if (targetType.isArray() || Collection.class.isAssignableFrom(targetType)) {
-            try {
-                return unmarshaller.unmarshal(trimmedInput, List.class);
-            } catch (final Exception e) {
-                throw new UnsupportedOperationException(
-                        String.format(
-                                "Could not unmarshal list from input %s",
-                                input),
-                        e
-                );
-            }
+            return read(source, unmarshaller, List.class, "list", input);
         } else if (definition.isDataTransferObject()) {
+            return read(source, unmarshaller, Map.class, "map", input);
+        } else if (definition.isCustomPrimitive()) {
             try {
-                return unmarshaller.unmarshal(trimmedInput, Map.class);
-            } catch (final Exception e) {
-                throw new UnsupportedOperationException(
-                        String.format(
-                                "Could not unmarshal map from input %s",
-                                input),
-                        e
-                );
+                return PATTERN.matcher(primitiveSource.read()).replaceAll("");
+            } catch (final IOException e) {
+                throw new UnsupportedOperationException("Could not read custom primitive input", e);
             }
-        } else if (definition.isCustomPrimitive()) {
-            return PATTERN.matcher(trimmedInput).replaceAll("");
         } else {
             throw new UnsupportedOperationException(definition.getClass().getName());
         }
     }
 
+    private static Object read(final Source source,
+                               final Unmarshaller unmarshaller,
+                               final Class<?> type,
+                               final String description,
+                               final Object input) {
+        try {
+            return source.read(unmarshaller, type);
+        } catch (final PayloadLimitExceededException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "Could not unmarshal %s from input %s",
+                            description,
+                            input),
+                    e
+            );
+        }
+    }
+
+    private interface Source {
+        Object read(Unmarshaller unmarshaller, Class<?> type) throws Exception;
+    }
+
+    private interface DocumentsSource {
+        CloseableIterator<?> read(Unmarshaller unmarshaller, Class<?> type) throws Exception;
+    }
+
+    private interface PrimitiveSource {
+        String read() throws IOException;
+    }
+
     Set<MarshallingType> supportedMarshallingTypes() {
         return this.unmarshallers.supportedTypes();
     }
@@ -27,6 +27,9 @@ import com.envimate.mapmate.injector.InjectorFactory;
 import com.envimate.mapmate.injector.InjectorLambda;
 import com.envimate.mapmate.marshalling.MarshallerRegistry;
 import com.envimate.mapmate.marshalling.MarshallingType;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.envimate.mapmate.marshalling.tape.TapeSegmentPool;
+import com.envimate.mapmate.parallel.Parallelism;
 
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -37,6 +40,7 @@ import static com.envimate.mapmate.deserialization.DeserializableCustomPrimitive
 import static com.envimate.mapmate.deserialization.DeserializableDataTransferObject.deserializableDataTransferObject;
 import static com.envimate.mapmate.deserialization.DeserializableDefinitions.*;
 import static com.envimate.mapmate.deserialization.Deserializer.theDeserializer;
+import static com.envimate.mapmate.deserialization.DeserializerOptions.defaultDeserializerOptions;
 import static com.envimate.mapmate.deserialization.builder.CustomPrimitiveDeserializationMethodBuilder.aCustomPrimitiveDeserializationMethodBuilder;
 import static com.envimate.mapmate.deserialization.builder.DataTransferObjectDeserializationMethodBuilder.aDataTransferObjectDeserializationMethodBuilder;
 import static com.envimate.mapmate.deserialization.builder.ScannablePackageBuilder.aScannablePackageBuilder;
@@ -56,6 +60,7 @@ public final class DeserializerBuilder {
     private ValidationErrorsMapping onValidationErrors;
     private boolean validateNoUnsupportedOutgoingReferences;
     private InjectorFactory injectorFactory;
+    private DeserializerOptions options;
 
     private DeserializerBuilder() {
         this.unmarshallers = new HashMap<>();
@@ -67,6 +72,7 @@ public final class DeserializerBuilder {
         };
         this.validateNoUnsupportedOutgoingReferences = false;
         this.injectorFactory = emptyInjectorFactory();
+        this.options = defaultDeserializerOptions();
     }
 
     public static DeserializerBuilder aDeserializerBuilder() {
@@ -164,6 +170,26 @@ public final class DeserializerBuilder {
         return this;
     }
 
+    public DeserializerBuilder withParallelism(final Parallelism parallelism) {
+        this.options = this.options.withParallelism(parallelism);
+        return this;
+    }
+
+    public DeserializerBuilder withPayloadLimits(final PayloadLimits payloadLimits) {
+        this.options = this.options.withPayloadLimits(payloadLimits);
+        return this;
+    }
+
+    public DeserializerBuilder resolvingReferences() {
+        this.options = this.options.resolvingReferences();
+        return this;
+    }
+
+    public DeserializerBuilder withTapeSegmentPool(final TapeSegmentPool tapeSegmentPool) {
+        this.options = this.options.withTapeSegmentPool(tapeSegmentPool);
+        return this;
+    }
+
     public Deserializer build() {
         if (this.mappedExceptions.containsDuplicates()) {
             throw DuplicateExceptionMappingsFoundException.fromSet(this.mappedExceptions.getDuplicates());
@@ -182,6 +208,7 @@ public final class DeserializerBuilder {
                 this.validationMappings,
                 this.onValidationErrors,
                 this.validateNoUnsupportedOutgoingReferences,
-                this.injectorFactory);
+                this.injectorFactory,
+                this.options);
     }
 }
@@ -25,4 +25,8 @@ public interface DeserializationCPMethod {
     void verifyCompatibility(Class<?> targetType);
 
     Object deserialize(String input, Class<?> targetType) throws Exception;
+
+    default Object deserializeScalar(final Object input, final Class<?> targetType) throws Exception {
+        return deserialize(input.toString(), targetType);
+    }
 }
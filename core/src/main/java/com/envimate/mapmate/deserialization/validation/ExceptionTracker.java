@@ -27,8 +27,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.envimate.mapmate.deserialization.validation.TrackingPosition.empty;
 import static com.envimate.mapmate.deserialization.validation.UnrecognizedExceptionOccurredException.fromException;
@@ -41,18 +45,25 @@ public final class ExceptionTracker {
     private final TrackingPosition position;
     private final ValidationMappings validationMappings;
     private final Object originalInput;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final ExceptionTracker parent;
 
     private final List<ValidationError> validationErrors = new LinkedList<>();
     private final List<ExceptionTracker> children = new LinkedList<>();
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final AtomicInteger validationErrorsInSubtree = new AtomicInteger();
 
     public static ExceptionTracker emptyTracker(final Object originalInput, final ValidationMappings validationMappings) {
-        return initializedTracker(empty(), validationMappings, originalInput);
+        return initializedTracker(empty(), validationMappings, originalInput, null);
     }
 
     private static ExceptionTracker initializedTracker(final TrackingPosition position,
                                                        final ValidationMappings validationMappings,
-                                                       final Object originalInput) {
-        return new ExceptionTracker(position, validationMappings, originalInput);
+                                                       final Object originalInput,
+                                                       final ExceptionTracker parent) {
+        return new ExceptionTracker(position, validationMappings, originalInput, parent);
     }
 
     private static Throwable resolveThrowable(final Throwable raw) {
@@ -70,11 +81,14 @@ public final class ExceptionTracker {
                         messageProvidingDebugInformation, this.position, resolvedThrowable, this.originalInput));
         final List<ValidationError> mapped = exceptionMapping.map(resolvedThrowable, this.position.render());
         this.validationErrors.addAll(mapped);
+        for (ExceptionTracker tracker = this; tracker != null; tracker = tracker.parent) {
+            tracker.validationErrorsInSubtree.addAndGet(mapped.size());
+        }
     }
 
     public ExceptionTracker stepInto(final String name) {
         final ExceptionTracker exceptionTracker = initializedTracker(
-                this.position.next(name), this.validationMappings, this.originalInput);
+                this.position.next(name), this.validationMappings, this.originalInput, this);
         this.children.add(exceptionTracker);
         return exceptionTracker;
     }
@@ -87,9 +101,28 @@ public final class ExceptionTracker {
         return ValidationResult.validationResult(this.allValidationErrors());
     }
 
+    public boolean hasValidationErrors() {
+        return this.validationErrorsInSubtree.get() > 0;
+    }
+
     private List<ValidationError> allValidationErrors() {
-        final List<ValidationError> allValidationErrors = new LinkedList<>(this.validationErrors);
-        this.children.forEach(child -> allValidationErrors.addAll(child.allValidationErrors()));
+        final List<ValidationError> allValidationErrors = new LinkedList<>();
+        if (!this.hasValidationErrors()) {
+            return allValidationErrors;
+        }
+        final Deque<ExceptionTracker> trackers = new ArrayDeque<>();
+        trackers.push(this);
+        while (!trackers.isEmpty()) {
+            final ExceptionTracker tracker = trackers.pop();
+            allValidationErrors.addAll(tracker.validationErrors);
+            final ListIterator<ExceptionTracker> children = tracker.children.listIterator(tracker.children.size());
+            while (children.hasPrevious()) {
+                final ExceptionTracker child = children.previous();
+                if (child.hasValidationErrors()) {
+                    trackers.push(child);
+                }
+            }
+        }
         return allValidationErrors;
     }
 
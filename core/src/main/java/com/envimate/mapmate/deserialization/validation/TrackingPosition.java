@@ -25,28 +25,33 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import static java.lang.String.join;
 
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor
 final class TrackingPosition {
-    private final List<String> positions;
+    private static final TrackingPosition EMPTY = new TrackingPosition(null, null, 0);
+
+    private final TrackingPosition parent;
+    private final String name;
+    private final int length;
 
     static TrackingPosition empty() {
-        return new TrackingPosition(new LinkedList<>());
+        return EMPTY;
     }
 
     TrackingPosition next(final String name) {
-        final List<String> newPositions = new LinkedList<>(this.positions);
-        newPositions.add(name);
-        return new TrackingPosition(newPositions);
+        return new TrackingPosition(this, name, this.length + 1);
     }
 
     String render() {
-        return join(".", this.positions);
+        final String[] names = new String[this.length];
+        TrackingPosition position = this;
+        for (int i = this.length - 1; i >= 0; --i) {
+            names[i] = position.name;
+            position = position.parent;
+        }
+        return join(".", names);
     }
 }
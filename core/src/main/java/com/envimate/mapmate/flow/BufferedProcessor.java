@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.flow;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+public abstract class BufferedProcessor<I, O> implements Flow.Processor<I, O> {
+    private final int bufferSize;
+    private final Queue<O> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger workInProgress = new AtomicInteger();
+    private final AtomicBoolean upstreamRequested = new AtomicBoolean();
+    private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+    private final AtomicReference<Flow.Subscriber<? super O>> downstream = new AtomicReference<>();
+    private volatile boolean upstreamDone;
+    private volatile boolean cancelled;
+    private volatile boolean aborted;
+    private volatile Throwable error;
+    private boolean terminated;
+
+    protected BufferedProcessor(final int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive but was " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    protected abstract void process(I item, Consumer<O> output) throws Exception;
+
+    protected abstract void finish(Consumer<O> output) throws Exception;
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super O> subscriber) {
+        validateNotNull(subscriber, "subscriber");
+        if (!this.downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("This processor supports only a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                if (n <= 0) {
+                    BufferedProcessor.this.abort(new IllegalArgumentException("Requested " + n + " elements"));
+                    return;
+                }
+                BufferedProcessor.this.demand.accumulateAndGet(n, (current, added) -> {
+                    final long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+                BufferedProcessor.this.drain();
+            }
+
+            @Override
+            public void cancel() {
+                BufferedProcessor.this.cancelled = true;
+                BufferedProcessor.this.cancelUpstream();
+                BufferedProcessor.this.drain();
+            }
+        });
+        this.drain();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        validateNotNull(subscription, "subscription");
+        if (!this.upstream.compareAndSet(null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        this.drain();
+    }
+
+    @Override
+    public void onNext(final I item) {
+        if (this.upstreamDone) {
+            return;
+        }
+        try {
+            this.process(item, this::emit);
+        } catch (final Exception e) {
+            this.cancelUpstream();
+            this.fail(e);
+            return;
+        }
+        this.upstreamRequested.set(false);
+        this.drain();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        this.fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (this.upstreamDone) {
+            return;
+        }
+        try {
+            this.finish(this::emit);
+        } catch (final Exception e) {
+            this.error = e;
+        }
+        this.upstreamDone = true;
+        this.drain();
+    }
+
+    private void emit(final O item) {
+        this.buffer.offer(item);
+        this.buffered.incrementAndGet();
+    }
+
+    private void fail(final Throwable throwable) {
+        if (this.error == null) {
+            this.error = throwable;
+        }
+        this.upstreamDone = true;
+        this.drain();
+    }
+
+    private void abort(final Throwable throwable) {
+        this.aborted = true;
+        this.cancelUpstream();
+        this.fail(throwable);
+    }
+
+    private void cancelUpstream() {
+        final Flow.Subscription subscription = this.upstream.get();
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    private void drain() {
+        if (this.workInProgress.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            final Flow.Subscriber<? super O> subscriber = this.downstream.get();
+            if (this.cancelled) {
+                this.buffer.clear();
+            } else if (subscriber != null && !this.terminated) {
+                this.emitBuffered(subscriber);
+                this.requestUpstreamIfNeeded();
+            }
+            missed = this.workInProgress.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void emitBuffered(final Flow.Subscriber<? super O> subscriber) {
+        if (this.aborted) {
+            this.buffer.clear();
+            this.buffered.set(0);
+        }
+        while (this.demand.get() > 0 && !this.cancelled) {
+            final O item = this.buffer.poll();
+            if (item == null) {
+                break;
+            }
+            this.buffered.decrementAndGet();
+            this.demand.decrementAndGet();
+            subscriber.onNext(item);
+        }
+        if (this.buffer.isEmpty() && this.upstreamDone && !this.cancelled) {
+            this.terminated = true;
+            if (this.error != null) {
+                subscriber.onError(this.error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    private void requestUpstreamIfNeeded() {
+        final Flow.Subscription subscription = this.upstream.get();
+        if (subscription == null || this.upstreamDone || this.terminated) {
+            return;
+        }
+        if (this.demand.get() > 0 && this.buffered.get() < this.bufferSize
+                && this.upstreamRequested.compareAndSet(false, true)) {
+            subscription.request(1);
+        }
+    }
+}
@@ -62,6 +62,10 @@ public final class Injector {
         return this;
     }
 
+    public boolean isEmpty() {
+        return this.injections.isEmpty();
+    }
+
     public Optional<Object> getInjectionForPropertyPath(final String position, final Class<?> targetType) {
         return this.injections.stream()
                 .filter(Injection::containsPropertyName)
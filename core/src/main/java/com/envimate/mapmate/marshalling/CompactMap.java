@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static java.lang.String.format;
+
+public final class CompactMap extends AbstractMap<String, Object> {
+    private static final Object ABSENT = new Object();
+
+    private final CompactMapShape shape;
+    private final Object[] values;
+    private int size;
+
+    private CompactMap(final CompactMapShape shape) {
+        this.shape = shape;
+        this.values = new Object[shape.size()];
+        Arrays.fill(this.values, ABSENT);
+    }
+
+    static CompactMap compactMap(final CompactMapShape shape) {
+        return new CompactMap(shape);
+    }
+
+    public CompactMapShape shape() {
+        return this.shape;
+    }
+
+    public void set(final int index, final Object value) {
+        if (this.values[index] == ABSENT) {
+            ++this.size;
+        }
+        this.values[index] = value;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final int index = this.shape.indexOf(key);
+        return index >= 0 && this.values[index] != ABSENT;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int index = this.shape.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final Object value = this.values[index];
+        return value == ABSENT ? null : value;
+    }
+
+    @Override
+    public Object put(final String key, final Object value) {
+        final int index = this.shape.indexOf(key);
+        if (index < 0) {
+            throw new UnsupportedOperationException(format(
+                    "Could not put key '%s' because it is not part of %s", key, this.shape));
+        }
+        final Object previous = this.values[index];
+        this.set(index, value);
+        return previous == ABSENT ? null : previous;
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        final int index = this.shape.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final Object previous = this.values[index];
+        if (previous == ABSENT) {
+            return null;
+        }
+        this.values[index] = ABSENT;
+        --this.size;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.values, ABSENT);
+        this.size = 0;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < this.values.length; ++i) {
+            final Object value = this.values[i];
+            if (value != ABSENT) {
+                action.accept(this.shape.keyAt(i), value);
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CompactMap.this.size;
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int next = this.advance(0);
+        private int last = -1;
+
+        private int advance(final int from) {
+            int index = from;
+            while (index < CompactMap.this.values.length && CompactMap.this.values[index] == ABSENT) {
+                ++index;
+            }
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next < CompactMap.this.values.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next;
+            this.next = this.advance(this.next + 1);
+            return new SlotEntry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0 || CompactMap.this.values[this.last] == ABSENT) {
+                throw new IllegalStateException();
+            }
+            CompactMap.this.values[this.last] = ABSENT;
+            --CompactMap.this.size;
+        }
+    }
+
+    private final class SlotEntry implements Map.Entry<String, Object> {
+        private final int index;
+
+        private SlotEntry(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return CompactMap.this.shape.keyAt(this.index);
+        }
+
+        @Override
+        public Object getValue() {
+            final Object value = CompactMap.this.values[this.index];
+            return value == ABSENT ? null : value;
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            final Object previous = this.getValue();
+            CompactMap.this.set(this.index, value);
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) other;
+            return this.getKey().equals(entry.getKey()) && Objects.equals(this.getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.getKey().hashCode() ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.envimate.mapmate.marshalling.CompactMap.compactMap;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static java.lang.String.format;
+
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompactMapShape {
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private final String[] keys;
+    private final Map<String, Integer> indices;
+
+    public static CompactMapShape compactMapShape(final String... keys) {
+        validateNotNull(keys, "keys");
+        final Map<String, Integer> indices = new HashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; ++i) {
+            validateNotNull(keys[i], "key");
+            if (indices.put(keys[i], i) != null) {
+                throw new IllegalArgumentException(format("Duplicate key '%s' in compact map shape", keys[i]));
+            }
+        }
+        return new CompactMapShape(keys.clone(), indices);
+    }
+
+    public CompactMap newMap() {
+        return compactMap(this);
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+
+    String keyAt(final int index) {
+        return this.keys[index];
+    }
+
+    int indexOf(final Object key) {
+        final Integer index = this.indices.get(key);
+        if (index == null) {
+            return -1;
+        }
+        return index;
+    }
+}
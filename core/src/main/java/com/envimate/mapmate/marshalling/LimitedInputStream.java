@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+final class LimitedInputStream extends FilterInputStream {
+    private final PayloadLimits limits;
+    private long count;
+
+    private LimitedInputStream(final InputStream input, final PayloadLimits limits) {
+        super(input);
+        this.limits = limits;
+    }
+
+    static LimitedInputStream limitedInputStream(final InputStream input, final PayloadLimits limits) {
+        return new LimitedInputStream(input, limits);
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int read = super.read();
+        if (read >= 0) {
+            this.consumed(1);
+        }
+        return read;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            this.consumed(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(final long length) throws IOException {
+        final long skipped = super.skip(length);
+        this.consumed(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void consumed(final long bytes) {
+        this.count += bytes;
+        this.limits.checkInputSize(this.count);
+    }
+}
@@ -26,8 +26,10 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 import static com.envimate.mapmate.marshalling.UnsupportedMarshallingTypeException.unsupportedMarshallingTypeException;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
@@ -52,6 +54,13 @@ public final class MarshallerRegistry<T> {
         return entry;
     }
 
+    public MarshallerRegistry<T> map(final UnaryOperator<T> function) {
+        validateNotNull(function, "function");
+        final Map<MarshallingType, T> mapped = new LinkedHashMap<>(this.map);
+        mapped.replaceAll((type, entry) -> function.apply(entry));
+        return new MarshallerRegistry<>(mapped);
+    }
+
     public Set<MarshallingType> supportedTypes() {
         return this.map.keySet();
     }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling;
+
+import static java.lang.String.format;
+
+public final class PayloadLimitExceededException extends RuntimeException {
+    private final PayloadLimit limit;
+    private final long maximum;
+    private final long actual;
+
+    private PayloadLimitExceededException(final String message,
+                                          final PayloadLimit limit,
+                                          final long maximum,
+                                          final long actual) {
+        super(message);
+        this.limit = limit;
+        this.maximum = maximum;
+        this.actual = actual;
+    }
+
+    public static PayloadLimitExceededException payloadLimitExceeded(final PayloadLimit limit,
+                                                                     final long maximum,
+                                                                     final long actual) {
+        final String message = format("payload exceeds the limit %s of %d (found at least %d)", limit, maximum, actual);
+        return new PayloadLimitExceededException(message, limit, maximum, actual);
+    }
+
+    public PayloadLimit limit() {
+        return this.limit;
+    }
+
+    public long maximum() {
+        return this.maximum;
+    }
+
+    public long actual() {
+        return this.actual;
+    }
+}
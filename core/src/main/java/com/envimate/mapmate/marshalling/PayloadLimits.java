@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.InputStream;
+
+import static com.envimate.mapmate.marshalling.LimitedInputStream.limitedInputStream;
+import static com.envimate.mapmate.marshalling.PayloadLimit.*;
+import static com.envimate.mapmate.marshalling.PayloadLimitExceededException.payloadLimitExceeded;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PayloadLimits {
+    private static final PayloadLimits UNLIMITED = new PayloadLimits(
+            Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+    private static final int MAX_UTF8_BYTES_PER_CHAR = 3;
+
+    private final int maxDepth;
+    private final int maxArrayLength;
+    private final int maxFieldCount;
+    private final int maxStringLength;
+    private final long maxInputSize;
+
+    public static PayloadLimits unlimitedPayloads() {
+        return UNLIMITED;
+    }
+
+    public PayloadLimits withMaxDepth(final int maxDepth) {
+        validatePositive(maxDepth, "maxDepth");
+        return new PayloadLimits(maxDepth, this.maxArrayLength, this.maxFieldCount, this.maxStringLength, this.maxInputSize);
+    }
+
+    public PayloadLimits withMaxArrayLength(final int maxArrayLength) {
+        validatePositive(maxArrayLength, "maxArrayLength");
+        return new PayloadLimits(this.maxDepth, maxArrayLength, this.maxFieldCount, this.maxStringLength, this.maxInputSize);
+    }
+
+    public PayloadLimits withMaxFieldCount(final int maxFieldCount) {
+        validatePositive(maxFieldCount, "maxFieldCount");
+        return new PayloadLimits(this.maxDepth, this.maxArrayLength, maxFieldCount, this.maxStringLength, this.maxInputSize);
+    }
+
+    public PayloadLimits withMaxStringLength(final int maxStringLength) {
+        validatePositive(maxStringLength, "maxStringLength");
+        return new PayloadLimits(this.maxDepth, this.maxArrayLength, this.maxFieldCount, maxStringLength, this.maxInputSize);
+    }
+
+    public PayloadLimits withMaxInputSize(final long maxInputSize) {
+        validatePositive(maxInputSize, "maxInputSize");
+        return new PayloadLimits(this.maxDepth, this.maxArrayLength, this.maxFieldCount, this.maxStringLength, maxInputSize);
+    }
+
+    public void checkDepth(final int depth) {
+        if (depth > this.maxDepth) {
+            throw payloadLimitExceeded(DEPTH, this.maxDepth, depth);
+        }
+    }
+
+    public void checkArrayLength(final int arrayLength) {
+        if (arrayLength > this.maxArrayLength) {
+            throw payloadLimitExceeded(ARRAY_LENGTH, this.maxArrayLength, arrayLength);
+        }
+    }
+
+    public void checkFieldCount(final int fieldCount) {
+        if (fieldCount > this.maxFieldCount) {
+            throw payloadLimitExceeded(FIELD_COUNT, this.maxFieldCount, fieldCount);
+        }
+    }
+
+    public void checkStringLength(final int stringLength) {
+        if (stringLength > this.maxStringLength) {
+            throw payloadLimitExceeded(STRING_LENGTH, this.maxStringLength, stringLength);
+        }
+    }
+
+    public void checkInputSize(final long inputSize) {
+        if (inputSize > this.maxInputSize) {
+            throw payloadLimitExceeded(INPUT_SIZE, this.maxInputSize, inputSize);
+        }
+    }
+
+    /**
+     * Checks the UTF-8 encoded size of {@code input} in bytes, the same unit in which streams and byte arrays are
+     * measured.
+     */
+    public void checkInputSize(final CharSequence input) {
+        validateNotNull(input, "input");
+        final int length = input.length();
+        if (length > this.maxInputSize) {
+            throw payloadLimitExceeded(INPUT_SIZE, this.maxInputSize, utf8Length(input));
+        }
+        if ((long) length * MAX_UTF8_BYTES_PER_CHAR > this.maxInputSize) {
+            this.checkInputSize(utf8Length(input));
+        }
+    }
+
+    public InputStream limit(final InputStream input) {
+        validateNotNull(input, "input");
+        if (this.maxInputSize == Long.MAX_VALUE) {
+            return input;
+        }
+        return limitedInputStream(input, this);
+    }
+
+    private static long utf8Length(final CharSequence input) {
+        long bytes = 0;
+        final int length = input.length();
+        for (int i = 0; i < length; ++i) {
+            final char c = input.charAt(i);
+            if (c < 0x80) {
+                ++bytes;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(input.charAt(i + 1))) {
+                bytes += 4;
+                ++i;
+            } else if (Character.isSurrogate(c)) {
+                ++bytes;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static void validatePositive(final long value, final String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive but was " + value);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling;
+
+import java.util.List;
+
+import static java.lang.String.format;
+
+public final class PrimitiveArrays {
+
+    private PrimitiveArrays() {
+    }
+
+    public static boolean isPrimitiveArray(final Object object) {
+        return object != null && isPrimitiveArrayType(object.getClass());
+    }
+
+    public static boolean isPrimitiveArrayType(final Class<?> type) {
+        return type.isArray() && type.getComponentType().isPrimitive();
+    }
+
+    public static int length(final Object array) {
+        if (array instanceof double[]) {
+            return ((double[]) array).length;
+        } else if (array instanceof long[]) {
+            return ((long[]) array).length;
+        } else if (array instanceof int[]) {
+            return ((int[]) array).length;
+        } else if (array instanceof float[]) {
+            return ((float[]) array).length;
+        } else if (array instanceof short[]) {
+            return ((short[]) array).length;
+        } else if (array instanceof byte[]) {
+            return ((byte[]) array).length;
+        } else if (array instanceof boolean[]) {
+            return ((boolean[]) array).length;
+        } else if (array instanceof char[]) {
+            return ((char[]) array).length;
+        }
+        throw unsupported(array.getClass());
+    }
+
+    public static String elementAsString(final Object array, final int index) {
+        if (array instanceof double[]) {
+            return Double.toString(((double[]) array)[index]);
+        } else if (array instanceof long[]) {
+            return Long.toString(((long[]) array)[index]);
+        } else if (array instanceof int[]) {
+            return Integer.toString(((int[]) array)[index]);
+        } else if (array instanceof float[]) {
+            return Float.toString(((float[]) array)[index]);
+        } else if (array instanceof short[]) {
+            return Short.toString(((short[]) array)[index]);
+        } else if (array instanceof byte[]) {
+            return Byte.toString(((byte[]) array)[index]);
+        } else if (array instanceof boolean[]) {
+            return Boolean.toString(((boolean[]) array)[index]);
+        } else if (array instanceof char[]) {
+            return Character.toString(((char[]) array)[index]);
+        }
+        throw unsupported(array.getClass());
+    }
+
+    public static Object fromElements(final List<?> elements, final Class<?> arrayType) {
+        final Class<?> componentType = arrayType.getComponentType();
+        final int size = elements.size();
+        if (componentType == double.class) {
+            final double[] array = new double[size];
+            for (int i = 0; i < size; ++i) {
+                final Object element = elements.get(i);
+                array[i] = element instanceof Number ? ((Number) element).doubleValue() : Double.parseDouble(text(element));
+            }
+            return array;
+        } else if (componentType == long.class) {
+            final long[] array = new long[size];
+            for (int i = 0; i < size; ++i) {
+                final Object element = elements.get(i);
+                array[i] = element instanceof Number ? ((Number) element).longValue() : Long.parseLong(text(element));
+            }
+            return array;
+        } else if (componentType == int.class) {
+            final int[] array = new int[size];
+            for (int i = 0; i < size; ++i) {
+                final Object element = elements.get(i);
+                array[i] = element instanceof Number ? ((Number) element).intValue() : Integer.parseInt(text(element));
+            }
+            return array;
+        } else if (componentType == float.class) {
+            final float[] array = new float[size];
+            for (int i = 0; i < size; ++i) {
+                final Object element = elements.get(i);
+                array[i] = element instanceof Number ? ((Number) element).floatValue() : Float.parseFloat(text(element));
+            }
+            return array;
+        } else if (componentType == short.class) {
+            final short[] array = new short[size];
+            for (int i = 0; i < size; ++i) {
+                final Object element = elements.get(i);
+                array[i] = element instanceof Number ? ((Number) element).shortValue() : Short.parseShort(text(element));
+            }
+            return array;
+        } else if (componentType == byte.class) {
+            final byte[] array = new byte[size];
+            for (int i = 0; i < size; ++i) {
+                final Object element = elements.get(i);
+                array[i] = element instanceof Number ? ((Number) element).byteValue() : Byte.parseByte(text(element));
+            }
+            return array;
+        } else if (componentType == boolean.class) {
+            final boolean[] array = new boolean[size];
+            for (int i = 0; i < size; ++i) {
+                final Object element = elements.get(i);
+                array[i] = element instanceof Boolean ? (Boolean) element : parseBoolean(text(element));
+            }
+            return array;
+        } else if (componentType == char.class) {
+            final char[] array = new char[size];
+            for (int i = 0; i < size; ++i) {
+                array[i] = parseChar(text(elements.get(i)));
+            }
+            return array;
+        }
+        throw unsupported(arrayType);
+    }
+
+    private static String text(final Object element) {
+        if (element == null) {
+            throw new IllegalArgumentException("primitive arrays must not contain null elements");
+        }
+        return element.toString().trim();
+    }
+
+    private static boolean parseBoolean(final String text) {
+        if ("true".equals(text)) {
+            return true;
+        } else if ("false".equals(text)) {
+            return false;
+        }
+        throw new IllegalArgumentException(format("'%s' is not a boolean", text));
+    }
+
+    private static char parseChar(final String text) {
+        if (text.length() != 1) {
+            throw new IllegalArgumentException(format("'%s' is not a single character", text));
+        }
+        return text.charAt(0);
+    }
+
+    private static UnsupportedOperationException unsupported(final Class<?> type) {
+        return new UnsupportedOperationException(format("'%s' is not a primitive array type", type.getName()));
+    }
+}
@@ -0,0 +1,562 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling.tape;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.isPrimitiveArray;
+import static com.envimate.mapmate.marshalling.tape.TapeArrayView.tapeArrayView;
+import static com.envimate.mapmate.marshalling.tape.TapeCursor.tapeCursor;
+import static com.envimate.mapmate.marshalling.tape.TapeObjectView.tapeObjectView;
+import static com.envimate.mapmate.marshalling.tape.TapeSegmentPool.defaultTapeSegmentPool;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class Tape implements AutoCloseable {
+    static final byte START_OBJECT = 1;
+    static final byte END_OBJECT = 2;
+    static final byte START_ARRAY = 3;
+    static final byte END_ARRAY = 4;
+    static final byte FIELD_NAME = 5;
+    static final byte STRING = 6;
+    static final byte NUMBER = 7;
+    static final byte TRUE = 8;
+    static final byte FALSE = 9;
+    static final byte NULL = 10;
+
+    private static final int END_OFFSET = 1;
+    private static final int COUNT_OFFSET = 9;
+    private static final int CONTAINER_HEADER_SIZE = 13;
+    private static final int TEXT_HEADER_SIZE = 5;
+    private static final int MAX_BYTES_PER_CHAR = 3;
+    private static final int INITIAL_DEPTH = 16;
+    private static final int MAX_LONG_DIGITS = 20;
+
+    private final TapeSegmentPool pool;
+    private final int segmentSize;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final CharsetEncoder encoder = UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder scratch = new StringBuilder(32);
+    private byte[] encoded = new byte[64];
+    private long[] openContainers = new long[INITIAL_DEPTH];
+    private int[] childCounts = new int[INITIAL_DEPTH];
+    private int depth;
+    private long length;
+    private boolean closed;
+
+    private Tape(final TapeSegmentPool pool) {
+        this.pool = pool;
+        this.segmentSize = pool.segmentSize();
+    }
+
+    public static Tape tape() {
+        return tape(defaultTapeSegmentPool());
+    }
+
+    public static Tape tape(final TapeSegmentPool pool) {
+        validateNotNull(pool, "pool");
+        return new Tape(pool);
+    }
+
+    public void startObject() {
+        this.startContainer(START_OBJECT);
+    }
+
+    public void endObject() {
+        this.endContainer(START_OBJECT, END_OBJECT);
+    }
+
+    public void startArray() {
+        this.startContainer(START_ARRAY);
+    }
+
+    public void endArray() {
+        this.endContainer(START_ARRAY, END_ARRAY);
+    }
+
+    public void fieldName(final String name) {
+        validateNotNull(name, "name");
+        this.fieldName(CharBuffer.wrap(name));
+    }
+
+    public void fieldName(final char[] chars, final int offset, final int length) {
+        this.fieldName(CharBuffer.wrap(chars, offset, length));
+    }
+
+    public void string(final String value) {
+        validateNotNull(value, "value");
+        this.countValue();
+        this.appendText(STRING, CharBuffer.wrap(value));
+    }
+
+    public void string(final char[] chars, final int offset, final int length) {
+        this.countValue();
+        this.appendText(STRING, CharBuffer.wrap(chars, offset, length));
+    }
+
+    public void number(final String text) {
+        validateNotNull(text, "text");
+        this.countValue();
+        this.appendText(NUMBER, CharBuffer.wrap(text));
+    }
+
+    public void number(final char[] chars, final int offset, final int length) {
+        this.countValue();
+        this.appendText(NUMBER, CharBuffer.wrap(chars, offset, length));
+    }
+
+    public void bool(final boolean value) {
+        this.countValue();
+        this.appendByte(value ? TRUE : FALSE);
+    }
+
+    public void nullValue() {
+        this.countValue();
+        this.appendByte(NULL);
+    }
+
+    public void scalar(final Object value) {
+        if (value == null) {
+            this.nullValue();
+        } else if (value instanceof Number) {
+            this.number(value.toString());
+        } else if (value instanceof Boolean) {
+            this.bool((Boolean) value);
+        } else {
+            this.string(value.toString());
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    public void tree(final Object value) {
+        if (value instanceof Map) {
+            this.startObject();
+            ((Map<?, ?>) value).forEach((key, element) -> {
+                this.fieldName(String.valueOf(key));
+                this.tree(element);
+            });
+            this.endObject();
+        } else if (value instanceof Collection) {
+            this.startArray();
+            ((Collection<?>) value).forEach(this::tree);
+            this.endArray();
+        } else if (isPrimitiveArray(value)) {
+            this.primitiveArray(value);
+        } else if (value instanceof Object[]) {
+            this.startArray();
+            for (final Object element : (Object[]) value) {
+                this.tree(element);
+            }
+            this.endArray();
+        } else {
+            this.scalar(value);
+        }
+    }
+
+    public void primitiveArray(final Object array) {
+        validateNotNull(array, "array");
+        if (!isPrimitiveArray(array)) {
+            throw new IllegalArgumentException("Not a primitive array: " + array.getClass().getName());
+        }
+        this.startArray();
+        if (array instanceof double[]) {
+            for (final double element : (double[]) array) {
+                this.number(element);
+            }
+        } else if (array instanceof float[]) {
+            for (final float element : (float[]) array) {
+                this.number(element);
+            }
+        } else if (array instanceof long[]) {
+            for (final long element : (long[]) array) {
+                this.number(element);
+            }
+        } else if (array instanceof int[]) {
+            for (final int element : (int[]) array) {
+                this.number(element);
+            }
+        } else if (array instanceof short[]) {
+            for (final short element : (short[]) array) {
+                this.number(element);
+            }
+        } else if (array instanceof byte[]) {
+            for (final byte element : (byte[]) array) {
+                this.number(element);
+            }
+        } else if (array instanceof boolean[]) {
+            for (final boolean element : (boolean[]) array) {
+                this.bool(element);
+            }
+        } else {
+            final char[] chars = (char[]) array;
+            for (int i = 0; i < chars.length; ++i) {
+                this.string(chars, i, 1);
+            }
+        }
+        this.endArray();
+    }
+
+    public void number(final long value) {
+        this.countValue();
+        final byte[] digits = this.encoded;
+        int start = MAX_LONG_DIGITS;
+        long remaining = value > 0 ? -value : value;
+        do {
+            digits[--start] = (byte) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            digits[--start] = '-';
+        }
+        final int byteLength = MAX_LONG_DIGITS - start;
+        System.arraycopy(digits, start, digits, 0, byteLength);
+        this.appendAscii(NUMBER, byteLength);
+    }
+
+    public void number(final double value) {
+        this.countValue();
+        this.scratch.setLength(0);
+        this.scratch.append(value);
+        this.appendAscii(NUMBER, this.scratch);
+    }
+
+    public void number(final float value) {
+        this.countValue();
+        this.scratch.setLength(0);
+        this.scratch.append(value);
+        this.appendAscii(NUMBER, this.scratch);
+    }
+
+    public TapeCursor cursor() {
+        this.ensureOpen();
+        return tapeCursor(this, 0);
+    }
+
+    public Object root() {
+        this.ensureOpen();
+        if (this.length == 0) {
+            return null;
+        }
+        return this.valueAt(0);
+    }
+
+    public long size() {
+        return this.length;
+    }
+
+    public boolean isComplete() {
+        return this.length > 0 && this.depth == 0;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.segments.forEach(this.pool::release);
+        this.segments.clear();
+    }
+
+    Object valueAt(final long position) {
+        switch (this.tagAt(position)) {
+            case START_OBJECT:
+                return tapeObjectView(this, position);
+            case START_ARRAY:
+                return tapeArrayView(this, position);
+            case STRING:
+                return this.textAt(position);
+            case NUMBER:
+                return parseNumber(this.textAt(position));
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case NULL:
+                return null;
+            default:
+                throw new IllegalStateException("No value starts at tape position " + position);
+        }
+    }
+
+    byte tagAt(final long position) {
+        return this.getByte(position);
+    }
+
+    long endAt(final long containerPosition) {
+        return this.getLong(containerPosition + END_OFFSET);
+    }
+
+    int countAt(final long containerPosition) {
+        return this.getInt(containerPosition + COUNT_OFFSET);
+    }
+
+    long firstChildAt(final long containerPosition) {
+        return containerPosition + CONTAINER_HEADER_SIZE;
+    }
+
+    long afterToken(final long position) {
+        final byte tag = this.tagAt(position);
+        if (tag == START_OBJECT || tag == START_ARRAY) {
+            return position + CONTAINER_HEADER_SIZE;
+        }
+        if (tag == FIELD_NAME || tag == STRING || tag == NUMBER) {
+            return position + TEXT_HEADER_SIZE + this.getInt(position + 1);
+        }
+        return position + 1;
+    }
+
+    long afterValue(final long position) {
+        final byte tag = this.tagAt(position);
+        if (tag == START_OBJECT || tag == START_ARRAY) {
+            return this.endAt(position);
+        }
+        return this.afterToken(position);
+    }
+
+    String textAt(final long position) {
+        final int byteLength = this.getInt(position + 1);
+        final byte[] bytes = new byte[byteLength];
+        this.getBytes(position + TEXT_HEADER_SIZE, bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    static Number parseNumber(final String text) {
+        if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+            return Double.valueOf(text);
+        }
+        try {
+            final long value = Long.parseLong(text);
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        } catch (final NumberFormatException e) {
+            return new BigInteger(text);
+        }
+    }
+
+    private void fieldName(final CharBuffer name) {
+        if (this.depth == 0 || this.tagAt(this.openContainers[this.depth - 1]) != START_OBJECT) {
+            throw new IllegalStateException("Field names can only be written inside of objects");
+        }
+        ++this.childCounts[this.depth - 1];
+        this.appendText(FIELD_NAME, name);
+    }
+
+    private void countValue() {
+        this.ensureOpen();
+        if (this.depth > 0 && this.tagAt(this.openContainers[this.depth - 1]) == START_ARRAY) {
+            ++this.childCounts[this.depth - 1];
+        }
+    }
+
+    private void startContainer(final byte tag) {
+        this.countValue();
+        if (this.depth == this.openContainers.length) {
+            this.openContainers = Arrays.copyOf(this.openContainers, this.depth * 2);
+            this.childCounts = Arrays.copyOf(this.childCounts, this.depth * 2);
+        }
+        this.openContainers[this.depth] = this.length;
+        this.childCounts[this.depth] = 0;
+        ++this.depth;
+        this.appendByte(tag);
+        this.appendLong(0);
+        this.appendInt(0);
+    }
+
+    private void endContainer(final byte startTag, final byte endTag) {
+        this.ensureOpen();
+        if (this.depth == 0 || this.tagAt(this.openContainers[this.depth - 1]) != startTag) {
+            throw new IllegalStateException("Unbalanced end of container on tape");
+        }
+        --this.depth;
+        final long start = this.openContainers[this.depth];
+        this.appendByte(endTag);
+        this.putLong(start + END_OFFSET, this.length);
+        this.putInt(start + COUNT_OFFSET, this.childCounts[this.depth]);
+    }
+
+    private void appendText(final byte tag, final CharBuffer chars) {
+        final int maxBytes = (int) Math.min(Integer.MAX_VALUE, (long) chars.remaining() * MAX_BYTES_PER_CHAR);
+        if (this.encoded.length < maxBytes) {
+            this.encoded = new byte[Math.max(maxBytes, this.encoded.length * 2)];
+        }
+        final ByteBuffer target = ByteBuffer.wrap(this.encoded);
+        this.encoder.reset();
+        this.encoder.encode(chars, target, true);
+        this.encoder.flush(target);
+        final int byteLength = target.position();
+        this.appendByte(tag);
+        this.appendInt(byteLength);
+        this.appendBytes(this.encoded, byteLength);
+    }
+
+    private void appendAscii(final byte tag, final CharSequence chars) {
+        final int byteLength = chars.length();
+        for (int i = 0; i < byteLength; ++i) {
+            this.encoded[i] = (byte) chars.charAt(i);
+        }
+        this.appendAscii(tag, byteLength);
+    }
+
+    private void appendAscii(final byte tag, final int byteLength) {
+        this.appendByte(tag);
+        this.appendInt(byteLength);
+        this.appendBytes(this.encoded, byteLength);
+    }
+
+    private void appendByte(final byte value) {
+        this.ensureCapacity(this.length + 1);
+        this.putByte(this.length, value);
+        ++this.length;
+    }
+
+    private void appendInt(final int value) {
+        this.ensureCapacity(this.length + Integer.BYTES);
+        this.putInt(this.length, value);
+        this.length += Integer.BYTES;
+    }
+
+    private void appendLong(final long value) {
+        this.ensureCapacity(this.length + Long.BYTES);
+        this.putLong(this.length, value);
+        this.length += Long.BYTES;
+    }
+
+    private void appendBytes(final byte[] bytes, final int count) {
+        this.ensureCapacity(this.length + count);
+        int written = 0;
+        while (written < count) {
+            final ByteBuffer segment = this.segments.get(this.segmentIndex(this.length));
+            final int offset = this.segmentOffset(this.length);
+            final int chunk = Math.min(count - written, this.segmentSize - offset);
+            segment.position(offset);
+            segment.put(bytes, written, chunk);
+            written += chunk;
+            this.length += chunk;
+        }
+    }
+
+    private void ensureCapacity(final long requiredLength) {
+        this.ensureOpen();
+        while ((long) this.segments.size() * this.segmentSize < requiredLength) {
+            this.segments.add(this.pool.acquire());
+        }
+    }
+
+    private void putByte(final long position, final byte value) {
+        this.segments.get(this.segmentIndex(position)).put(this.segmentOffset(position), value);
+    }
+
+    private void putInt(final long position, final int value) {
+        final int offset = this.segmentOffset(position);
+        if (offset + Integer.BYTES <= this.segmentSize) {
+            this.segments.get(this.segmentIndex(position)).putInt(offset, value);
+            return;
+        }
+        for (int i = 0; i < Integer.BYTES; ++i) {
+            this.putByte(position + i, (byte) (value >> (Byte.SIZE * (Integer.BYTES - 1 - i))));
+        }
+    }
+
+    private void putLong(final long position, final long value) {
+        final int offset = this.segmentOffset(position);
+        if (offset + Long.BYTES <= this.segmentSize) {
+            this.segments.get(this.segmentIndex(position)).putLong(offset, value);
+            return;
+        }
+        for (int i = 0; i < Long.BYTES; ++i) {
+            this.putByte(position + i, (byte) (value >>> (Byte.SIZE * (Long.BYTES - 1 - i))));
+        }
+    }
+
+    private byte getByte(final long position) {
+        this.ensureOpen();
+        return this.segments.get(this.segmentIndex(position)).get(this.segmentOffset(position));
+    }
+
+    private int getInt(final long position) {
+        final int offset = this.segmentOffset(position);
+        if (offset + Integer.BYTES <= this.segmentSize) {
+            this.ensureOpen();
+            return this.segments.get(this.segmentIndex(position)).getInt(offset);
+        }
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; ++i) {
+            value = (value << Byte.SIZE) | (this.getByte(position + i) & 0xFF);
+        }
+        return value;
+    }
+
+    private long getLong(final long position) {
+        final int offset = this.segmentOffset(position);
+        if (offset + Long.BYTES <= this.segmentSize) {
+            this.ensureOpen();
+            return this.segments.get(this.segmentIndex(position)).getLong(offset);
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; ++i) {
+            value = (value << Byte.SIZE) | (this.getByte(position + i) & 0xFF);
+        }
+        return value;
+    }
+
+    private void getBytes(final long position, final byte[] target) {
+        this.ensureOpen();
+        int read = 0;
+        while (read < target.length) {
+            final ByteBuffer segment = this.segments.get(this.segmentIndex(position + read));
+            final int offset = this.segmentOffset(position + read);
+            final int chunk = Math.min(target.length - read, this.segmentSize - offset);
+            for (int i = 0; i < chunk; ++i) {
+                target[read + i] = segment.get(offset + i);
+            }
+            read += chunk;
+        }
+    }
+
+    private int segmentIndex(final long position) {
+        return (int) (position / this.segmentSize);
+    }
+
+    private int segmentOffset(final long position) {
+        return (int) (position % this.segmentSize);
+    }
+
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("The tape has already been closed");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling.tape;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+final class TapeArrayView extends AbstractList<Object> implements RandomAccess {
+    private final Tape tape;
+    private final long position;
+    private volatile long[] elementPositions;
+
+    private TapeArrayView(final Tape tape, final long position) {
+        this.tape = tape;
+        this.position = position;
+    }
+
+    static TapeArrayView tapeArrayView(final Tape tape, final long position) {
+        return new TapeArrayView(tape, position);
+    }
+
+    @Override
+    public int size() {
+        return this.tape.countAt(this.position);
+    }
+
+    @Override
+    public Object get(final int index) {
+        final long[] positions = this.elementPositions();
+        if (index < 0 || index >= positions.length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + positions.length);
+        }
+        return this.tape.valueAt(positions[index]);
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return new Iterator<>() {
+            private final long end = TapeArrayView.this.tape.endAt(TapeArrayView.this.position) - 1;
+            private long current = TapeArrayView.this.tape.firstChildAt(TapeArrayView.this.position);
+
+            @Override
+            public boolean hasNext() {
+                return this.current < this.end;
+            }
+
+            @Override
+            public Object next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Object value = TapeArrayView.this.tape.valueAt(this.current);
+                this.current = TapeArrayView.this.tape.afterValue(this.current);
+                return value;
+            }
+        };
+    }
+
+    private long[] elementPositions() {
+        long[] positions = this.elementPositions;
+        if (positions == null) {
+            positions = new long[this.size()];
+            long current = this.tape.firstChildAt(this.position);
+            for (int i = 0; i < positions.length; ++i) {
+                positions[i] = current;
+                current = this.tape.afterValue(current);
+            }
+            this.elementPositions = positions;
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling.tape;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import static com.envimate.mapmate.marshalling.tape.Tape.*;
+
+@ToString(onlyExplicitlyIncluded = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TapeCursor {
+    private static final TapeToken[] TOKENS = {
+            null,
+            TapeToken.START_OBJECT,
+            TapeToken.END_OBJECT,
+            TapeToken.START_ARRAY,
+            TapeToken.END_ARRAY,
+            TapeToken.FIELD_NAME,
+            TapeToken.STRING,
+            TapeToken.NUMBER,
+            TapeToken.TRUE,
+            TapeToken.FALSE,
+            TapeToken.NULL
+    };
+
+    private final Tape tape;
+    @ToString.Include
+    private long position;
+    private long tokenPosition = -1;
+    @ToString.Include
+    private TapeToken token;
+
+    static TapeCursor tapeCursor(final Tape tape, final long position) {
+        final TapeCursor cursor = new TapeCursor(tape);
+        cursor.position = position;
+        return cursor;
+    }
+
+    public TapeToken next() {
+        if (this.position >= this.tape.size()) {
+            this.token = null;
+            return null;
+        }
+        this.tokenPosition = this.position;
+        this.token = TOKENS[this.tape.tagAt(this.position)];
+        this.position = this.tape.afterToken(this.position);
+        return this.token;
+    }
+
+    public TapeToken currentToken() {
+        return this.token;
+    }
+
+    public String text() {
+        if (this.token == null) {
+            throw new IllegalStateException("The cursor is not positioned on a token");
+        }
+        switch (this.token) {
+            case FIELD_NAME:
+            case STRING:
+            case NUMBER:
+                return this.tape.textAt(this.tokenPosition);
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            case NULL:
+                return null;
+            default:
+                throw new IllegalStateException("The token " + this.token + " has no text");
+        }
+    }
+
+    public boolean booleanValue() {
+        if (this.token != TapeToken.TRUE && this.token != TapeToken.FALSE) {
+            throw new IllegalStateException("The token " + this.token + " is not a boolean");
+        }
+        return this.token == TapeToken.TRUE;
+    }
+
+    public int childCount() {
+        this.ensureContainer();
+        return this.tape.countAt(this.tokenPosition);
+    }
+
+    public Object value() {
+        if (this.token == null || this.token == TapeToken.END_OBJECT
+                || this.token == TapeToken.END_ARRAY || this.token == TapeToken.FIELD_NAME) {
+            throw new IllegalStateException("The token " + this.token + " is not the start of a value");
+        }
+        return this.tape.valueAt(this.tokenPosition);
+    }
+
+    public void skipChildren() {
+        if (this.token != TapeToken.START_OBJECT && this.token != TapeToken.START_ARRAY) {
+            return;
+        }
+        this.position = this.tape.endAt(this.tokenPosition);
+        this.tokenPosition = this.position - 1;
+        this.token = this.token == TapeToken.START_OBJECT ? TapeToken.END_OBJECT : TapeToken.END_ARRAY;
+    }
+
+    private void ensureContainer() {
+        if (this.token != TapeToken.START_OBJECT && this.token != TapeToken.START_ARRAY) {
+            throw new IllegalStateException("The token " + this.token + " is not the start of a container");
+        }
+    }
+}
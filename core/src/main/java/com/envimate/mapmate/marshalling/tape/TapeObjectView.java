@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling.tape;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+final class TapeObjectView extends AbstractMap<String, Object> {
+    private final Tape tape;
+    private final long position;
+    private volatile Map<String, Long> valuePositions;
+
+    private TapeObjectView(final Tape tape, final long position) {
+        this.tape = tape;
+        this.position = position;
+    }
+
+    static TapeObjectView tapeObjectView(final Tape tape, final long position) {
+        return new TapeObjectView(tape, position);
+    }
+
+    @Override
+    public int size() {
+        return this.valuePositions().size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof String && this.valuePositionOf((String) key) >= 0;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final long valuePosition = this.valuePositionOf((String) key);
+        if (valuePosition < 0) {
+            return null;
+        }
+        return this.tape.valueAt(valuePosition);
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super Object> action) {
+        this.valuePositions().forEach((name, valuePosition) -> action.accept(name, this.tape.valueAt(valuePosition)));
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new FieldIterator(TapeObjectView.this.valuePositions().entrySet().iterator());
+            }
+
+            @Override
+            public int size() {
+                return TapeObjectView.this.size();
+            }
+        };
+    }
+
+    private long valuePositionOf(final String key) {
+        final Long valuePosition = this.valuePositions().get(key);
+        return valuePosition == null ? -1 : valuePosition;
+    }
+
+    // duplicate keys keep the position of their first occurrence and the value of their last one,
+    // just like an ObjectNode built by Jackson
+    private Map<String, Long> valuePositions() {
+        Map<String, Long> positions = this.valuePositions;
+        if (positions == null) {
+            positions = new LinkedHashMap<>(this.tape.countAt(this.position) * 4 / 3 + 1);
+            final long end = this.tape.endAt(this.position) - 1;
+            long current = this.tape.firstChildAt(this.position);
+            while (current < end) {
+                final long valuePosition = this.tape.afterToken(current);
+                positions.put(this.tape.textAt(current), valuePosition);
+                current = this.tape.afterValue(valuePosition);
+            }
+            this.valuePositions = positions;
+        }
+        return positions;
+    }
+
+    private final class FieldIterator implements Iterator<Entry<String, Object>> {
+        private final Iterator<Entry<String, Long>> positions;
+
+        private FieldIterator(final Iterator<Entry<String, Long>> positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.positions.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            final Entry<String, Long> position = this.positions.next();
+            return new SimpleImmutableEntry<>(position.getKey(),
+                    TapeObjectView.this.tape.valueAt(position.getValue()));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.marshalling.tape;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+@ToString(onlyExplicitlyIncluded = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TapeSegmentPool {
+    private static final int DEFAULT_SEGMENT_SIZE = 16 * 1024;
+    private static final int DEFAULT_MAX_POOLED_SEGMENTS = 8;
+    private static final int MIN_SEGMENT_SIZE = 16;
+    private static final TapeSegmentPool DEFAULT = tapeSegmentPool(DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_POOLED_SEGMENTS);
+
+    @ToString.Include
+    private final int segmentSize;
+    @ToString.Include
+    private final int maxPooledSegments;
+    private final Queue<ByteBuffer> pooledSegments = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledCount = new AtomicInteger();
+
+    public static TapeSegmentPool tapeSegmentPool(final int segmentSize, final int maxPooledSegments) {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException(format(
+                    "segmentSize must be at least %d but was %d", MIN_SEGMENT_SIZE, segmentSize));
+        }
+        if (maxPooledSegments < 0) {
+            throw new IllegalArgumentException(format(
+                    "maxPooledSegments must not be negative but was %d", maxPooledSegments));
+        }
+        return new TapeSegmentPool(segmentSize, maxPooledSegments);
+    }
+
+    public static TapeSegmentPool defaultTapeSegmentPool() {
+        return DEFAULT;
+    }
+
+    public int segmentSize() {
+        return this.segmentSize;
+    }
+
+    public int pooledSegments() {
+        return this.pooledCount.get();
+    }
+
+    ByteBuffer acquire() {
+        final ByteBuffer pooled = this.pooledSegments.poll();
+        if (pooled == null) {
+            return ByteBuffer.allocateDirect(this.segmentSize);
+        }
+        this.pooledCount.decrementAndGet();
+        pooled.clear();
+        return pooled;
+    }
+
+    void release(final ByteBuffer segment) {
+        if (this.pooledCount.incrementAndGet() > this.maxPooledSegments) {
+            this.pooledCount.decrementAndGet();
+            return;
+        }
+        this.pooledSegments.offer(segment);
+    }
+}
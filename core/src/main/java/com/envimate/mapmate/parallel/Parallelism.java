@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.parallel;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Parallelism {
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+    private static final Parallelism SEQUENTIAL = new Parallelism(Integer.MAX_VALUE, Runnable::run);
+    private static final ThreadLocal<Boolean> INSIDE_CHUNK = ThreadLocal.withInitial(() -> false);
+
+    private final int threshold;
+    private final Executor executor;
+
+    public static Parallelism sequential() {
+        return SEQUENTIAL;
+    }
+
+    public static Parallelism parallelAbove(final int threshold) {
+        return parallelAbove(threshold, ForkJoinPool.commonPool());
+    }
+
+    public static Parallelism parallelAbove(final int threshold, final Executor executor) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive but was " + threshold);
+        }
+        validateNotNull(executor, "executor");
+        return new Parallelism(threshold, executor);
+    }
+
+    public boolean appliesTo(final int size) {
+        return size >= this.threshold;
+    }
+
+    public Executor executor() {
+        return this.executor;
+    }
+
+    /**
+     * Splits {@code [0, size)} into chunks and runs them on the executor. The calling thread runs every chunk that
+     * no worker has picked up yet itself and only waits for chunks that are already running, so calling this from a
+     * thread of the same executor, or from a saturated executor, cannot deadlock.
+     */
+    public void forEachIndex(final int size, final IntConsumer action) {
+        if (!this.appliesTo(size) || INSIDE_CHUNK.get()) {
+            for (int i = 0; i < size; ++i) {
+                action.accept(i);
+            }
+            return;
+        }
+        final int chunks = Math.min(size, CHUNKS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+        final int chunkSize = (size + chunks - 1) / chunks;
+        final Chunk[] pending = new Chunk[(size + chunkSize - 1) / chunkSize];
+        for (int chunk = 0; chunk < pending.length; ++chunk) {
+            final int from = chunk * chunkSize;
+            pending[chunk] = new Chunk(from, Math.min(size, from + chunkSize), action);
+        }
+        try {
+            for (final Chunk chunk : pending) {
+                this.executor.execute(chunk);
+            }
+        } catch (final RejectedExecutionException e) {
+            // the calling thread runs whatever the executor did not accept
+        }
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[pending.length];
+        for (int chunk = 0; chunk < pending.length; ++chunk) {
+            pending[chunk].run();
+            futures[chunk] = pending[chunk].done;
+        }
+        awaitInOrder(futures);
+    }
+
+    private static void awaitInOrder(final CompletableFuture<?>[] futures) {
+        Throwable firstFailure = null;
+        for (final CompletableFuture<?> future : futures) {
+            try {
+                future.join();
+            } catch (final CompletionException e) {
+                if (firstFailure == null) {
+                    firstFailure = e.getCause();
+                }
+            }
+        }
+        if (firstFailure instanceof RuntimeException) {
+            throw (RuntimeException) firstFailure;
+        }
+        if (firstFailure instanceof Error) {
+            throw (Error) firstFailure;
+        }
+        if (firstFailure != null) {
+            throw new CompletionException(firstFailure);
+        }
+    }
+
+    private static final class Chunk implements Runnable {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        private Chunk(final int from, final int to, final IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            if (!this.claimed.compareAndSet(false, true)) {
+                return;
+            }
+            final boolean outer = INSIDE_CHUNK.get();
+            INSIDE_CHUNK.set(true);
+            try {
+                for (int i = this.from; i < this.to; ++i) {
+                    this.action.accept(i);
+                }
+                this.done.complete(null);
+            } catch (final RuntimeException | Error e) {
+                this.done.completeExceptionally(e);
+            } finally {
+                INSIDE_CHUNK.set(outer);
+            }
+        }
+    }
+}
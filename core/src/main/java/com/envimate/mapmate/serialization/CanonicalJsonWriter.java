@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.elementAsString;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.isPrimitiveArray;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.length;
+
+/**
+ * Writes normalized objects as canonical JSON: object keys are sorted by their UTF-16 code units, entries with
+ * {@code null} values are left out, numbers are written in their shortest plain decimal form and strings only
+ * escape what JSON requires. The same normalized content therefore always yields the same bytes.
+ */
+final class CanonicalJsonWriter {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_BYTES_PER_CHAR = 6;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final Comparator<Map.Entry<?, ?>> BY_KEY = Comparator.comparing(entry -> keyOf(entry.getKey()));
+
+    private final OutputStream outputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private long length;
+
+    private CanonicalJsonWriter(final OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    static long writeCanonicalJson(final Object normalized, final OutputStream outputStream) throws IOException {
+        final CanonicalJsonWriter writer = new CanonicalJsonWriter(outputStream);
+        writer.write(normalized);
+        writer.flush();
+        return writer.length;
+    }
+
+    private void write(final Object root) throws IOException {
+        final Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root == null ? Token.NULL : root);
+        while (!pending.isEmpty()) {
+            final Object value = pending.pop();
+            if (value instanceof Token) {
+                this.writeAscii(((Token) value).text);
+            } else if (value instanceof FieldName) {
+                final FieldName fieldName = (FieldName) value;
+                if (fieldName.separated) {
+                    this.writeByte(',');
+                }
+                this.writeString(fieldName.name);
+                this.writeByte(':');
+            } else if (value instanceof Map<?, ?>) {
+                this.writeObject((Map<?, ?>) value, pending);
+            } else if (value instanceof Collection<?>) {
+                this.writeArray(((Collection<?>) value).toArray(), pending);
+            } else if (isPrimitiveArray(value)) {
+                this.writePrimitiveArray(value);
+            } else if (value instanceof Object[]) {
+                this.writeArray((Object[]) value, pending);
+            } else {
+                this.writeScalar(value);
+            }
+        }
+    }
+
+    private void writeObject(final Map<?, ?> map, final Deque<Object> pending) throws IOException {
+        final List<Map.Entry<?, ?>> entries = new ArrayList<>(map.size());
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            if (entry.getValue() != null) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(BY_KEY);
+        this.writeByte('{');
+        pending.push(Token.END_OBJECT);
+        for (int i = entries.size() - 1; i >= 0; --i) {
+            final Map.Entry<?, ?> entry = entries.get(i);
+            pending.push(entry.getValue());
+            pending.push(new FieldName(keyOf(entry.getKey()), i > 0));
+        }
+    }
+
+    private void writeArray(final Object[] elements, final Deque<Object> pending) throws IOException {
+        this.writeByte('[');
+        pending.push(Token.END_ARRAY);
+        for (int i = elements.length - 1; i >= 0; --i) {
+            pending.push(elements[i] == null ? Token.NULL : elements[i]);
+            if (i > 0) {
+                pending.push(Token.COMMA);
+            }
+        }
+    }
+
+    private void writePrimitiveArray(final Object array) throws IOException {
+        final Class<?> componentType = array.getClass().getComponentType();
+        final int size = length(array);
+        this.writeByte('[');
+        for (int i = 0; i < size; ++i) {
+            if (i > 0) {
+                this.writeByte(',');
+            }
+            final String element = elementAsString(array, i);
+            if (componentType == char.class) {
+                this.writeString(element);
+            } else if (componentType == boolean.class) {
+                this.writeAscii(element);
+            } else {
+                this.writeNumber(element);
+            }
+        }
+        this.writeByte(']');
+    }
+
+    private void writeScalar(final Object value) throws IOException {
+        if (value instanceof Boolean) {
+            this.writeAscii(value.toString());
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            this.writeAscii(value.toString());
+        } else if (value instanceof Number) {
+            this.writeNumber(value.toString());
+        } else {
+            this.writeString(String.valueOf(value));
+        }
+    }
+
+    private void writeNumber(final String text) throws IOException {
+        final BigDecimal decimal;
+        try {
+            decimal = new BigDecimal(text);
+        } catch (final NumberFormatException e) {
+            this.writeString(text);
+            return;
+        }
+        this.writeAscii(decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString());
+    }
+
+    private void writeString(final String value) throws IOException {
+        this.writeByte('"');
+        final int size = value.length();
+        for (int i = 0; i < size; ++i) {
+            if (this.position > BUFFER_SIZE - MAX_BYTES_PER_CHAR) {
+                this.flush();
+            }
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                this.buffer[this.position++] = '\\';
+                this.buffer[this.position++] = (byte) c;
+            } else if (c < 0x20) {
+                this.writeControlCharacter(c);
+            } else if (c < 0x80) {
+                this.buffer[this.position++] = (byte) c;
+            } else if (c < 0x800) {
+                this.buffer[this.position++] = (byte) (0xC0 | (c >> 6));
+                this.buffer[this.position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                this.buffer[this.position++] = (byte) (0xF0 | (codePoint >> 18));
+                this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                this.buffer[this.position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                this.writeControlCharacter(c);
+            } else {
+                this.buffer[this.position++] = (byte) (0xE0 | (c >> 12));
+                this.buffer[this.position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                this.buffer[this.position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        this.writeByte('"');
+    }
+
+    private void writeControlCharacter(final char c) {
+        this.buffer[this.position++] = '\\';
+        switch (c) {
+            case '\b':
+                this.buffer[this.position++] = 'b';
+                break;
+            case '\f':
+                this.buffer[this.position++] = 'f';
+                break;
+            case '\n':
+                this.buffer[this.position++] = 'n';
+                break;
+            case '\r':
+                this.buffer[this.position++] = 'r';
+                break;
+            case '\t':
+                this.buffer[this.position++] = 't';
+                break;
+            default:
+                this.buffer[this.position++] = 'u';
+                this.buffer[this.position++] = (byte) HEX[(c >> 12) & 0xF];
+                this.buffer[this.position++] = (byte) HEX[(c >> 8) & 0xF];
+                this.buffer[this.position++] = (byte) HEX[(c >> 4) & 0xF];
+                this.buffer[this.position++] = (byte) HEX[c & 0xF];
+        }
+    }
+
+    private void writeAscii(final String text) throws IOException {
+        final int size = text.length();
+        for (int i = 0; i < size; ++i) {
+            this.writeByte(text.charAt(i));
+        }
+    }
+
+    private void writeByte(final int b) throws IOException {
+        if (this.position == BUFFER_SIZE) {
+            this.flush();
+        }
+        this.buffer[this.position++] = (byte) b;
+    }
+
+    private void flush() throws IOException {
+        this.outputStream.write(this.buffer, 0, this.position);
+        this.length += this.position;
+        this.position = 0;
+    }
+
+    private static String keyOf(final Object key) {
+        return String.valueOf(key);
+    }
+
+    private enum Token {
+        END_OBJECT("}"),
+        END_ARRAY("]"),
+        COMMA(","),
+        NULL("null");
+
+        private final String text;
+
+        Token(final String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class FieldName {
+        private final String name;
+        private final boolean separated;
+
+        private FieldName(final String name, final boolean separated) {
+            this.name = name;
+            this.separated = separated;
+        }
+    }
+}
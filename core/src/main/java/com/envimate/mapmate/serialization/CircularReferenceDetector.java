@@ -24,16 +24,22 @@ package com.envimate.mapmate.serialization;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * CircularReferenceDetector provides ways to scan and detect circular references in a given object.
  */
-@SuppressWarnings({"rawtypes", "unchecked"})
 public final class CircularReferenceDetector {
 
     private static final int WRAPPER_COUNT = 10;
     private static final Set<Class<?>> WRAPPER_TYPES = getWrapperTypes();
+    private static final ClassValue<Field[]> INSTANCE_FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(final Class<?> type) {
+            return Arrays.stream(type.getFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                    .toArray(Field[]::new);
+        }
+    };
 
     private static boolean isWrapperType(final Class<?> clazz) {
         return WRAPPER_TYPES.contains(clazz);
@@ -55,40 +61,48 @@ public final class CircularReferenceDetector {
     }
 
     /**
-     * Detect scans a given object for circular references in its publicly accessible fields recursively.
+     * Detect scans a given object for circular references in its publicly accessible fields.
+     * The scan walks the object graph depth-first on an explicit stack, so its depth is not limited by the
+     * thread's stack size, and it visits every object only once.
      *
      * @param subject to be scanned
      * @throws CircularReferenceException if a circular reference is found.
      */
     void detect(final Object subject) {
-        if (Objects.isNull(subject)) {
+        if (Objects.isNull(subject) || isWrapperType(subject.getClass())) {
             return;
         }
-        this.detect(subject, new ArrayList<>());
+        final Set<Object> onPath = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<Object> finished = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Visit> visits = new ArrayDeque<>();
+        onPath.add(subject);
+        visits.push(new Visit(subject));
+        while (!visits.isEmpty()) {
+            final Visit visit = visits.peek();
+            final Object value = this.nextReference(visit);
+            if (value == null) {
+                visits.pop();
+                onPath.remove(visit.subject);
+                finished.add(visit.subject);
+            } else if (onPath.contains(value)) {
+                final String message = String.format("a circular reference has been detected for objects of type %s",
+                        value.getClass().getName());
+                throw new CircularReferenceException(message);
+            } else if (!finished.contains(value)) {
+                onPath.add(value);
+                visits.push(new Visit(value));
+            }
+        }
     }
 
-    private void detect(final Object subject, final ArrayList<Object> references) {
-        final Class<?> type = subject.getClass();
-        final List<Field> fields = Arrays.stream(type.getFields())
-                .filter(field -> !Modifier.isStatic(field.getModifiers()))
-                .collect(Collectors.toList());
-        for (final Field field : fields) {
-
-            final Object value = this.readFieldValue(subject, field);
-            if (value != null) {
-                if (!isWrapperType(value.getClass())) {
-                    if (references.contains(value)) {
-                        final String message = String.format("a circular reference has been detected for objects of type %s",
-                                value.getClass().getName());
-                        throw new CircularReferenceException(message);
-                    } else {
-                        final ArrayList forkedReferences = (ArrayList) references.clone();
-                        forkedReferences.add(value);
-                        this.detect(value, forkedReferences);
-                    }
-                }
+    private Object nextReference(final Visit visit) {
+        while (visit.nextField < visit.fields.length) {
+            final Object value = this.readFieldValue(visit.subject, visit.fields[visit.nextField++]);
+            if (value != null && !isWrapperType(value.getClass())) {
+                return value;
             }
         }
+        return null;
     }
 
     private Object readFieldValue(final Object subject, final Field field) {
@@ -99,4 +113,15 @@ public final class CircularReferenceDetector {
             throw new UnsupportedOperationException("could not read field value", e);
         }
     }
+
+    private static final class Visit {
+        private final Object subject;
+        private final Field[] fields;
+        private int nextField;
+
+        private Visit(final Object subject) {
+            this.subject = subject;
+            this.fields = INSTANCE_FIELDS.get(subject.getClass());
+        }
+    }
 }
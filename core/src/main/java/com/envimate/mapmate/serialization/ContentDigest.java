@@ -19,53 +19,49 @@
  * under the License.
  */
 
-package com.envimate.mapmate.builder.recipes.marshallers.urlencoded;
+package com.envimate.mapmate.serialization;
 
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
-import static java.lang.Integer.parseInt;
-import static java.lang.String.format;
-import static java.net.URLDecoder.decode;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-final class KeyElement {
-    private static final Pattern ARRAY_INDEX_PATTERN = Pattern.compile("[0-9]+");
-
-    private final String value;
+public final class ContentDigest {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
 
-    static KeyElement keyElement(final String value) {
-        validateNotNull(value, "value");
-        return new KeyElement(value);
-    }
+    private final String algorithm;
+    private final byte[] digest;
+    private final long length;
 
-    boolean isArrayIndex() {
-        final Matcher matcher = ARRAY_INDEX_PATTERN.matcher(this.value);
-        return matcher.matches();
+    public static ContentDigest contentDigest(final String algorithm, final byte[] digest, final long length) {
+        validateNotNull(algorithm, "algorithm");
+        validateNotNull(digest, "digest");
+        return new ContentDigest(algorithm, digest.clone(), length);
     }
 
-    int asArrayIndex() {
-        return parseInt(this.value);
+    public String algorithm() {
+        return this.algorithm;
     }
 
-    String value() {
-        return this.value;
+    public byte[] digest() {
+        return this.digest.clone();
     }
 
-    String renderAsFirstElement() {
-        return decode(this.value, UTF_8);
+    public long length() {
+        return this.length;
     }
 
-    String renderAsIndexElement() {
-        return format("[%s]", renderAsFirstElement());
+    public String hex() {
+        final char[] hex = new char[this.digest.length * 2];
+        for (int i = 0; i < this.digest.length; ++i) {
+            hex[2 * i] = HEX[(this.digest[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX[this.digest[i] & 0xF];
+        }
+        return new String(hex);
     }
 }
@@ -21,6 +21,28 @@
 
 package com.envimate.mapmate.serialization;
 
+import com.envimate.mapmate.marshalling.tape.Tape;
+
+import java.io.OutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 public interface Marshaller {
     String marshal(Object o) throws Exception;
+
+    default void marshal(final Object o, final Appendable appendable) throws Exception {
+        appendable.append(marshal(o));
+    }
+
+    default byte[] marshalToBytes(final Object o) throws Exception {
+        return marshal(o).getBytes(UTF_8);
+    }
+
+    default void marshal(final Object o, final OutputStream outputStream) throws Exception {
+        outputStream.write(marshalToBytes(o));
+    }
+
+    default void marshalTape(final Tape tape, final OutputStream outputStream) throws Exception {
+        marshal(tape.root(), outputStream);
+    }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.serialization;
+
+import com.envimate.mapmate.marshalling.MarshallingType;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static java.util.Collections.emptySet;
+
+/**
+ * Caches the marshalled output of instances of immutable types, keyed weakly by object identity and marshalling type.
+ * The cache is split into up to sixteen independently locked segments. Each segment holds an equal share of the
+ * maximum size and evicts its least recently used entry when it overflows.
+ */
+public final class OutputCache {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Set<Class<?>> cacheableTypes;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private OutputCache(final Set<Class<?>> cacheableTypes, final int maximumSize) {
+        this.cacheableTypes = cacheableTypes;
+        final int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maximumSize)));
+        this.segments = new Segment[segmentCount];
+        final int segmentSize = Math.max(1, (maximumSize + segmentCount - 1) / segmentCount);
+        for (int i = 0; i < segmentCount; ++i) {
+            this.segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    public static OutputCache noOutputCache() {
+        return new OutputCache(emptySet(), 0);
+    }
+
+    public static OutputCache outputCacheFor(final int maximumSize, final Class<?>... cacheableTypes) {
+        validateNotNull(cacheableTypes, "cacheableTypes");
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive but was " + maximumSize);
+        }
+        return new OutputCache(Set.of(cacheableTypes), maximumSize);
+    }
+
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    public long evictions() {
+        return this.evictions.sum();
+    }
+
+    public long size() {
+        long size = 0;
+        for (final Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (final Segment segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    boolean isCacheable(final Object object) {
+        return object != null && this.cacheableTypes.contains(object.getClass());
+    }
+
+    String string(final Object object, final MarshallingType marshallingType, final Supplier<String> marshal) {
+        final Key key = new Key(object, marshallingType, null);
+        final Segment segment = this.segmentFor(key);
+        final Output cached = segment.get(key);
+        if (cached != null && cached.string != null) {
+            this.hits.increment();
+            return cached.string;
+        }
+        this.misses.increment();
+        final String string = marshal.get();
+        segment.outputFor(object, marshallingType).string = string;
+        return string;
+    }
+
+    byte[] bytes(final Object object, final MarshallingType marshallingType, final Supplier<byte[]> marshal) {
+        final Key key = new Key(object, marshallingType, null);
+        final Segment segment = this.segmentFor(key);
+        final Output cached = segment.get(key);
+        if (cached != null && cached.bytes != null) {
+            this.hits.increment();
+            return cached.bytes;
+        }
+        this.misses.increment();
+        final byte[] bytes = marshal.get();
+        segment.outputFor(object, marshallingType).bytes = bytes;
+        return bytes;
+    }
+
+    private Segment segmentFor(final Key key) {
+        final int hash = key.hash ^ (key.hash >>> Short.SIZE);
+        return this.segments[hash & (this.segments.length - 1)];
+    }
+
+    private final class Segment {
+        private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+        private final Map<Key, Output> entries;
+
+        private Segment(final int maximumSize) {
+            this.entries = new LeastRecentlyUsed(maximumSize, OutputCache.this.evictions);
+        }
+
+        private synchronized Output get(final Key key) {
+            this.expungeCollected();
+            return this.entries.get(key);
+        }
+
+        private synchronized Output outputFor(final Object object, final MarshallingType marshallingType) {
+            this.expungeCollected();
+            return this.entries.computeIfAbsent(
+                    new Key(object, marshallingType, this.collected), key -> new Output());
+        }
+
+        private synchronized int size() {
+            this.expungeCollected();
+            return this.entries.size();
+        }
+
+        private synchronized void clear() {
+            this.entries.clear();
+        }
+
+        private void expungeCollected() {
+            for (Reference<?> key = this.collected.poll(); key != null; key = this.collected.poll()) {
+                this.entries.remove(key);
+            }
+        }
+    }
+
+    private static final class LeastRecentlyUsed extends LinkedHashMap<Key, Output> {
+        private static final long serialVersionUID = 1L;
+        private static final int INITIAL_CAPACITY = 16;
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private final int maximumSize;
+        private final LongAdder evictions;
+
+        private LeastRecentlyUsed(final int maximumSize, final LongAdder evictions) {
+            super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+            this.maximumSize = maximumSize;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Output> eldest) {
+            if (this.size() <= this.maximumSize) {
+                return false;
+            }
+            this.evictions.increment();
+            return true;
+        }
+    }
+
+    private static final class Key extends WeakReference<Object> {
+        private final MarshallingType marshallingType;
+        private final int hash;
+
+        private Key(final Object object,
+                    final MarshallingType marshallingType,
+                    final ReferenceQueue<Object> queue) {
+            super(object, queue);
+            this.marshallingType = marshallingType;
+            this.hash = 31 * System.identityHashCode(object) + marshallingType.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) other;
+            final Object object = this.get();
+            return object != null && object == key.get() && this.marshallingType.equals(key.marshallingType);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    private static final class Output {
+        private volatile String string;
+        private volatile byte[] bytes;
+    }
+}
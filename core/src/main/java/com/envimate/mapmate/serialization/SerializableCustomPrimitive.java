@@ -44,7 +44,7 @@ public final class SerializableCustomPrimitive implements Definition {
     }
 
     public Object serialize(final Object object) {
-        return this.serializationCPMethod.serialize(object);
+        return this.serializationCPMethod.serializeScalar(object);
     }
 
     @Override
@@ -24,8 +24,17 @@ package com.envimate.mapmate.serialization;
 import com.envimate.mapmate.Definition;
 import com.envimate.mapmate.serialization.methods.SerializationDTOMethod;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
+import static com.envimate.mapmate.serialization.FieldMask.fieldIndexMask;
+import static com.envimate.mapmate.serialization.FieldMask.fieldNameMask;
+import static com.envimate.mapmate.serialization.SerializationException.unknownViewFields;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
 public final class SerializableDataTransferObject implements Definition {
 
     private final Class<?> type;
@@ -45,6 +54,37 @@ public final class SerializableDataTransferObject implements Definition {
         return this.serializationDTOMethod.serialize(object, serializerCallback);
     }
 
+    Object serialize(final Object object,
+                     final Function<Object, Object> serializerCallback,
+                     final FieldMask fieldMask) {
+        if (fieldMask == null) {
+            return this.serializationDTOMethod.serialize(object, serializerCallback);
+        }
+        if (fieldMask.isIndexed()) {
+            return this.serializationDTOMethod.serialize(object, serializerCallback, fieldMask.indices());
+        }
+        return this.serializationDTOMethod.serialize(object, serializerCallback, fieldMask.names());
+    }
+
+    FieldMask fieldMask(final String view, final Set<String> includedFields) {
+        final Optional<List<String>> fieldNames = this.serializationDTOMethod.fieldNames(this.type);
+        if (fieldNames.isEmpty()) {
+            return fieldNameMask(includedFields);
+        }
+        final List<String> knownFields = fieldNames.get();
+        final List<String> unknownFields = includedFields.stream()
+                .filter(field -> !knownFields.contains(field))
+                .sorted()
+                .collect(toList());
+        if (!unknownFields.isEmpty()) {
+            throw unknownViewFields(view, this.type, unknownFields, knownFields);
+        }
+        final int[] indices = range(0, knownFields.size())
+                .filter(index -> includedFields.contains(knownFields.get(index)))
+                .toArray();
+        return fieldIndexMask(includedFields, indices);
+    }
+
     @Override
     public boolean isCustomPrimitive() {
         return false;
@@ -21,12 +21,40 @@
 
 package com.envimate.mapmate.serialization;
 
+import java.util.Collection;
+
+import static java.lang.String.format;
+
 public final class SerializationException extends RuntimeException {
     private SerializationException(final Exception e) {
         super(e);
     }
 
+    private SerializationException(final String message) {
+        super(message);
+    }
+
     public static SerializationException fromException(final Exception e) {
         return new SerializationException(e);
     }
+
+    public static SerializationException unplacedFieldValues(final Class<?> type, final int unplaced) {
+        return new SerializationException(format(
+                "The serialization method of '%s' hid %d of its field values inside objects that are neither maps, " +
+                        "collections nor arrays, so they could not be normalized", type.getName(), unplaced));
+    }
+
+    public static SerializationException unknownViewFields(final String view,
+                                                           final Class<?> type,
+                                                           final Collection<String> unknownFields,
+                                                           final Collection<String> knownFields) {
+        return new SerializationException(format(
+                "The view '%s' includes the fields %s of '%s', but its serialized fields are %s",
+                view, unknownFields, type.getName(), knownFields));
+    }
+
+    public static SerializationException viewOfNonSerializedObject(final String view, final Class<?> type) {
+        return new SerializationException(format(
+                "The view '%s' includes fields of '%s', which is not a serialized object", view, type.getName()));
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.serialization;
+
+import com.envimate.mapmate.Definition;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.envimate.mapmate.serialization.SerializationException.viewOfNonSerializedObject;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static com.envimate.mapmate.validators.RequiredStringValidator.validateNotNullNorEmpty;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableSet;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SerializationView {
+    private static final SerializationView ALL_FIELDS = new SerializationView("all fields", Map.of());
+
+    private final String name;
+    private final Map<Class<?>, Set<String>> fieldMasks;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile ResolvedFieldMasks resolvedFieldMasks;
+
+    public static SerializationView allFields() {
+        return ALL_FIELDS;
+    }
+
+    public static SerializationView serializationView(final String name) {
+        validateNotNullNorEmpty(name, "name");
+        return new SerializationView(name, Map.of());
+    }
+
+    public SerializationView including(final Class<?> type, final String... fields) {
+        validateNotNull(type, "type");
+        validateNotNull(fields, "fields");
+        final Set<String> mask = new HashSet<>(this.fieldMasks.getOrDefault(type, Set.of()));
+        mask.addAll(asList(fields));
+        final Map<Class<?>, Set<String>> fieldMasks = new HashMap<>(this.fieldMasks);
+        fieldMasks.put(type, unmodifiableSet(mask));
+        return new SerializationView(this.name, Map.copyOf(fieldMasks));
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    FieldMask fieldMaskOf(final Class<?> type, final SerializableDefinitions definitions) {
+        if (this.fieldMasks.isEmpty()) {
+            return null;
+        }
+        ResolvedFieldMasks resolved = this.resolvedFieldMasks;
+        if (resolved == null || resolved.definitions != definitions) {
+            resolved = new ResolvedFieldMasks(definitions, this.resolveAgainst(definitions));
+            this.resolvedFieldMasks = resolved;
+        }
+        return resolved.fieldMasks.get(type);
+    }
+
+    private Map<Class<?>, FieldMask> resolveAgainst(final SerializableDefinitions definitions) {
+        final Map<Class<?>, FieldMask> resolved = new HashMap<>(this.fieldMasks.size() * 4 / 3 + 1);
+        this.fieldMasks.forEach((type, fields) -> {
+            final Definition definition = definitions.getDefinitionForType(type);
+            if (!(definition instanceof SerializableDataTransferObject)) {
+                throw viewOfNonSerializedObject(this.name, type);
+            }
+            resolved.put(type, ((SerializableDataTransferObject) definition).fieldMask(this.name, fields));
+        });
+        return resolved;
+    }
+
+    private static final class ResolvedFieldMasks {
+        private final SerializableDefinitions definitions;
+        private final Map<Class<?>, FieldMask> fieldMasks;
+
+        private ResolvedFieldMasks(final SerializableDefinitions definitions,
+                                   final Map<Class<?>, FieldMask> fieldMasks) {
+            this.definitions = definitions;
+            this.fieldMasks = fieldMasks;
+        }
+    }
+}
@@ -22,37 +22,94 @@
 package com.envimate.mapmate.serialization;
 
 import com.envimate.mapmate.Definition;
+import com.envimate.mapmate.marshalling.CompactMap;
 import com.envimate.mapmate.marshalling.MarshallerRegistry;
 import com.envimate.mapmate.marshalling.MarshallingType;
+import com.envimate.mapmate.marshalling.RecordFraming;
+import com.envimate.mapmate.marshalling.tape.Tape;
+import com.envimate.mapmate.marshalling.tape.TapeSegmentPool;
+import com.envimate.mapmate.parallel.Parallelism;
 import com.envimate.mapmate.serialization.builder.SerializerBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.Flow;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.envimate.mapmate.References.ID_KEY;
+import static com.envimate.mapmate.References.REFERENCE_KEY;
 import static com.envimate.mapmate.marshalling.MarshallingType.json;
+import static com.envimate.mapmate.marshalling.PrimitiveArrays.isPrimitiveArray;
+import static com.envimate.mapmate.marshalling.tape.Tape.tape;
+import static com.envimate.mapmate.serialization.CanonicalJsonWriter.writeCanonicalJson;
+import static com.envimate.mapmate.serialization.ContentDigest.contentDigest;
+import static com.envimate.mapmate.serialization.SerializationException.unplacedFieldValues;
+import static com.envimate.mapmate.serialization.SerializationView.allFields;
+import static com.envimate.mapmate.serialization.SerializerOptions.defaultSerializerOptions;
+import static com.envimate.mapmate.serialization.SerializingProcessor.serializingProcessor;
 import static com.envimate.mapmate.serialization.builder.SerializerBuilder.aSerializerBuilder;
 import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+import static java.util.Collections.singletonMap;
 import static java.util.Objects.isNull;
 
 @SuppressWarnings("rawtypes")
 public final class Serializer {
+    private static final Object NO_CHANGE = new Object();
+    private static final Object NULL_KEY = new Object();
+    private static final Object NULL_VALUE = new Object();
+    private static final Object END_ARRAY = new Object();
+    private static final Object END_OBJECT = new Object();
+    private static final Comparator<Object> KEY_ORDER = Comparator.nullsFirst(Comparator.comparing(String::valueOf));
+
     private final MarshallerRegistry<Marshaller> marshallers;
     private final CircularReferenceDetector circularReferenceDetector;
     private final SerializableDefinitions definitions;
+    private final Parallelism parallelism;
+    private final boolean preserveReferences;
+    private final boolean canonical;
+    private final boolean compactMaps;
+    private final OutputCache outputCache;
+    private final TapeSegmentPool tapeSegmentPool;
 
     private Serializer(final MarshallerRegistry<Marshaller> marshallers,
                        final CircularReferenceDetector circularReferenceDetector,
-                       final SerializableDefinitions definitions) {
+                       final SerializableDefinitions definitions,
+                       final Parallelism parallelism,
+                       final boolean preserveReferences,
+                       final boolean canonical,
+                       final boolean compactMaps,
+                       final OutputCache outputCache,
+                       final TapeSegmentPool tapeSegmentPool) {
         this.marshallers = marshallers;
         this.circularReferenceDetector = circularReferenceDetector;
         this.definitions = definitions;
+        this.parallelism = parallelism;
+        this.preserveReferences = preserveReferences;
+        this.canonical = canonical;
+        this.compactMaps = compactMaps;
+        this.outputCache = outputCache;
+        this.tapeSegmentPool = tapeSegmentPool;
     }
 
     public static Serializer theSerializer(final MarshallerRegistry<Marshaller> marshallers,
                                            final SerializableDefinitions definitions) {
+        return theSerializer(marshallers, definitions, defaultSerializerOptions());
+    }
+
+    public static Serializer theSerializer(final MarshallerRegistry<Marshaller> marshallers,
+                                           final SerializableDefinitions definitions,
+                                           final SerializerOptions options) {
+        validateNotNull(options, "options");
         final CircularReferenceDetector circularReferenceDetector = new CircularReferenceDetector();
-        return new Serializer(marshallers, circularReferenceDetector, definitions);
+        return new Serializer(marshallers, circularReferenceDetector, definitions, options.parallelism(),
+                options.preserveReferences(), options.canonical(), options.compactMaps(), options.outputCache(),
+                options.tapeSegmentPool());
     }
 
     public static SerializerBuilder aSerializer() {
@@ -63,13 +120,21 @@ public final class Serializer {
         return this.marshallers.supportedTypes();
     }
 
+    public OutputCache outputCache() {
+        return this.outputCache;
+    }
+
     public String serializeToJson(final Object object) {
         return serialize(object, json());
     }
 
     public String serialize(final Object object,
                             final MarshallingType marshallingType) {
-        return serialize(object, marshallingType, input -> input);
+        if (this.outputCache.isCacheable(object)) {
+            return this.outputCache.string(
+                    object, marshallingType, () -> serialize(object, marshallingType, allFields()));
+        }
+        return serialize(object, marshallingType, allFields());
     }
 
     @SuppressWarnings("unchecked")
@@ -77,9 +142,9 @@ public final class Serializer {
                             final MarshallingType marshallingType,
                             final Function<Map<String, Object>, Map<String, Object>> serializedPropertyInjector) {
         validateNotNull(object, "object");
-        Object normalized = normalize(object);
+        Object normalized = normalizeRoot(object);
         if (normalized instanceof Map) {
-            normalized = serializedPropertyInjector.apply((Map<String, Object>) normalized);
+            normalized = serializedPropertyInjector.apply(mutable((Map<String, Object>) normalized));
         }
         final Marshaller marshaller = this.marshallers
                 .getForType(marshallingType);
@@ -95,6 +160,174 @@ public final class Serializer {
         }
     }
 
+    public String serialize(final Object object,
+                            final MarshallingType marshallingType,
+                            final SerializationView view) {
+        validateNotNull(object, "object");
+        validateNotNull(view, "view");
+        final Object normalized = normalizeRoot(object, view);
+        final Marshaller marshaller = this.marshallers.getForType(marshallingType);
+        try {
+            return marshaller.marshal(normalized);
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "Could not marshal normalization %s",
+                            normalized),
+                    e
+            );
+        }
+    }
+
+    public byte[] serializeToBytes(final Object object,
+                                   final MarshallingType marshallingType) {
+        if (this.outputCache.isCacheable(object)) {
+            return this.cachedBytes(object, marshallingType).clone();
+        }
+        return serializeToBytes(object, marshallingType, allFields());
+    }
+
+    public byte[] serializeToBytes(final Object object,
+                                   final MarshallingType marshallingType,
+                                   final SerializationView view) {
+        validateNotNull(object, "object");
+        validateNotNull(view, "view");
+        final Object normalized = normalizeRoot(object, view);
+        final Marshaller marshaller = this.marshallers.getForType(marshallingType);
+        try {
+            return marshaller.marshalToBytes(normalized);
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "Could not marshal normalization %s",
+                            normalized),
+                    e
+            );
+        }
+    }
+
+    public void serialize(final Object object,
+                          final MarshallingType marshallingType,
+                          final OutputStream outputStream) {
+        validateNotNull(object, "object");
+        validateNotNull(outputStream, "outputStream");
+        if (this.outputCache.isCacheable(object)) {
+            final byte[] cached = this.cachedBytes(object, marshallingType);
+            try {
+                outputStream.write(cached);
+            } catch (final IOException e) {
+                throw new UnsupportedOperationException("Could not write cached output", e);
+            }
+            return;
+        }
+        final Object normalized = normalizeRoot(object);
+        final Marshaller marshaller = this.marshallers.getForType(marshallingType);
+        try {
+            marshaller.marshal(normalized, outputStream);
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "Could not marshal normalization %s",
+                            normalized),
+                    e
+            );
+        }
+    }
+
+    public void serializeThroughTape(final Object object,
+                                     final MarshallingType marshallingType,
+                                     final OutputStream outputStream) {
+        validateNotNull(object, "object");
+        validateNotNull(outputStream, "outputStream");
+        final Marshaller marshaller = this.marshallers.getForType(marshallingType);
+        try (Tape tape = tape(this.tapeSegmentPool)) {
+            this.serializeToTape(object, tape);
+            try {
+                marshaller.marshalTape(tape, outputStream);
+            } catch (final Exception e) {
+                throw new UnsupportedOperationException("Could not marshal tape", e);
+            }
+        }
+    }
+
+    public void serializeToTape(final Object object, final Tape tape) {
+        validateNotNull(tape, "tape");
+        this.circularReferenceDetector.detect(object);
+        this.writeToTape(object, tape);
+    }
+
+    public void serializeStream(final Stream<?> objects,
+                                final MarshallingType marshallingType,
+                                final OutputStream outputStream,
+                                final RecordFraming framing) {
+        validateNotNull(objects, "objects");
+        try {
+            serializeStream(objects.iterator(), marshallingType, outputStream, framing, 0);
+        } finally {
+            objects.close();
+        }
+    }
+
+    public void serializeStream(final Stream<?> objects,
+                                final MarshallingType marshallingType,
+                                final OutputStream outputStream,
+                                final RecordFraming framing,
+                                final int flushEvery) {
+        validateNotNull(objects, "objects");
+        try {
+            serializeStream(objects.iterator(), marshallingType, outputStream, framing, flushEvery);
+        } finally {
+            objects.close();
+        }
+    }
+
+    public void serializeStream(final Iterator<?> objects,
+                                final MarshallingType marshallingType,
+                                final OutputStream outputStream,
+                                final RecordFraming framing,
+                                final int flushEvery) {
+        validateNotNull(objects, "objects");
+        validateNotNull(outputStream, "outputStream");
+        validateNotNull(framing, "framing");
+        validateJsonRecords(marshallingType);
+        final Marshaller marshaller = this.marshallers.getForType(marshallingType);
+        final boolean array = framing == RecordFraming.TOP_LEVEL_ARRAY;
+        try {
+            if (array) {
+                outputStream.write('[');
+            }
+            long written = 0;
+            while (objects.hasNext()) {
+                if (array && written > 0) {
+                    outputStream.write(',');
+                }
+                final Object normalized = normalize(objects.next());
+                outputStream.write(marshaller.marshalToBytes(normalized));
+                if (!array) {
+                    outputStream.write('\n');
+                }
+                ++written;
+                if (flushEvery > 0 && written % flushEvery == 0) {
+                    outputStream.flush();
+                }
+            }
+            if (array) {
+                outputStream.write(']');
+            }
+            outputStream.flush();
+        } catch (final Exception e) {
+            throw new UnsupportedOperationException("Could not marshal stream", e);
+        }
+    }
+
+    public <T> Flow.Processor<T, ByteBuffer> processor(final MarshallingType marshallingType,
+                                                       final RecordFraming framing,
+                                                       final int bufferSize) {
+        validateJsonRecords(marshallingType);
+        final Marshaller marshaller = this.marshallers.getForType(marshallingType);
+        return serializingProcessor(bufferSize, object -> marshaller.marshalToBytes(normalize(object)), framing);
+    }
+
     public String serializeFromMap(final Map<String, Object> map,
                                    final MarshallingType marshallingType) {
         final Marshaller marshaller = this.marshallers.getForType(marshallingType);
@@ -115,62 +348,500 @@ public final class Serializer {
         if (isNull(object)) {
             return new HashMap<>();
         }
-        final Object normalized = normalize(object);
+        final Object normalized = normalizeRoot(object);
         if (!(normalized instanceof Map)) {
             throw new UnsupportedOperationException("Only DTOs can be serialized to map");
         }
-        return (Map<String, Object>) normalized;
+        return mutable((Map<String, Object>) normalized);
+    }
+
+    public ContentDigest digest(final Object object, final String algorithm) {
+        validateNotNull(object, "object");
+        validateNotNull(algorithm, "algorithm");
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(algorithm);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(String.format("Unknown digest algorithm %s", algorithm), e);
+        }
+        final Object normalized = normalizeWithoutReferences(object);
+        try {
+            final long length = writeCanonicalJson(
+                    normalized, new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest));
+            return contentDigest(algorithm, messageDigest.digest(), length);
+        } catch (final IOException e) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "Could not digest normalization %s",
+                            normalized),
+                    e
+            );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> diff(final Object before, final Object after) {
+        validateNotNull(before, "before");
+        validateNotNull(after, "after");
+        final Object patch = diffValues(before, after);
+        if (patch == NO_CHANGE) {
+            return new HashMap<>(0);
+        }
+        if (!(patch instanceof Map)) {
+            throw new UnsupportedOperationException("Only DTOs of the same type can be diffed");
+        }
+        return (Map<String, Object>) patch;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> elementsOf(final Object object) {
+        validateNotNull(object, "object");
+        final Definition definition = this.definitions.getDefinitionForObject(object);
+        if (!(definition instanceof SerializableDataTransferObject)) {
+            throw new UnsupportedOperationException("Only DTOs can be split into elements");
+        }
+        return (Map<String, Object>) this.expandUnlessCompact(
+                ((SerializableDataTransferObject) definition).serialize(object, value -> value));
+    }
+
+    private static void validateJsonRecords(final MarshallingType marshallingType) {
+        validateNotNull(marshallingType, "marshallingType");
+        if (!json().equals(marshallingType)) {
+            throw new UnsupportedOperationException(String.format(
+                    "Record framing is only defined for json, not for '%s'",
+                    marshallingType.internalValueForMapping()));
+        }
+    }
+
+    private byte[] cachedBytes(final Object object, final MarshallingType marshallingType) {
+        return this.outputCache.bytes(
+                object, marshallingType, () -> serializeToBytes(object, marshallingType, allFields()));
+    }
+
+    private Object diffValues(final Object before, final Object after) {
+        if (before == after) {
+            return NO_CHANGE;
+        }
+        if (before == null || after == null || before.getClass() != after.getClass()
+                || after instanceof Collection<?> || after.getClass().isArray() || after instanceof Map<?, ?>) {
+            final Object normalized = normalizeWithoutReferences(after);
+            return before != null && Objects.deepEquals(normalizeWithoutReferences(before), normalized)
+                    ? NO_CHANGE
+                    : normalized;
+        }
+        final Definition definition = this.definitions.getDefinitionForObject(after);
+        if (definition instanceof SerializableCustomPrimitive) {
+            if (before.equals(after)) {
+                return NO_CHANGE;
+            }
+            final SerializableCustomPrimitive customPrimitive = (SerializableCustomPrimitive) definition;
+            final Object serialized = customPrimitive.serialize(after);
+            return Objects.equals(serialized, customPrimitive.serialize(before)) ? NO_CHANGE : serialized;
+        }
+        final Map<String, Object> beforeElements = elementsOf(before);
+        final Map<String, Object> afterElements = elementsOf(after);
+        final Set<String> names = new HashSet<>(beforeElements.keySet());
+        names.addAll(afterElements.keySet());
+        final Map<String, Object> patch = new HashMap<>(0);
+        for (final String name : names) {
+            final Object elementPatch = diffValues(beforeElements.get(name), afterElements.get(name));
+            if (elementPatch != NO_CHANGE) {
+                patch.put(name, elementPatch);
+            }
+        }
+        return patch.isEmpty() ? NO_CHANGE : patch;
+    }
+
+    private void writeToTape(final Object object, final Tape tape) {
+        final Deque<Object> pending = new ArrayDeque<>();
+        pending.push(object == null ? NULL_VALUE : object);
+        while (!pending.isEmpty()) {
+            final Object next = pending.pop();
+            if (next == END_ARRAY) {
+                tape.endArray();
+            } else if (next == END_OBJECT) {
+                tape.endObject();
+            } else if (next instanceof FieldName) {
+                tape.fieldName(((FieldName) next).name);
+            } else {
+                this.writeValueToTape(next == NULL_VALUE ? null : next, tape, pending);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeValueToTape(final Object object, final Tape tape, final Deque<Object> pending) {
+        if (isNull(object)) {
+            tape.nullValue();
+        } else if (object instanceof Collection<?>) {
+            tape.startArray();
+            pending.push(END_ARRAY);
+            scheduleTapeElements(((Collection<?>) object).toArray(), pending);
+        } else if (isPrimitiveArray(object)) {
+            tape.primitiveArray(object);
+        } else if (object.getClass().isArray()) {
+            tape.startArray();
+            pending.push(END_ARRAY);
+            scheduleTapeElements((Object[]) object, pending);
+        } else if (object instanceof Map<?, ?>) {
+            tape.startObject();
+            pending.push(END_OBJECT);
+            final Map<?, ?> map = (Map<?, ?>) object;
+            final Object[] fields = new Object[map.size() * 2];
+            int index = 0;
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                fields[index++] = new FieldName(String.valueOf(normalize(entry.getKey())));
+                fields[index++] = entry.getValue();
+            }
+            scheduleTapeElements(fields, pending);
+        } else {
+            final Definition definition = this.definitions.getDefinitionForObject(object);
+            if (definition instanceof SerializableCustomPrimitive) {
+                tape.scalar(((SerializableCustomPrimitive) definition).serialize(object));
+            } else if (definition instanceof SerializableDataTransferObject) {
+                final Map<String, Object> elements = (Map<String, Object>) this.expandUnlessCompact(
+                        ((SerializableDataTransferObject) definition).serialize(object, value -> value));
+                tape.startObject();
+                pending.push(END_OBJECT);
+                final Object[] fields = new Object[elements.size() * 2];
+                int index = 0;
+                for (final Map.Entry<String, Object> entry : elements.entrySet()) {
+                    fields[index++] = new FieldName(entry.getKey());
+                    fields[index++] = entry.getValue();
+                }
+                scheduleTapeElements(fields, pending);
+            } else {
+                throw new UnsupportedOperationException("This should never happen.");
+            }
+        }
+    }
+
+    private static void scheduleTapeElements(final Object[] elements, final Deque<Object> pending) {
+        for (int i = elements.length - 1; i >= 0; --i) {
+            pending.push(elements[i] == null ? NULL_VALUE : elements[i]);
+        }
+    }
+
+    private Object normalizeRoot(final Object object) {
+        return normalizeRoot(object, allFields());
+    }
+
+    private Object normalizeRoot(final Object object, final SerializationView view) {
+        if (this.preserveReferences) {
+            return normalize(object, view);
+        }
+        if (object instanceof Collection<?> && this.parallelism.appliesTo(((Collection<?>) object).size())) {
+            return Arrays.asList(normalizeInParallel(((Collection<?>) object).toArray(), view));
+        } else if (object instanceof Object[] && this.parallelism.appliesTo(((Object[]) object).length)) {
+            return normalizeInParallel((Object[]) object, view);
+        }
+        return normalize(object, view);
+    }
+
+    private Object[] normalizeInParallel(final Object[] elements, final SerializationView view) {
+        this.circularReferenceDetector.detect(elements);
+        final Object[] normalized = new Object[elements.length];
+        this.parallelism.forEachIndex(elements.length,
+                index -> normalized[index] = this.normalizeIteratively(elements[index], view, null));
+        return normalized;
     }
 
     private Object normalize(final Object object) {
+        return normalize(object, allFields());
+    }
+
+    private Object normalize(final Object object, final SerializationView view) {
         this.circularReferenceDetector.detect(object);
+        if (!this.preserveReferences) {
+            return this.normalizeIteratively(object, view, null);
+        }
+        final SharedInstances sharedInstances = new SharedInstances(this.canonical);
+        final Object normalized = this.normalizeIteratively(object, view, sharedInstances);
+        sharedInstances.dropUnusedIds();
+        return normalized;
+    }
 
-        if (isNull(object)) {
-            return null;
+    private Object normalizeWithoutReferences(final Object object) {
+        this.circularReferenceDetector.detect(object);
+        return this.normalizeIteratively(object, allFields(), null);
+    }
+
+    private Object normalizeIteratively(final Object object,
+                                        final SerializationView view,
+                                        final SharedInstances sharedInstances) {
+        final Object[] root = new Object[1];
+        final Deque<Object> pending = new ArrayDeque<>();
+        this.normalizeInto(object, root, 0, view, sharedInstances, pending);
+        while (!pending.isEmpty()) {
+            final Object slot = pending.pop();
+            final Object target = pending.pop();
+            final Object value = pending.pop();
+            this.normalizeInto(value, target, slot, view, sharedInstances, pending);
         }
+        return root[0];
+    }
 
+    private void normalizeInto(final Object object,
+                               final Object target,
+                               final Object slot,
+                               final SerializationView view,
+                               final SharedInstances sharedInstances,
+                               final Deque<Object> pending) {
+        if (isNull(object)) {
+            return;
+        }
         if (object instanceof Collection<?>) {
-            return serializeCollection((Collection<?>) object);
+            final Object[] elements = ((Collection<?>) object).toArray();
+            final List<Object> normalized = new ArrayList<>(Collections.nCopies(elements.length, null));
+            store(target, slot, normalized);
+            scheduleElements(elements, normalized, pending);
+        } else if (isPrimitiveArray(object)) {
+            store(target, slot, object);
         } else if (object.getClass().isArray()) {
-            return serializeArray((Object[]) object);
+            final Object[] elements = (Object[]) object;
+            final Object[] normalized = new Object[elements.length];
+            store(target, slot, normalized);
+            scheduleElements(elements, normalized, pending);
         } else if (object instanceof Map<?, ?>) {
-            return serializeMap(object);
+            final Map<?, ?> map = (Map<?, ?>) object;
+            final Map<Object, Object> normalized = this.canonical
+                    ? new TreeMap<>(KEY_ORDER)
+                    : new HashMap<>(map.size());
+            final Object[] entries = new Object[map.size() * 2];
+            int index = 0;
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                final Object key = this.normalizeIteratively(entry.getKey(), view, null);
+                normalized.put(key, null);
+                entries[index++] = key;
+                entries[index++] = entry.getValue();
+            }
+            store(target, slot, normalized);
+            scheduleEntries(entries, index, normalized, pending);
+        } else {
+            this.normalizeDefinitionInto(object, target, slot, view, sharedInstances, pending);
         }
-
-        return serializeDefinition(object);
     }
 
-    private Object serializeDefinition(final Object object) {
+    @SuppressWarnings("unchecked")
+    private void normalizeDefinitionInto(final Object object,
+                                         final Object target,
+                                         final Object slot,
+                                         final SerializationView view,
+                                         final SharedInstances sharedInstances,
+                                         final Deque<Object> pending) {
         final Definition definition = this.definitions.getDefinitionForObject(object);
         if (definition instanceof SerializableCustomPrimitive) {
-            final SerializableCustomPrimitive customPrimitive = (SerializableCustomPrimitive) definition;
-            return customPrimitive.serialize(object);
+            store(target, slot, ((SerializableCustomPrimitive) definition).serialize(object));
+            return;
+        }
+        if (!(definition instanceof SerializableDataTransferObject)) {
+            throw new UnsupportedOperationException("This should never happen.");
+        }
+        final Map<String, Object> reference = sharedInstances == null ? null : sharedInstances.referenceTo(object);
+        if (reference != null) {
+            store(target, slot, reference);
+            return;
+        }
+        final SerializableDataTransferObject dataTransferObject = (SerializableDataTransferObject) definition;
+        final FieldMask fieldMask = view.fieldMaskOf(definition.getType(), this.definitions);
+        final int[] deferredCount = new int[1];
+        final Object serialized = this.expandUnlessCompact(dataTransferObject.serialize(object, value -> {
+            if (isNull(value)) {
+                return null;
+            }
+            ++deferredCount[0];
+            return new Deferred(value);
+        }, fieldMask));
+        if (deferredCount[0] == 0) {
+            store(target, slot, this.share(object, serialized, sharedInstances));
+            return;
+        }
+        if (serialized instanceof Map<?, ?>) {
+            final Map<Object, Object> elements;
+            if (sharedInstances != null) {
+                elements = sharedInstances.register(object, (Map<?, ?>) serialized);
+            } else if (this.canonical) {
+                elements = new TreeMap<>(KEY_ORDER);
+                elements.putAll((Map<?, ?>) serialized);
+            } else if (serialized instanceof CompactMap || serialized instanceof HashMap) {
+                elements = (Map<Object, Object>) serialized;
+            } else {
+                elements = new LinkedHashMap<>((Map<?, ?>) serialized);
+            }
+            final Object[] entries = new Object[deferredCount[0] * 2];
+            int index = 0;
+            for (final Map.Entry<Object, Object> entry : elements.entrySet()) {
+                if (entry.getValue() instanceof Deferred && index < entries.length) {
+                    entries[index++] = entry.getKey();
+                    entries[index++] = ((Deferred) entry.getValue()).value;
+                }
+            }
+            if (index == entries.length) {
+                store(target, slot, elements);
+                scheduleEntries(entries, index, elements, pending);
+                return;
+            }
+            if (sharedInstances != null) {
+                sharedInstances.forget(object);
+            }
+        }
+        final int[] unresolved = {deferredCount[0]};
+        final Object normalized = this.resolveDeferred(serialized, view, unresolved);
+        if (unresolved[0] != 0) {
+            throw unplacedFieldValues(definition.getType(), unresolved[0]);
+        }
+        store(target, slot, this.share(object, normalized, sharedInstances));
+    }
+
+    private Object resolveDeferred(final Object serialized, final SerializationView view, final int[] unresolved) {
+        if (serialized instanceof Deferred) {
+            --unresolved[0];
+            return this.normalizeIteratively(((Deferred) serialized).value, view, null);
+        }
+        if (serialized instanceof Map<?, ?>) {
+            final Map<Object, Object> resolved = new LinkedHashMap<>();
+            ((Map<?, ?>) serialized).forEach((key, value) ->
+                    resolved.put(key, this.resolveDeferred(value, view, unresolved)));
+            return resolved;
+        }
+        if (serialized instanceof Collection<?>) {
+            final List<Object> resolved = new ArrayList<>(((Collection<?>) serialized).size());
+            ((Collection<?>) serialized).forEach(element -> resolved.add(this.resolveDeferred(element, view, unresolved)));
+            return resolved;
+        }
+        if (serialized instanceof Object[]) {
+            final Object[] elements = (Object[]) serialized;
+            final Object[] resolved = new Object[elements.length];
+            for (int i = 0; i < elements.length; ++i) {
+                resolved[i] = this.resolveDeferred(elements[i], view, unresolved);
+            }
+            return resolved;
+        }
+        return serialized;
+    }
+
+    private Object expandUnlessCompact(final Object serialized) {
+        if (!this.compactMaps && serialized instanceof CompactMap) {
+            return new HashMap<>((CompactMap) serialized);
+        }
+        return serialized;
+    }
+
+    private static Map<String, Object> mutable(final Map<String, Object> map) {
+        if (map instanceof CompactMap) {
+            return new HashMap<>(map);
+        }
+        return map;
+    }
+
+    private Object share(final Object object, final Object normalized, final SharedInstances sharedInstances) {
+        if (!(normalized instanceof Map<?, ?>)) {
+            return normalized;
+        }
+        if (sharedInstances != null) {
+            return sharedInstances.register(object, (Map<?, ?>) normalized);
         }
-        if (definition instanceof SerializableDataTransferObject) {
-            final SerializableDataTransferObject dataTransferObject = (SerializableDataTransferObject) definition;
-            return dataTransferObject.serialize(object, this::normalize);
+        if (this.canonical) {
+            final Map<Object, Object> ordered = new TreeMap<>(KEY_ORDER);
+            ordered.putAll((Map<?, ?>) normalized);
+            return ordered;
         }
-        throw new UnsupportedOperationException("This should never happen.");
+        return normalized;
     }
 
-    private Object serializeMap(final Object object) {
-        final Map<?, ?> castMap = (Map<?, ?>) object;
-        final Map<Object, Object> normalizedMap = new HashMap<>(castMap.size());
-        ((Map<?, ?>) object).forEach((key, value) -> {
-            normalizedMap.put(normalize(key), normalize(value));
-        });
-        return normalizedMap;
+    private static void scheduleElements(final Object[] elements, final Object target, final Deque<Object> pending) {
+        for (int i = elements.length - 1; i >= 0; --i) {
+            if (elements[i] != null) {
+                pending.push(elements[i]);
+                pending.push(target);
+                pending.push(i);
+            }
+        }
+    }
+
+    private static void scheduleEntries(final Object[] entries,
+                                        final int length,
+                                        final Map<Object, Object> target,
+                                        final Deque<Object> pending) {
+        for (int i = length - 2; i >= 0; i -= 2) {
+            if (entries[i + 1] != null) {
+                pending.push(entries[i + 1]);
+                pending.push(target);
+                pending.push(entries[i] == null ? NULL_KEY : entries[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void store(final Object target, final Object slot, final Object value) {
+        if (target instanceof Object[]) {
+            ((Object[]) target)[(Integer) slot] = value;
+        } else if (target instanceof List) {
+            ((List<Object>) target).set((Integer) slot, value);
+        } else {
+            ((Map<Object, Object>) target).put(slot == NULL_KEY ? null : slot, value);
+        }
+    }
+
+    private static final class SharedInstances {
+        private final Map<Object, Map<Object, Object>> firstOccurrences = new IdentityHashMap<>();
+        private final boolean canonical;
+        private int lastId;
+
+        private SharedInstances(final boolean canonical) {
+            this.canonical = canonical;
+        }
+
+        private Map<String, Object> referenceTo(final Object object) {
+            final Map<Object, Object> firstOccurrence = this.firstOccurrences.get(object);
+            if (firstOccurrence == null) {
+                return null;
+            }
+            Object id = firstOccurrence.get(ID_KEY);
+            if (id == null) {
+                id = String.valueOf(++this.lastId);
+                firstOccurrence.put(ID_KEY, id);
+            }
+            return singletonMap(REFERENCE_KEY, id);
+        }
+
+        private Map<Object, Object> register(final Object object, final Map<?, ?> normalized) {
+            final Map<Object, Object> firstOccurrence = this.canonical
+                    ? new TreeMap<>(KEY_ORDER)
+                    : new LinkedHashMap<>(normalized.size() + 1);
+            firstOccurrence.put(ID_KEY, null);
+            firstOccurrence.putAll(normalized);
+            this.firstOccurrences.put(object, firstOccurrence);
+            return firstOccurrence;
+        }
+
+        private void forget(final Object object) {
+            this.firstOccurrences.remove(object);
+        }
+
+        private void dropUnusedIds() {
+            for (final Map<Object, Object> firstOccurrence : this.firstOccurrences.values()) {
+                if (firstOccurrence.get(ID_KEY) == null) {
+                    firstOccurrence.remove(ID_KEY);
+                }
+            }
+        }
     }
 
-    private Object serializeArray(final Object[] object) {
-        return Arrays.stream(object)
-                .map(this::normalize).toArray();
+    private static final class FieldName {
+        private final String name;
+
+        private FieldName(final String name) {
+            this.name = name;
+        }
     }
 
-    private Object serializeCollection(final Collection<?> object) {
-        return object.stream()
-                .map(this::normalize)
-                .collect(Collectors.toList());
+    private static final class Deferred {
+        private final Object value;
+
+        private Deferred(final Object value) {
+            this.value = value;
+        }
     }
 
     public SerializableDefinitions getDefinitions() {
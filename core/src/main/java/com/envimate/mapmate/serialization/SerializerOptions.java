@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.serialization;
+
+import com.envimate.mapmate.marshalling.tape.TapeSegmentPool;
+import com.envimate.mapmate.parallel.Parallelism;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import static com.envimate.mapmate.marshalling.tape.TapeSegmentPool.defaultTapeSegmentPool;
+import static com.envimate.mapmate.parallel.Parallelism.sequential;
+import static com.envimate.mapmate.serialization.OutputCache.noOutputCache;
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SerializerOptions {
+    private static final SerializerOptions DEFAULTS = new SerializerOptions(
+            sequential(), false, false, false, noOutputCache(), defaultTapeSegmentPool());
+
+    private final Parallelism parallelism;
+    private final boolean preserveReferences;
+    private final boolean canonical;
+    private final boolean compactMaps;
+    private final OutputCache outputCache;
+    private final TapeSegmentPool tapeSegmentPool;
+
+    public static SerializerOptions defaultSerializerOptions() {
+        return DEFAULTS;
+    }
+
+    public SerializerOptions withParallelism(final Parallelism parallelism) {
+        validateNotNull(parallelism, "parallelism");
+        return new SerializerOptions(
+                parallelism, this.preserveReferences, this.canonical, this.compactMaps, this.outputCache,
+                this.tapeSegmentPool);
+    }
+
+    public SerializerOptions preservingReferences() {
+        return new SerializerOptions(
+                this.parallelism, true, this.canonical, this.compactMaps, this.outputCache,
+                this.tapeSegmentPool);
+    }
+
+    public SerializerOptions withCanonicalOutput() {
+        return new SerializerOptions(
+                this.parallelism, this.preserveReferences, true, this.compactMaps, this.outputCache,
+                this.tapeSegmentPool);
+    }
+
+    public SerializerOptions withCompactMaps() {
+        return new SerializerOptions(
+                this.parallelism, this.preserveReferences, this.canonical, true, this.outputCache,
+                this.tapeSegmentPool);
+    }
+
+    public SerializerOptions withOutputCache(final OutputCache outputCache) {
+        validateNotNull(outputCache, "outputCache");
+        return new SerializerOptions(
+                this.parallelism, this.preserveReferences, this.canonical, this.compactMaps, outputCache,
+                this.tapeSegmentPool);
+    }
+
+    public SerializerOptions withTapeSegmentPool(final TapeSegmentPool tapeSegmentPool) {
+        validateNotNull(tapeSegmentPool, "tapeSegmentPool");
+        return new SerializerOptions(
+                this.parallelism, this.preserveReferences, this.canonical, this.compactMaps, this.outputCache,
+                tapeSegmentPool);
+    }
+
+    Parallelism parallelism() {
+        return this.parallelism;
+    }
+
+    boolean preserveReferences() {
+        return this.preserveReferences;
+    }
+
+    boolean canonical() {
+        return this.canonical;
+    }
+
+    boolean compactMaps() {
+        return this.compactMaps;
+    }
+
+    OutputCache outputCache() {
+        return this.outputCache;
+    }
+
+    TapeSegmentPool tapeSegmentPool() {
+        return this.tapeSegmentPool;
+    }
+}
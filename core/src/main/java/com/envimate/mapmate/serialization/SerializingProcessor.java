@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.serialization;
+
+import com.envimate.mapmate.flow.BufferedProcessor;
+import com.envimate.mapmate.marshalling.RecordFraming;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import static com.envimate.mapmate.validators.NotNullValidator.validateNotNull;
+
+@ToString
+final class SerializingProcessor<T> extends BufferedProcessor<T, ByteBuffer> {
+    private final RecordMarshaller marshaller;
+    private final RecordFraming framing;
+    private boolean first = true;
+
+    private SerializingProcessor(final int bufferSize,
+                                 final RecordMarshaller marshaller,
+                                 final RecordFraming framing) {
+        super(bufferSize);
+        this.marshaller = marshaller;
+        this.framing = framing;
+    }
+
+    static <T> SerializingProcessor<T> serializingProcessor(final int bufferSize,
+                                                           final RecordMarshaller marshaller,
+                                                           final RecordFraming framing) {
+        validateNotNull(marshaller, "marshaller");
+        validateNotNull(framing, "framing");
+        return new SerializingProcessor<>(bufferSize, marshaller, framing);
+    }
+
+    @Override
+    protected void process(final T item, final Consumer<ByteBuffer> output) throws Exception {
+        validateNotNull(item, "item");
+        final byte[] record = this.marshaller.marshal(item);
+        final byte[] framed = new byte[record.length + 1];
+        if (this.framing == RecordFraming.TOP_LEVEL_ARRAY) {
+            framed[0] = (byte) (this.first ? '[' : ',');
+            System.arraycopy(record, 0, framed, 1, record.length);
+        } else {
+            System.arraycopy(record, 0, framed, 0, record.length);
+            framed[record.length] = '\n';
+        }
+        this.first = false;
+        output.accept(ByteBuffer.wrap(framed));
+    }
+
+    @Override
+    protected void finish(final Consumer<ByteBuffer> output) {
+        if (this.framing == RecordFraming.TOP_LEVEL_ARRAY) {
+            final byte[] closing = this.first ? new byte[]{'[', ']'} : new byte[]{']'};
+            output.accept(ByteBuffer.wrap(closing));
+        }
+    }
+
+    interface RecordMarshaller {
+        byte[] marshal(Object object) throws Exception;
+    }
+}
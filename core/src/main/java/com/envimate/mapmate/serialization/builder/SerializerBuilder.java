@@ -23,6 +23,8 @@ package com.envimate.mapmate.serialization.builder;
 
 import com.envimate.mapmate.marshalling.MarshallerRegistry;
 import com.envimate.mapmate.marshalling.MarshallingType;
+import com.envimate.mapmate.marshalling.tape.TapeSegmentPool;
+import com.envimate.mapmate.parallel.Parallelism;
 import com.envimate.mapmate.serialization.*;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +41,7 @@ import static com.envimate.mapmate.serialization.SerializableCustomPrimitive.ser
 import static com.envimate.mapmate.serialization.SerializableDataTransferObject.serializableDataTransferObject;
 import static com.envimate.mapmate.serialization.SerializableDefinitions.*;
 import static com.envimate.mapmate.serialization.Serializer.theSerializer;
+import static com.envimate.mapmate.serialization.SerializerOptions.defaultSerializerOptions;
 import static com.envimate.mapmate.serialization.builder.CustomPrimitiveSerializationMethodBuilder.aCustomPrimitiveSerializationMethodBuilder;
 import static com.envimate.mapmate.serialization.builder.DataTransferObjectSerializationMethodBuilder.aDataTransferObjectSerializationMethodBuilder;
 import static com.envimate.mapmate.serialization.builder.ScannablePackageBuilder.aScannablePackageBuilder;
@@ -49,6 +52,7 @@ import static com.envimate.mapmate.validators.RequiredStringValidator.validateNo
 public final class SerializerBuilder {
     private final Map<MarshallingType, Marshaller> marshallers = new HashMap<>();
     private final List<SerializableDefinitions> definitions = new LinkedList<>();
+    private SerializerOptions options = defaultSerializerOptions();
 
     public static SerializerBuilder aSerializerBuilder() {
         return new SerializerBuilder();
@@ -105,12 +109,42 @@ public final class SerializerBuilder {
         });
     }
 
+    public SerializerBuilder withParallelism(final Parallelism parallelism) {
+        this.options = this.options.withParallelism(parallelism);
+        return this;
+    }
+
+    public SerializerBuilder preservingReferences() {
+        this.options = this.options.preservingReferences();
+        return this;
+    }
+
+    public SerializerBuilder withCanonicalOutput() {
+        this.options = this.options.withCanonicalOutput();
+        return this;
+    }
+
+    public SerializerBuilder withCompactMaps() {
+        this.options = this.options.withCompactMaps();
+        return this;
+    }
+
+    public SerializerBuilder withOutputCache(final OutputCache outputCache) {
+        this.options = this.options.withOutputCache(outputCache);
+        return this;
+    }
+
+    public SerializerBuilder withTapeSegmentPool(final TapeSegmentPool tapeSegmentPool) {
+        this.options = this.options.withTapeSegmentPool(tapeSegmentPool);
+        return this;
+    }
+
     public Serializer build() {
         SerializableDefinitions allDefinitions = empty();
         for (final SerializableDefinitions definitions : this.definitions) {
             allDefinitions = merge(allDefinitions, definitions);
         }
         final MarshallerRegistry<Marshaller> marshallerRegistry = marshallerRegistry(this.marshallers);
-        return theSerializer(marshallerRegistry, allDefinitions);
+        return theSerializer(marshallerRegistry, allDefinitions, this.options);
     }
 }
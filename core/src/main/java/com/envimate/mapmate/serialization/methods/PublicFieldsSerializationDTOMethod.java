@@ -21,16 +21,33 @@
 
 package com.envimate.mapmate.serialization.methods;
 
+import com.envimate.mapmate.marshalling.CompactMap;
+import com.envimate.mapmate.marshalling.CompactMapShape;
+
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
+import static com.envimate.mapmate.marshalling.CompactMapShape.compactMapShape;
 import static com.envimate.mapmate.serialization.SerializationException.fromException;
 import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toUnmodifiableList;
 
 public final class PublicFieldsSerializationDTOMethod implements SerializationDTOMethod {
+    private static final ClassValue<Field[]> PUBLIC_FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(final Class<?> type) {
+            return type.getFields();
+        }
+    };
+    private static final ClassValue<CompactMapShape> SHAPES = new ClassValue<>() {
+        @Override
+        protected CompactMapShape computeValue(final Class<?> type) {
+            return compactMapShape(stream(PUBLIC_FIELDS.get(type)).map(Field::getName).toArray(String[]::new));
+        }
+    };
 
     private PublicFieldsSerializationDTOMethod() {
     }
@@ -41,29 +58,47 @@ public final class PublicFieldsSerializationDTOMethod implements SerializationDT
 
     @Override
     public Object serialize(final Object object, final Function<Object, Object> serializerCallback) {
-        final Field[] fields = object.getClass().getFields();
-        final Map<String, Object> normalizedChildren = new HashMap<>(fields.length);
-
-        stream(fields)
-                .forEach(field -> {
-                    try {
-                        final String name = field.getName();
-                        final Object value = field.get(object);
-                        if (this.isNotTransient(field)) {
-                            final Object serializedValue = serializerCallback.apply(value);
-                            normalizedChildren.put(name, serializedValue);
-                        } else {
-                            normalizedChildren.put(name, null);
-                        }
+        final Field[] fields = PUBLIC_FIELDS.get(object.getClass());
+        final CompactMap normalizedChildren = SHAPES.get(object.getClass()).newMap();
+        for (int i = 0; i < fields.length; ++i) {
+            this.serializeField(object, fields[i], i, serializerCallback, normalizedChildren);
+        }
+        return normalizedChildren;
+    }
 
-                    } catch (final IllegalAccessException e) {
-                        throw fromException(e);
-                    }
-                });
+    @Override
+    public Optional<List<String>> fieldNames(final Class<?> type) {
+        return Optional.of(stream(PUBLIC_FIELDS.get(type)).map(Field::getName).collect(toUnmodifiableList()));
+    }
 
+    @Override
+    public Object serialize(final Object object,
+                            final Function<Object, Object> serializerCallback,
+                            final int[] includedFieldIndices) {
+        final Field[] fields = PUBLIC_FIELDS.get(object.getClass());
+        final CompactMap normalizedChildren = SHAPES.get(object.getClass()).newMap();
+        for (final int index : includedFieldIndices) {
+            this.serializeField(object, fields[index], index, serializerCallback, normalizedChildren);
+        }
         return normalizedChildren;
     }
 
+    private void serializeField(final Object object,
+                                final Field field,
+                                final int index,
+                                final Function<Object, Object> serializerCallback,
+                                final CompactMap normalizedChildren) {
+        try {
+            if (this.isNotTransient(field)) {
+                normalizedChildren.set(index, serializerCallback.apply(field.get(object)));
+            } else {
+                normalizedChildren.set(index, null);
+            }
+        } catch (final IllegalAccessException e) {
+            throw fromException(e);
+        }
+    }
+
     private boolean isNotTransient(final Field field) {
         return !Modifier.isTransient(field.getModifiers());
     }
@@ -23,4 +23,8 @@ package com.envimate.mapmate.serialization.methods;
 
 public interface SerializationCPMethod {
     String serialize(Object object);
+
+    default Object serializeScalar(final Object object) {
+        return serialize(object);
+    }
 }
@@ -21,8 +21,46 @@
 
 package com.envimate.mapmate.serialization.methods;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 public interface SerializationDTOMethod {
     Object serialize(Object object, Function<Object, Object> serializerCallback);
+
+    default Object serialize(final Object object,
+                             final Function<Object, Object> serializerCallback,
+                             final Set<String> includedFields) {
+        final Object serialized = serialize(object, serializerCallback);
+        if (!(serialized instanceof Map)) {
+            return serialized;
+        }
+        final Map<String, Object> included = new HashMap<>(includedFields.size());
+        ((Map<?, ?>) serialized).forEach((name, value) -> {
+            if (includedFields.contains(name)) {
+                included.put((String) name, value);
+            }
+        });
+        return included;
+    }
+
+    default Optional<List<String>> fieldNames(final Class<?> type) {
+        return Optional.empty();
+    }
+
+    default Object serialize(final Object object,
+                             final Function<Object, Object> serializerCallback,
+                             final int[] includedFieldIndices) {
+        final List<String> fieldNames = fieldNames(object.getClass()).orElseThrow(() ->
+                new UnsupportedOperationException("Fields can only be selected by index if their names are known"));
+        final Set<String> includedFields = new HashSet<>(includedFieldIndices.length);
+        for (final int index : includedFieldIndices) {
+            includedFields.add(fieldNames.get(index));
+        }
+        return serialize(object, serializerCallback, includedFields);
+    }
 }
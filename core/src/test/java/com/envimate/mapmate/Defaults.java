@@ -22,16 +22,23 @@
 package com.envimate.mapmate;
 
 import com.envimate.mapmate.deserialization.Deserializer;
+import com.envimate.mapmate.deserialization.builder.DeserializerBuilder;
 import com.envimate.mapmate.deserialization.validation.ValidationError;
 import com.envimate.mapmate.domain.valid.AComplexTypeWithCollections;
 import com.envimate.mapmate.domain.valid.AComplexTypeWithMap;
 import com.envimate.mapmate.domain.valid.AValidationException;
 import com.envimate.mapmate.domain.valid.AnException;
+import com.envimate.mapmate.marshalling.PayloadLimits;
+import com.envimate.mapmate.serialization.OutputCache;
 import com.envimate.mapmate.serialization.Serializer;
+import com.envimate.mapmate.serialization.builder.SerializerBuilder;
 import com.google.gson.Gson;
 
+import java.util.concurrent.Executor;
+
 import static com.envimate.mapmate.deserialization.Deserializer.aDeserializer;
 import static com.envimate.mapmate.filters.ClassFilters.*;
+import static com.envimate.mapmate.parallel.Parallelism.parallelAbove;
 import static com.envimate.mapmate.serialization.Serializer.aSerializer;
 
 public final class Defaults {
@@ -40,6 +47,34 @@ public final class Defaults {
     }
 
     public static Serializer theDefaultSerializer() {
+        return theDefaultSerializerBuilder().build();
+    }
+
+    public static Serializer theDefaultReferencePreservingSerializer() {
+        return theDefaultSerializerBuilder()
+                .preservingReferences()
+                .build();
+    }
+
+    public static Serializer theDefaultCanonicalSerializer() {
+        return theDefaultSerializerBuilder()
+                .withCanonicalOutput()
+                .build();
+    }
+
+    public static Serializer theDefaultCompactSerializer() {
+        return theDefaultSerializerBuilder()
+                .withCompactMaps()
+                .build();
+    }
+
+    public static Serializer theDefaultCachingSerializer(final OutputCache outputCache) {
+        return theDefaultSerializerBuilder()
+                .withOutputCache(outputCache)
+                .build();
+    }
+
+    private static SerializerBuilder theDefaultSerializerBuilder() {
         return aSerializer()
                 .withJsonMarshaller(new Gson()::toJson)
                 .thatScansThePackage("com.envimate.mapmate.domain.valid")
@@ -49,12 +84,33 @@ public final class Defaults {
                 .thatScansThePackage("com.envimate.mapmate.domain.valid")
                 .forDataTransferObjects()
                 .filteredBy(allBut(allClassesThatHaveAPublicStringMethodWithZeroArgumentsNamed("internalValueForMapping")))
-                .thatAre().serializedByItsPublicFields()
+                .thatAre().serializedByItsPublicFields();
+    }
+
+    public static Deserializer theDefaultDeserializer() {
+        return theDefaultDeserializerBuilder().build();
+    }
+
+    public static Deserializer theDefaultParallelDeserializer(final Executor executor) {
+        return theDefaultDeserializerBuilder()
+                .withParallelism(parallelAbove(2, executor))
+                .build();
+    }
+
+    public static Deserializer theDefaultLimitedDeserializer(final PayloadLimits payloadLimits) {
+        return theDefaultDeserializerBuilder()
+                .withPayloadLimits(payloadLimits)
+                .build();
+    }
+
+    public static Deserializer theDefaultReferenceResolvingDeserializer() {
+        return theDefaultDeserializerBuilder()
+                .resolvingReferences()
                 .build();
     }
 
     @SuppressWarnings("CastToConcreteClass")
-    public static Deserializer theDefaultDeserializer() {
+    private static DeserializerBuilder theDefaultDeserializerBuilder() {
         return aDeserializer()
                 .withJsonUnmarshaller(new Gson()::fromJson)
                 .thatScansThePackage("com.envimate.mapmate.domain.valid")
@@ -78,8 +134,6 @@ public final class Defaults {
                 })
                 .mappingExceptionUsing(AnException.class, (t, p) -> {
                     return new ValidationError(t.getMessage(), p);
-                })
-                .build();
-
+                });
     }
 }
@@ -31,7 +31,11 @@ import com.google.gson.Gson;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static com.envimate.mapmate.builder.conventional.ConventionalDetectors.conventionalDetector;
+import static com.envimate.mapmate.builder.definitions.serializers.MemoizingCustomPrimitiveSerializer.memoizingCustomPrimitiveSerializer;
 import static com.envimate.mapmate.builder.recipes.manualregistry.ManualRegistry.manuallyRegisteredTypes;
 
 /**
@@ -166,4 +170,41 @@ public final class IndividuallyAddedModelsBuilderTest {
                 .deserializeJson(EMAIL_JSON, Email.class);
         Assert.assertEquals(EMAIL, result);
     }
+
+    @Test
+    public void testMemoizedCustomPrimitiveSerialization() {
+        final AtomicInteger subjectSerializations = new AtomicInteger();
+        final AtomicInteger bodySerializations = new AtomicInteger();
+        final MapMate mapMate = MapMate.aMapMate()
+                .usingRecipe(manuallyRegisteredTypes()
+                        .withSerializedObject(Email.class, Email.class.getFields(), "restore")
+                        .withCustomPrimitive(EmailAddress.class, EmailAddress::serialize, EmailAddress::deserialize)
+                        .withCustomPrimitive(Subject.class, subject -> {
+                            subjectSerializations.incrementAndGet();
+                            return subject.serialize();
+                        }, Subject::deserialize)
+                        .withCustomPrimitive(Body.class, body -> {
+                            bodySerializations.incrementAndGet();
+                            return body.serialize();
+                        }, Body::deserialize)
+                )
+                .usingJsonMarshaller(GSON::toJson, GSON::fromJson)
+                .withMemoizedCustomPrimitive(Subject.class, 0, EMAIL.subject)
+                .withMemoizedCustomPrimitive(Body.class, 16)
+                .build();
+        Assert.assertEquals(1, subjectSerializations.get());
+        Assert.assertEquals(0, bodySerializations.get());
+
+        Assert.assertEquals(EMAIL_JSON, mapMate.serializer().serializeToJson(EMAIL));
+        Assert.assertEquals(EMAIL_JSON, mapMate.serializer().serializeToJson(EMAIL));
+        Assert.assertEquals(1, subjectSerializations.get());
+        Assert.assertEquals(1, bodySerializations.get());
+    }
+
+    @Test
+    public void testMemoizedCustomPrimitiveCacheSizeIsBounded() {
+        final IllegalArgumentException exception = Assert.assertThrows(IllegalArgumentException.class, () ->
+                memoizingCustomPrimitiveSerializer(Subject::serialize, Integer.MAX_VALUE, List.of()));
+        Assert.assertEquals("cacheSize must not exceed 1073741824 but was 2147483647", exception.getMessage());
+    }
 }
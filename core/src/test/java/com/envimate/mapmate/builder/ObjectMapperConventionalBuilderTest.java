@@ -26,10 +26,21 @@ import com.envimate.mapmate.builder.models.conventional.Email;
 import com.envimate.mapmate.builder.models.conventional.EmailAddress;
 import com.envimate.mapmate.builder.models.conventional.Subject;
 import com.envimate.mapmate.builder.validation.CustomTypeValidationException;
+import com.envimate.mapmate.deserialization.Projection;
+import com.envimate.mapmate.deserialization.validation.AggregatedValidationException;
+import com.envimate.mapmate.serialization.SerializationException;
+import com.envimate.mapmate.serialization.SerializationView;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Map;
+import java.util.Set;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonMarshaller.jacksonMarshallerJson;
+import static com.envimate.mapmate.marshalling.MarshallingType.json;
+import static com.envimate.mapmate.serialization.SerializationView.serializationView;
+
 public final class ObjectMapperConventionalBuilderTest {
 
     public static final String EMAIL_JSON = "{" +
@@ -65,4 +76,75 @@ public final class ObjectMapperConventionalBuilderTest {
         final Email result = theConventionalMapMateInstanceWithObjectMapper().deserializeJson(EMAIL_JSON, Email.class);
         Assert.assertEquals(EMAIL, result);
     }
+
+    @Test
+    public void testEmailSerializationWithView() throws Exception {
+        final SerializationView summary = serializationView("summary").including(Email.class, "sender", "subject");
+        final String result = theConventionalMapMateInstanceWithObjectMapper()
+                .serializer()
+                .serialize(EMAIL, json(), summary);
+        Assert.assertEquals(Map.of("sender", "sender@example.com", "subject", "Hello"),
+                new ObjectMapper().readValue(result, Map.class));
+    }
+
+    @Test
+    public void testViewsRejectUnknownFields() {
+        final SerializationView typo = serializationView("typo").including(Email.class, "sender", "sendr");
+        final SerializationException exception = Assert.assertThrows(SerializationException.class,
+                () -> theConventionalMapMateInstanceWithObjectMapper().serializer().serialize(EMAIL, json(), typo));
+        Assert.assertTrue(exception.getMessage().startsWith("The view 'typo' includes the fields [sendr] of " +
+                "'com.envimate.mapmate.builder.models.conventional.Email', but its serialized fields are ["));
+
+        final SerializationView primitive = serializationView("primitive").including(Subject.class, "value");
+        Assert.assertThrows(SerializationException.class,
+                () -> theConventionalMapMateInstanceWithObjectMapper().serializer().serialize(EMAIL, json(), primitive));
+    }
+
+    @Test
+    public void testEmailDiffAndPatch() {
+        final MapMate mapMate = theConventionalMapMateInstanceWithObjectMapper();
+        final Email changed = Email.deserialize(EMAIL.sender, EMAIL.receiver,
+                Subject.fromStringValue("Hello again"), EMAIL.body);
+
+        final Map<String, Object> patch = mapMate.diff(EMAIL, changed);
+        Assert.assertEquals(Map.of("subject", "Hello again"), patch);
+        Assert.assertEquals(Map.of(), mapMate.diff(EMAIL, Email.deserialize(
+                EmailAddress.fromStringValue("sender@example.com"), EMAIL.receiver, EMAIL.subject, EMAIL.body)));
+
+        final Email patched = mapMate.applyPatch(EMAIL, patch);
+        Assert.assertEquals(changed, patched);
+        Assert.assertSame(EMAIL.sender, patched.sender);
+        Assert.assertSame(EMAIL.body, patched.body);
+    }
+
+    @Test
+    public void testEmailProjectionOnlyValidatesRequestedPaths() {
+        final String json = EMAIL_JSON.replace("receiver@example.com", "not an email address");
+        final Projection result = theConventionalMapMateInstanceWithObjectMapper()
+                .deserializer()
+                .deserializeProjection(json, Email.class, json(), Set.of("sender", "subject"));
+        Assert.assertEquals(EmailAddress.fromStringValue("sender@example.com"), result.get("sender", EmailAddress.class));
+        Assert.assertEquals(Subject.fromStringValue("Hello"), result.get("subject", Subject.class));
+        Assert.assertFalse(result.contains("receiver"));
+    }
+
+    @Test
+    public void testEmailProjectionWithJacksonRecipe() {
+        final MapMate mapMate = MapMate.aMapMate("com.envimate.mapmate.builder.models")
+                .usingRecipe(jacksonMarshallerJson(new ObjectMapper()))
+                .withExceptionIndicatingValidationError(CustomTypeValidationException.class)
+                .build();
+        final Projection result = mapMate
+                .deserializer()
+                .deserializeProjection(EMAIL_JSON, Email.class, json(), Set.of("body"));
+        Assert.assertEquals(Body.fromStringValue("Hello World!!!"), result.get("body", Body.class));
+
+        final String json = EMAIL_JSON.replace("sender@example.com", "not an email address");
+        try {
+            mapMate.deserializer().deserializeProjection(json, Email.class, json(), Set.of("sender"));
+            Assert.fail("expected the requested path to be validated");
+        } catch (final AggregatedValidationException e) {
+            Assert.assertEquals("sender", e.getValidationErrors().get(0).propertyPath);
+        }
+    }
 }
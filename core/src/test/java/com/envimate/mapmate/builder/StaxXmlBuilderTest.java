@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.builder;
+
+import com.envimate.mapmate.builder.models.conventional.Body;
+import com.envimate.mapmate.builder.models.conventional.Email;
+import com.envimate.mapmate.builder.models.conventional.EmailAddress;
+import com.envimate.mapmate.builder.models.conventional.Subject;
+import com.envimate.mapmate.builder.validation.CustomTypeValidationException;
+import com.envimate.mapmate.deserialization.DeserializationResult;
+import com.envimate.mapmate.deserialization.IncrementalDeserialization;
+import com.envimate.mapmate.deserialization.validation.ValidationError;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.envimate.mapmate.builder.recipes.manualregistry.ManualRegistry.manuallyRegisteredTypes;
+import static com.envimate.mapmate.builder.recipes.marshallers.xml.StaxXmlMarshallerRecipe.staxXmlMarshaller;
+import static com.envimate.mapmate.marshalling.MarshallingType.xml;
+import static com.envimate.mapmate.marshalling.RecordFraming.TOP_LEVEL_ARRAY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+public final class StaxXmlBuilderTest {
+
+    public static final String EMAIL_XML = "<root>" +
+            "<receiver>receiver@example.com</receiver>" +
+            "<body>Hello World!!!</body>" +
+            "<sender>sender@example.com</sender>" +
+            "<subject>Hello</subject>" +
+            "</root>";
+    public static final String EMAILS_XML = "<root>" +
+            "<item>" +
+            "<receiver>receiver@example.com</receiver>" +
+            "<body>Hello World!!!</body>" +
+            "<sender>sender@example.com</sender>" +
+            "<subject>Hello</subject>" +
+            "</item>" +
+            "</root>";
+    public static final String EMAIL_XML_WITH_ATTRIBUTES = "<?xml version=\"1.0\"?>\n" +
+            "<email receiver=\"receiver@example.com\" sender=\"sender@example.com\">\n" +
+            "  <!-- partner format -->\n" +
+            "  <subject>Hello</subject>\n" +
+            "  <body><![CDATA[Hello World!!!]]></body>\n" +
+            "</email>\n";
+    public static final Email EMAIL = Email.deserialize(
+            EmailAddress.fromStringValue("sender@example.com"),
+            EmailAddress.fromStringValue("receiver@example.com"),
+            Subject.fromStringValue("Hello"),
+            Body.fromStringValue("Hello World!!!")
+    );
+
+    public static MapMate theStaxXmlMapMateInstance() {
+        return MapMate.aMapMate("com.envimate.mapmate.builder.models")
+                .usingRecipe(staxXmlMarshaller())
+                .withExceptionIndicatingValidationError(CustomTypeValidationException.class)
+                .build();
+    }
+
+    private static MapMate theStaxXmlMapMateForStrings() {
+        return MapMate.aMapMate()
+                .usingRecipe(manuallyRegisteredTypes()
+                        .withCustomPrimitive(String.class, string -> string, string -> string))
+                .usingRecipe(staxXmlMarshaller())
+                .build();
+    }
+
+    @Test
+    public void testEmailSerialization() {
+        final String result = theStaxXmlMapMateInstance().serializeToXml(EMAIL);
+        Assert.assertEquals(EMAIL_XML, result);
+    }
+
+    @Test
+    public void testEmailDeserialization() {
+        final Email result = theStaxXmlMapMateInstance().deserializeXml(EMAIL_XML, Email.class);
+        Assert.assertEquals(EMAIL, result);
+    }
+
+    @Test
+    public void testEmailArraySerialization() {
+        final String result = theStaxXmlMapMateInstance().serializeToXml(new Email[]{EMAIL});
+        Assert.assertEquals(EMAILS_XML, result);
+    }
+
+    @Test
+    public void testEmailDeserializationFromAttributesAndStream() {
+        final Email result = theStaxXmlMapMateInstance()
+                .deserializer()
+                .deserialize(new ByteArrayInputStream(EMAIL_XML_WITH_ATTRIBUTES.getBytes(UTF_8)), Email.class, xml());
+        Assert.assertEquals(EMAIL, result);
+    }
+
+    @Test
+    public void testEmptyContainersRoundTrip() {
+        final MapMate mapMate = theStaxXmlMapMateForStrings();
+        final Map<String, Object> given = Map.of("list", List.of(), "map", Map.of(), "array", new String[0]);
+        final String xml = mapMate.serializer().serialize(given, xml());
+        Assert.assertEquals(Map.of("list", List.of(), "map", Map.of(), "array", List.of()),
+                mapMate.deserializer().deserializeToMap(xml, xml()));
+    }
+
+    @Test
+    public void testMapWithItemKeyRoundTrip() {
+        final MapMate mapMate = theStaxXmlMapMateForStrings();
+        final Map<String, Object> given = Map.of(
+                "nested", Map.of("item", "x"),
+                "items", List.of("a", "b"));
+        final String xml = mapMate.serializer().serialize(given, xml());
+        Assert.assertEquals(given, mapMate.deserializer().deserializeToMap(xml, xml()));
+    }
+
+    @Test
+    public void testStreamingElementsSkipsInvalidRecords() {
+        final String input = EMAILS_XML.replace("</root>", "") +
+                EMAILS_XML.replace("<root>", "").replace("sender@example.com", "sender");
+        final List<ValidationError> errors = new ArrayList<>();
+        try (Stream<Email> result = theStaxXmlMapMateInstance()
+                .deserializer()
+                .stream(new ByteArrayInputStream(input.getBytes(UTF_8)), Email.class, xml(), TOP_LEVEL_ARRAY, errors::addAll)) {
+            Assert.assertEquals(List.of(EMAIL), result.collect(toList()));
+        }
+        Assert.assertEquals(1, errors.size());
+        Assert.assertEquals("[1].sender", errors.get(0).propertyPath);
+    }
+
+    @Test
+    public void testIncrementalDeserializationReportsValidationErrors() {
+        final IncrementalDeserialization<Email> deserialization = theStaxXmlMapMateInstance()
+                .deserializer()
+                .deserializeIncrementally(Email.class, xml());
+        final String input = EMAIL_XML.replace("sender@example.com", "sender");
+        deserialization.feed(ByteBuffer.wrap(input.substring(0, 20).getBytes(UTF_8)));
+        deserialization.feed(ByteBuffer.wrap(input.substring(20).getBytes(UTF_8)));
+        final DeserializationResult<Email> result = deserialization.complete();
+        Assert.assertFalse(result.isValid());
+        Assert.assertEquals("sender", result.validationResult().validationErrors().get(0).propertyPath);
+    }
+}
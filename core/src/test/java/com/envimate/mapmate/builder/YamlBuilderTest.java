@@ -26,11 +26,22 @@ import com.envimate.mapmate.builder.models.conventional.Email;
 import com.envimate.mapmate.builder.models.conventional.EmailAddress;
 import com.envimate.mapmate.builder.models.conventional.Subject;
 import com.envimate.mapmate.builder.validation.CustomTypeValidationException;
+import com.envimate.mapmate.deserialization.validation.AggregatedValidationException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonMarshaller.jacksonMarshallerYaml;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
 public final class YamlBuilderTest {
 
     public static final String EMAIL_XML = "---\n" +
@@ -65,4 +76,37 @@ public final class YamlBuilderTest {
         final Email result = theYamlMapMateInstance().deserializeJson(EMAIL_XML, Email.class);
         Assert.assertEquals(EMAIL, result);
     }
+
+    @Test
+    public void testMultipleEmailDocumentsDeserialization() {
+        final String yaml = EMAIL_XML + EMAIL_XML + EMAIL_XML;
+        try (Stream<Email> result = theYamlRecipeMapMateInstance()
+                .deserializeYamlDocuments(new StringReader(yaml), Email.class)) {
+            Assert.assertEquals(List.of(EMAIL, EMAIL, EMAIL), result.collect(toList()));
+        }
+    }
+
+    @Test
+    public void testValidationErrorsAreReportedPerDocument() {
+        final String yaml = EMAIL_XML + EMAIL_XML.replace("sender@example.com", "sender");
+        final Iterator<Email> result = theYamlRecipeMapMateInstance()
+                .deserializeYamlDocuments(new ByteArrayInputStream(yaml.getBytes(UTF_8)), Email.class)
+                .iterator();
+        Assert.assertEquals(EMAIL, result.next());
+        try {
+            result.next();
+            Assert.fail("should throw validation exception");
+        } catch (final AggregatedValidationException e) {
+            Assert.assertEquals(1, e.getValidationErrors().size());
+            Assert.assertEquals("[1].sender", e.getValidationErrors().get(0).propertyPath);
+        }
+        Assert.assertFalse(result.hasNext());
+    }
+
+    private static MapMate theYamlRecipeMapMateInstance() {
+        return MapMate.aMapMate("com.envimate.mapmate.builder.models")
+                .usingRecipe(jacksonMarshallerYaml(new ObjectMapper(new YAMLFactory())))
+                .withExceptionIndicatingValidationError(CustomTypeValidationException.class)
+                .build();
+    }
 }
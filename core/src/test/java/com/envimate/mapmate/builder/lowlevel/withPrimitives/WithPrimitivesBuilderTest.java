@@ -22,13 +22,48 @@
 package com.envimate.mapmate.builder.lowlevel.withPrimitives;
 
 import com.envimate.mapmate.builder.MapMate;
+import com.envimate.mapmate.deserialization.DeserializationResult;
+import com.envimate.mapmate.deserialization.IncrementalDeserialization;
+import com.envimate.mapmate.deserialization.IngestionPipeline;
+import com.envimate.mapmate.marshalling.PayloadLimit;
+import com.envimate.mapmate.marshalling.PayloadLimitExceededException;
+import com.envimate.mapmate.marshalling.tape.Tape;
+import com.envimate.mapmate.marshalling.tape.TapeCursor;
+import com.envimate.mapmate.marshalling.tape.TapeSegmentPool;
+import com.envimate.mapmate.marshalling.tape.TapeToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
 import static com.envimate.mapmate.builder.recipes.manualregistry.ManualRegistry.manuallyRegisteredTypes;
 import static com.envimate.mapmate.builder.recipes.marshallers.jackson.JacksonMarshaller.jacksonMarshallerJson;
+import static com.envimate.mapmate.builder.recipes.primitives.BuiltInPrimitiveSerializedAsScalarSupport.builtInPrimitiveSerializedAsScalarSupport;
 import static com.envimate.mapmate.builder.recipes.primitives.BuiltInPrimitiveSerializedAsStringSupport.builtInPrimitiveSerializedAsStringSupport;
+import static com.envimate.mapmate.deserialization.IngestionPipeline.ingestionPipeline;
+import static com.envimate.mapmate.marshalling.MarshallingType.json;
+import static com.envimate.mapmate.marshalling.MarshallingType.yaml;
+import static com.envimate.mapmate.marshalling.PayloadLimits.unlimitedPayloads;
+import static com.envimate.mapmate.marshalling.RecordFraming.NEWLINE_DELIMITED;
+import static com.envimate.mapmate.marshalling.RecordFraming.TOP_LEVEL_ARRAY;
+import static com.envimate.mapmate.marshalling.tape.Tape.tape;
+import static com.envimate.mapmate.marshalling.tape.TapeSegmentPool.tapeSegmentPool;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
 
 public final class WithPrimitivesBuilderTest {
     private static final String JSON_WITH_STRING_SERIALIZED_PRIMITIVES = "{" +
@@ -80,11 +115,32 @@ public final class WithPrimitivesBuilderTest {
     );
 
     private static final MapMate MAP_MATE = MapMate.aMapMate()
+            .usingRecipe(manuallyRegisteredTypes()
+                    .withSerializedObjects(SerializedObjectWithPrimitives.class, SerializedObjectWithPrimitiveArrays.class)
+            )
+            .usingRecipe(builtInPrimitiveSerializedAsStringSupport())
+            .usingRecipe(jacksonMarshallerJson(new ObjectMapper()))
+            .build();
+
+    private static final MapMate SCALAR_MAP_MATE = MapMate.aMapMate()
+            .usingRecipe(manuallyRegisteredTypes()
+                    .withSerializedObjects(SerializedObjectWithPrimitives.class)
+            )
+            .usingRecipe(builtInPrimitiveSerializedAsScalarSupport())
+            .usingRecipe(jacksonMarshallerJson(new ObjectMapper()).withNativeScalars())
+            .build();
+
+    private static final MapMate LIMITED_MAP_MATE = MapMate.aMapMate()
             .usingRecipe(manuallyRegisteredTypes()
                     .withSerializedObjects(SerializedObjectWithPrimitives.class)
             )
             .usingRecipe(builtInPrimitiveSerializedAsStringSupport())
             .usingRecipe(jacksonMarshallerJson(new ObjectMapper()))
+            .withPayloadLimits(unlimitedPayloads()
+                    .withMaxDepth(1)
+                    .withMaxFieldCount(13)
+                    .withMaxStringLength(16)
+                    .withMaxInputSize(1024))
             .build();
 
     @Test
@@ -110,4 +166,425 @@ public final class WithPrimitivesBuilderTest {
                 .deserializeJson(JSON_WITH_SERIALIZED_PRIMITIVES, SerializedObjectWithPrimitives.class);
         Assert.assertEquals(SERIALIZED_OBJECT, result);
     }
+
+    @Test
+    public void testSerializationOfNativeScalars() {
+        final String result = SCALAR_MAP_MATE
+                .serializer()
+                .serializeToJson(SERIALIZED_OBJECT);
+        Assert.assertEquals(JSON_WITH_SERIALIZED_PRIMITIVES.replace("\"stringObject\":23", "\"stringObject\":\"23\""),
+                result);
+        final SerializedObjectWithPrimitives deserialized = SCALAR_MAP_MATE
+                .deserializer()
+                .deserializeJson(result, SerializedObjectWithPrimitives.class);
+        Assert.assertEquals(SERIALIZED_OBJECT, deserialized);
+    }
+
+    @Test
+    public void testDeserializationOfStringSerializedPrimitivesAsNativeScalars() {
+        final SerializedObjectWithPrimitives result = SCALAR_MAP_MATE
+                .deserializer()
+                .deserializeJson(JSON_WITH_STRING_SERIALIZED_PRIMITIVES, SerializedObjectWithPrimitives.class);
+        Assert.assertEquals(SERIALIZED_OBJECT, result);
+    }
+
+    @Test
+    public void testPrimitiveArrays() {
+        final SerializedObjectWithPrimitiveArrays arrays = SerializedObjectWithPrimitiveArrays.deserialize(
+                new double[]{1.5, -2.25, 3.0}, new int[]{7, 8});
+        final String json = MAP_MATE.serializer().serializeToJson(arrays);
+        Assert.assertTrue(json, json.contains("\"doubles\":[1.5,-2.25,3.0]"));
+        Assert.assertEquals(arrays, MAP_MATE.deserializer().deserializeJson(json, SerializedObjectWithPrimitiveArrays.class));
+        Assert.assertEquals(arrays, MAP_MATE.deserializer().deserializeJson(
+                "{\"doubles\":[\"1.5\",-2.25,3],\"ints\":[7,\"8\"]}", SerializedObjectWithPrimitiveArrays.class));
+    }
+
+    @Test
+    public void testSerializationToBytes() {
+        final byte[] result = MAP_MATE
+                .serializer()
+                .serializeToBytes(SERIALIZED_OBJECT, json());
+        Assert.assertEquals(JSON_WITH_STRING_SERIALIZED_PRIMITIVES, new String(result, UTF_8));
+    }
+
+    @Test
+    public void testSerializationToOutputStream() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        MAP_MATE
+                .serializer()
+                .serialize(SERIALIZED_OBJECT, json(), outputStream);
+        Assert.assertEquals(JSON_WITH_STRING_SERIALIZED_PRIMITIVES, outputStream.toString(UTF_8));
+    }
+
+    @Test
+    public void testStreamsOwnedByTheCallerAreNotClosed() {
+        final AtomicBoolean outputClosed = new AtomicBoolean();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                outputClosed.set(true);
+            }
+        };
+        MAP_MATE.serializer().serialize(SERIALIZED_OBJECT, json(), outputStream);
+        MAP_MATE.serializer().serializeThroughTape(SERIALIZED_OBJECT, json(), outputStream);
+        Assert.assertFalse(outputClosed.get());
+
+        final AtomicBoolean inputClosed = new AtomicBoolean();
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(JSON_WITH_SERIALIZED_PRIMITIVES.getBytes(UTF_8)) {
+            @Override
+            public void close() {
+                inputClosed.set(true);
+            }
+        };
+        Assert.assertEquals(SERIALIZED_OBJECT,
+                MAP_MATE.deserializer().deserialize(inputStream, SerializedObjectWithPrimitives.class, json()));
+        inputStream.reset();
+        Assert.assertEquals(SERIALIZED_OBJECT,
+                MAP_MATE.deserializer().deserializeThroughTape(inputStream, SerializedObjectWithPrimitives.class, json()));
+        Assert.assertFalse(inputClosed.get());
+    }
+
+    @Test
+    public void testObjectMapperSubclassesWithoutCopySupport() {
+        final ObjectMapper subclass = new UncopyableObjectMapper();
+        final MapMate mapMate = MapMate.aMapMate()
+                .usingRecipe(manuallyRegisteredTypes()
+                        .withSerializedObjects(SerializedObjectWithPrimitives.class)
+                )
+                .usingRecipe(builtInPrimitiveSerializedAsStringSupport())
+                .usingRecipe(jacksonMarshallerJson(subclass))
+                .build();
+
+        final AtomicBoolean outputClosed = new AtomicBoolean();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                outputClosed.set(true);
+            }
+        };
+        mapMate.serializer().serialize(SERIALIZED_OBJECT, json(), outputStream);
+        Assert.assertEquals(JSON_WITH_STRING_SERIALIZED_PRIMITIVES, outputStream.toString(UTF_8));
+        Assert.assertFalse(outputClosed.get());
+        Assert.assertEquals(SERIALIZED_OBJECT,
+                mapMate.deserializer().deserializeJson(JSON_WITH_SERIALIZED_PRIMITIVES, SerializedObjectWithPrimitives.class));
+    }
+
+    private static final class UncopyableObjectMapper extends ObjectMapper {
+        private static final long serialVersionUID = 1L;
+    }
+
+    @Test
+    public void testSerializationAndDeserializationThroughTape() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        MAP_MATE.serializer().serializeThroughTape(SERIALIZED_OBJECT, json(), outputStream);
+        Assert.assertEquals(JSON_WITH_STRING_SERIALIZED_PRIMITIVES, outputStream.toString(UTF_8));
+
+        final SerializedObjectWithPrimitives result = MAP_MATE.deserializer().deserializeThroughTape(
+                new ByteArrayInputStream(JSON_WITH_SERIALIZED_PRIMITIVES.getBytes(UTF_8)),
+                SerializedObjectWithPrimitives.class,
+                json());
+        Assert.assertEquals(SERIALIZED_OBJECT, result);
+
+        final ByteArrayOutputStream scalarOutputStream = new ByteArrayOutputStream();
+        SCALAR_MAP_MATE.serializer().serializeThroughTape(SERIALIZED_OBJECT, json(), scalarOutputStream);
+        Assert.assertEquals(SCALAR_MAP_MATE.serializer().serializeToJson(SERIALIZED_OBJECT),
+                scalarOutputStream.toString(UTF_8));
+    }
+
+    @Test
+    public void testTapeSpanningManySmallSegments() {
+        final TapeSegmentPool pool = tapeSegmentPool(16, 2);
+        final SerializedObjectWithPrimitiveArrays arrays = SerializedObjectWithPrimitiveArrays.deserialize(
+                new double[]{1.5, -2.25, 3.0}, new int[]{7, 8});
+        final Tape tape = tape(pool);
+        try (tape) {
+            MAP_MATE.serializer().serializeToTape(SERIALIZED_OBJECT, tape);
+            Assert.assertEquals(MAP_MATE.serializer().serializeToMap(SERIALIZED_OBJECT), tape.root());
+            Assert.assertEquals(SERIALIZED_OBJECT,
+                    MAP_MATE.deserializer().deserializeFromTape(tape, SerializedObjectWithPrimitives.class));
+        }
+        Assert.assertEquals(2, pool.pooledSegments());
+        try (Tape arraysTape = tape(pool)) {
+            MAP_MATE.serializer().serializeToTape(arrays, arraysTape);
+            final TapeCursor cursor = arraysTape.cursor();
+            Assert.assertEquals(TapeToken.START_OBJECT, cursor.next());
+            Assert.assertEquals(TapeToken.FIELD_NAME, cursor.next());
+            Assert.assertEquals("doubles", cursor.text());
+            Assert.assertEquals(TapeToken.START_ARRAY, cursor.next());
+            Assert.assertEquals(3, cursor.childCount());
+            cursor.skipChildren();
+            Assert.assertEquals(TapeToken.FIELD_NAME, cursor.next());
+            Assert.assertEquals("ints", cursor.text());
+            Assert.assertEquals(arrays,
+                    MAP_MATE.deserializer().deserializeFromTape(arraysTape, SerializedObjectWithPrimitiveArrays.class));
+        }
+        try {
+            tape.root();
+            Assert.fail("expected the closed tape to be unusable");
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("The tape has already been closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testThroughTapeUsesTheConfiguredSegmentPool() {
+        final TapeSegmentPool pool = tapeSegmentPool(16, 3);
+        final MapMate mapMate = MapMate.aMapMate()
+                .usingRecipe(manuallyRegisteredTypes()
+                        .withSerializedObjects(SerializedObjectWithPrimitives.class)
+                )
+                .usingRecipe(builtInPrimitiveSerializedAsStringSupport())
+                .usingRecipe(jacksonMarshallerJson(new ObjectMapper()))
+                .withTapeSegmentPool(pool)
+                .build();
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        mapMate.serializer().serializeThroughTape(SERIALIZED_OBJECT, json(), outputStream);
+        Assert.assertEquals(JSON_WITH_STRING_SERIALIZED_PRIMITIVES, outputStream.toString(UTF_8));
+        Assert.assertEquals(3, pool.pooledSegments());
+
+        Assert.assertEquals(SERIALIZED_OBJECT, mapMate.deserializer().deserializeThroughTape(
+                new ByteArrayInputStream(JSON_WITH_SERIALIZED_PRIMITIVES.getBytes(UTF_8)),
+                SerializedObjectWithPrimitives.class,
+                json()));
+        Assert.assertEquals(3, pool.pooledSegments());
+    }
+
+    @Test
+    public void testPayloadsWithinTheLimits() {
+        Assert.assertEquals(SERIALIZED_OBJECT, LIMITED_MAP_MATE.deserializer()
+                .deserializeJson(JSON_WITH_SERIALIZED_PRIMITIVES, SerializedObjectWithPrimitives.class));
+        Assert.assertEquals(SERIALIZED_OBJECT, LIMITED_MAP_MATE.deserializer().deserializeThroughTape(
+                new ByteArrayInputStream(JSON_WITH_SERIALIZED_PRIMITIVES.getBytes(UTF_8)),
+                SerializedObjectWithPrimitives.class,
+                json()));
+    }
+
+    @Test
+    public void testPayloadLimitsAbortParsingEarly() {
+        final String tooManyFieldsThenGarbage = JSON_WITH_SERIALIZED_PRIMITIVES.replace("}", ",\"extra\":1,@@@");
+        assertPayloadLimitExceeded(PayloadLimit.FIELD_COUNT, () -> LIMITED_MAP_MATE.deserializer()
+                .deserializeJson(tooManyFieldsThenGarbage, SerializedObjectWithPrimitives.class));
+        assertPayloadLimitExceeded(PayloadLimit.FIELD_COUNT, () -> LIMITED_MAP_MATE.deserializer().deserializeThroughTape(
+                new ByteArrayInputStream(tooManyFieldsThenGarbage.getBytes(UTF_8)),
+                SerializedObjectWithPrimitives.class,
+                json()));
+
+        final String nestedThenGarbage = JSON_WITH_SERIALIZED_PRIMITIVES.replace("\"stringObject\":23", "\"stringObject\":[@@@");
+        assertPayloadLimitExceeded(PayloadLimit.DEPTH, () -> LIMITED_MAP_MATE.deserializer()
+                .deserializeJson(nestedThenGarbage, SerializedObjectWithPrimitives.class));
+
+        final String longString = JSON_WITH_SERIALIZED_PRIMITIVES.replace("\"stringObject\":23", "\"stringObject\":\"23456789012345678\"");
+        assertPayloadLimitExceeded(PayloadLimit.STRING_LENGTH, () -> LIMITED_MAP_MATE.deserializer()
+                .stream(new ByteArrayInputStream(longString.getBytes(UTF_8)), SerializedObjectWithPrimitives.class,
+                        json(), NEWLINE_DELIMITED)
+                .count());
+
+        final StringBuilder records = new StringBuilder();
+        for (int i = 0; i < 10; ++i) {
+            records.append(JSON_WITH_SERIALIZED_PRIMITIVES).append('\n');
+        }
+        assertPayloadLimitExceeded(PayloadLimit.INPUT_SIZE, () -> LIMITED_MAP_MATE.deserializer()
+                .stream(new ByteArrayInputStream(records.toString().getBytes(UTF_8)), SerializedObjectWithPrimitives.class,
+                        json(), NEWLINE_DELIMITED)
+                .count());
+    }
+
+    @Test
+    public void testDeserializationFromBytes() {
+        final SerializedObjectWithPrimitives result = MAP_MATE
+                .deserializer()
+                .deserialize(JSON_WITH_SERIALIZED_PRIMITIVES.getBytes(UTF_8), SerializedObjectWithPrimitives.class, json());
+        Assert.assertEquals(SERIALIZED_OBJECT, result);
+    }
+
+    @Test
+    public void testDeserializationFromInputStream() {
+        final InputStream inputStream = new ByteArrayInputStream(JSON_WITH_STRING_SERIALIZED_PRIMITIVES.getBytes(UTF_8));
+        final SerializedObjectWithPrimitives result = MAP_MATE
+                .deserializer()
+                .deserialize(inputStream, SerializedObjectWithPrimitives.class, json());
+        Assert.assertEquals(SERIALIZED_OBJECT, result);
+    }
+
+    @Test
+    public void testStreamingNewlineDelimitedRecords() {
+        final String input = JSON_WITH_STRING_SERIALIZED_PRIMITIVES + "\n" + JSON_WITH_SERIALIZED_PRIMITIVES + "\n";
+        try (Stream<SerializedObjectWithPrimitives> result = MAP_MATE
+                .deserializer()
+                .stream(new ByteArrayInputStream(input.getBytes(UTF_8)), SerializedObjectWithPrimitives.class,
+                        json(), NEWLINE_DELIMITED)) {
+            Assert.assertEquals(List.of(SERIALIZED_OBJECT, SERIALIZED_OBJECT), result.collect(toList()));
+        }
+    }
+
+    @Test
+    public void testStreamingTopLevelArrayElements() {
+        final String input = "[" + JSON_WITH_STRING_SERIALIZED_PRIMITIVES + "," + JSON_WITH_SERIALIZED_PRIMITIVES + "]";
+        try (Stream<SerializedObjectWithPrimitives> result = MAP_MATE
+                .deserializer()
+                .stream(new ByteArrayInputStream(input.getBytes(UTF_8)), SerializedObjectWithPrimitives.class, json())) {
+            Assert.assertEquals(List.of(SERIALIZED_OBJECT, SERIALIZED_OBJECT), result.collect(toList()));
+        }
+    }
+
+    @Test
+    public void testSerializingAStreamAsNewlineDelimitedRecords() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final AtomicBoolean streamClosed = new AtomicBoolean();
+        MAP_MATE
+                .serializer()
+                .serializeStream(Stream.of(SERIALIZED_OBJECT, SERIALIZED_OBJECT).onClose(() -> streamClosed.set(true)),
+                        json(), outputStream, NEWLINE_DELIMITED);
+        Assert.assertEquals(
+                JSON_WITH_STRING_SERIALIZED_PRIMITIVES + "\n" + JSON_WITH_STRING_SERIALIZED_PRIMITIVES + "\n",
+                outputStream.toString(UTF_8));
+        Assert.assertTrue(streamClosed.get());
+    }
+
+    @Test
+    public void testSerializingAnIteratorAsTopLevelArray() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        MAP_MATE
+                .serializer()
+                .serializeStream(List.of(SERIALIZED_OBJECT, SERIALIZED_OBJECT).iterator(), json(), outputStream,
+                        TOP_LEVEL_ARRAY, 1);
+        Assert.assertEquals(
+                "[" + JSON_WITH_STRING_SERIALIZED_PRIMITIVES + "," + JSON_WITH_STRING_SERIALIZED_PRIMITIVES + "]",
+                outputStream.toString(UTF_8));
+    }
+
+    @Test
+    public void testSerializingAStreamRejectsMarshallingTypesWithoutRecordFraming() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final AtomicBoolean streamClosed = new AtomicBoolean();
+        final UnsupportedOperationException exception = Assert.assertThrows(UnsupportedOperationException.class,
+                () -> MAP_MATE.serializer().serializeStream(
+                        Stream.of(SERIALIZED_OBJECT).onClose(() -> streamClosed.set(true)), yaml(), outputStream,
+                        NEWLINE_DELIMITED));
+        Assert.assertEquals("Record framing is only defined for json, not for 'yaml'", exception.getMessage());
+        Assert.assertEquals(0, outputStream.size());
+        Assert.assertTrue(streamClosed.get());
+    }
+
+    @Test
+    public void testIngestingRecordsInParallel() {
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100; ++i) {
+            input.append(i % 2 == 0 ? JSON_WITH_STRING_SERIALIZED_PRIMITIVES : JSON_WITH_SERIALIZED_PRIMITIVES).append('\n');
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final IngestionPipeline pipeline = ingestionPipeline(executor, 8);
+        try (Stream<SerializedObjectWithPrimitives> result = MAP_MATE
+                .deserializer()
+                .ingest(new ByteArrayInputStream(input.toString().getBytes(UTF_8)), SerializedObjectWithPrimitives.class,
+                        json(), NEWLINE_DELIMITED, pipeline)) {
+            Assert.assertEquals(100, result.filter(SERIALIZED_OBJECT::equals).count());
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(100, pipeline.metrics().recordsParsed());
+        Assert.assertEquals(100, pipeline.metrics().recordsDeserialized());
+        Assert.assertEquals(0, pipeline.metrics().recordsRejected());
+    }
+
+    @Test
+    public void testParseFailuresCancelRecordsInFlight() {
+        final String input = JSON_WITH_SERIALIZED_PRIMITIVES + "\n" + JSON_WITH_SERIALIZED_PRIMITIVES + "\n@@@\n";
+        final AtomicBoolean inputClosed = new AtomicBoolean();
+        final InputStream inputStream = new ByteArrayInputStream(input.getBytes(UTF_8)) {
+            @Override
+            public void close() {
+                inputClosed.set(true);
+            }
+        };
+        final List<Runnable> notYetRun = new ArrayList<>();
+        final IngestionPipeline pipeline = ingestionPipeline(notYetRun::add, 8).unordered();
+        final Stream<SerializedObjectWithPrimitives> result = MAP_MATE
+                .deserializer()
+                .ingest(inputStream, SerializedObjectWithPrimitives.class, json(), NEWLINE_DELIMITED, pipeline);
+        Assert.assertThrows(RuntimeException.class, result::count);
+        Assert.assertTrue(inputClosed.get());
+        Assert.assertEquals(2, notYetRun.size());
+        notYetRun.forEach(Runnable::run);
+        Assert.assertEquals(2, pipeline.metrics().recordsParsed());
+        Assert.assertEquals(0, pipeline.metrics().recordsDeserialized());
+    }
+
+    @Test
+    public void testIncrementalDeserializationFromChunks() {
+        final byte[] input = JSON_WITH_SERIALIZED_PRIMITIVES.getBytes(UTF_8);
+        final IncrementalDeserialization<SerializedObjectWithPrimitives> deserialization = MAP_MATE
+                .deserializer()
+                .deserializeIncrementally(SerializedObjectWithPrimitives.class, json());
+        for (int offset = 0; offset < input.length; offset += 7) {
+            final int length = Math.min(7, input.length - offset);
+            final ByteBuffer chunk = offset % 2 == 0 ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+            chunk.put(input, offset, length).flip();
+            deserialization.feed(chunk);
+        }
+        final DeserializationResult<SerializedObjectWithPrimitives> result = deserialization.complete();
+        Assert.assertTrue(result.isValid());
+        Assert.assertEquals(SERIALIZED_OBJECT, result.result());
+    }
+
+    @Test
+    public void testFlowProcessorsTranscodeChunkedRecords() throws Exception {
+        final byte[] input = ("[" + JSON_WITH_STRING_SERIALIZED_PRIMITIVES + "," + JSON_WITH_SERIALIZED_PRIMITIVES + "]")
+                .getBytes(UTF_8);
+        final Flow.Processor<ByteBuffer, SerializedObjectWithPrimitives> deserializing = MAP_MATE
+                .deserializer()
+                .processor(SerializedObjectWithPrimitives.class, json(), TOP_LEVEL_ARRAY, 1);
+        final Flow.Processor<SerializedObjectWithPrimitives, ByteBuffer> serializing = MAP_MATE
+                .serializer()
+                .processor(json(), NEWLINE_DELIMITED, 1);
+        final CompletableFuture<String> output = new CompletableFuture<>();
+        serializing.subscribe(new Flow.Subscriber<>() {
+            private final ByteArrayOutputStream collected = new ByteArrayOutputStream();
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer item) {
+                final byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                this.collected.writeBytes(bytes);
+                this.subscription.request(1);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                output.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                output.complete(this.collected.toString(UTF_8));
+            }
+        });
+        deserializing.subscribe(serializing);
+        try (SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(deserializing);
+            for (int offset = 0; offset < input.length; offset += 11) {
+                publisher.submit(ByteBuffer.wrap(input, offset, Math.min(11, input.length - offset)));
+            }
+        }
+        Assert.assertEquals(
+                JSON_WITH_STRING_SERIALIZED_PRIMITIVES + "\n" + JSON_WITH_STRING_SERIALIZED_PRIMITIVES + "\n",
+                output.get(10, SECONDS));
+    }
+
+    private static void assertPayloadLimitExceeded(final PayloadLimit expectedLimit, final Runnable deserialization) {
+        try {
+            deserialization.run();
+            Assert.fail("expected the payload limit " + expectedLimit + " to be exceeded");
+        } catch (final PayloadLimitExceededException e) {
+            Assert.assertEquals(expectedLimit, e.limit());
+        }
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.envimate.mapmate.builder.recipes.marshallers.urlencoded;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.envimate.mapmate.builder.recipes.marshallers.urlencoded.KeyTrieNode.rootNode;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public final class KeyTrieNodeTest {
+
+    @Test
+    public void givenNestedKeys_whenMaterializing_thenBuildsMapsAndListsInIndexOrder() {
+        final KeyTrieNode root = rootNode();
+        root.child("list").child("1").setValueIfAbsent("b");
+        root.child("list").child("0").setValueIfAbsent("a");
+        root.child("map").child("key").setValueIfAbsent("value");
+        root.child("map").child("key").setValueIfAbsent("ignored");
+
+        assertThat(root.materialize(), is(Map.of(
+                "list", List.of("a", "b"),
+                "map", Map.of("key", "value"))));
+    }
+
+    @Test
+    public void givenAnIndexBeyondTheElementCount_whenMaterializing_thenThrows() {
+        final KeyTrieNode root = rootNode();
+        root.child("list").child("999999999").setValueIfAbsent("a");
+
+        assertThrows(InvalidUrlEncodedKeyException.class, root::materialize);
+    }
+
+    @Test
+    public void givenIndicesMixedWithKeys_whenMaterializing_thenThrows() {
+        final KeyTrieNode root = rootNode();
+        root.child("list").child("0").setValueIfAbsent("a");
+        root.child("list").child("key").setValueIfAbsent("b");
+
+        assertThrows(InvalidUrlEncodedKeyException.class, root::materialize);
+    }
+
+    @Test
+    public void givenTheSameIndexSpelledTwice_whenMaterializing_thenThrows() {
+        final KeyTrieNode root = rootNode();
+        root.child("list").child("0").setValueIfAbsent("a");
+        root.child("list").child("00").setValueIfAbsent("b");
+
+        assertThrows(InvalidUrlEncodedKeyException.class, root::materialize);
+    }
+
+    @Test
+    public void givenTooManyDigits_whenMaterializing_thenTreatsTheKeyAsAMapKey() {
+        final KeyTrieNode root = rootNode();
+        root.child("map").child("1234567890").setValueIfAbsent("a");
+
+        assertThat(root.materialize(), is(Map.of("map", Map.of("1234567890", "a"))));
+    }
+}
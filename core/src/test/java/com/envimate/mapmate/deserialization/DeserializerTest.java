@@ -24,24 +24,41 @@ package com.envimate.mapmate.deserialization;
 import com.envimate.mapmate.deserialization.methods.DeserializationCPMethod;
 import com.envimate.mapmate.deserialization.methods.DeserializationDTOMethod;
 import com.envimate.mapmate.deserialization.validation.AggregatedValidationException;
+import com.envimate.mapmate.deserialization.validation.UnrecognizedExceptionOccurredException;
 import com.envimate.mapmate.deserialization.validation.ValidationError;
 import com.envimate.mapmate.domain.scannablewithlist.DtoWithList;
 import com.envimate.mapmate.domain.valid.*;
+import com.envimate.mapmate.marshalling.PayloadLimit;
+import com.envimate.mapmate.marshalling.PayloadLimitExceededException;
+import com.envimate.mapmate.marshalling.tape.Tape;
 import com.envimate.mapmate.validators.CustomTypeValidationException;
 import com.google.gson.Gson;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.envimate.mapmate.Defaults.theDefaultDeserializer;
+import static com.envimate.mapmate.Defaults.theDefaultLimitedDeserializer;
+import static com.envimate.mapmate.Defaults.theDefaultParallelDeserializer;
+import static com.envimate.mapmate.Defaults.theDefaultReferencePreservingSerializer;
+import static com.envimate.mapmate.Defaults.theDefaultReferenceResolvingDeserializer;
+import static com.envimate.mapmate.Defaults.theDefaultSerializer;
 import static com.envimate.mapmate.deserialization.Deserializer.aDeserializer;
 import static com.envimate.mapmate.domain.valid.AComplexType.aComplexType;
+import static com.envimate.mapmate.domain.valid.ALinkedType.aLinkedType;
 import static com.envimate.mapmate.domain.valid.ANumber.fromInt;
 import static com.envimate.mapmate.domain.valid.AString.fromString;
 import static com.envimate.mapmate.domain.valid.AnException.anException;
 import static com.envimate.mapmate.filters.ClassFilters.*;
+import static com.envimate.mapmate.marshalling.tape.Tape.tape;
+import static com.envimate.mapmate.marshalling.MarshallingType.json;
+import static com.envimate.mapmate.marshalling.PayloadLimits.unlimitedPayloads;
 import static java.util.Arrays.asList;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static junit.framework.TestCase.fail;
 import static org.hamcrest.CoreMatchers.*;
@@ -105,6 +122,30 @@ public final class DeserializerTest {
         }
     }
 
+    @Test
+    public void givenComplexTypeWithInvalidArray_whenDeserializingInParallel_thenReportErrorsInIndexOrder() {
+        final StringBuilder given = new StringBuilder("{\"array\":[");
+        for (int i = 0; i < 200; ++i) {
+            given.append(i == 0 ? "" : ",").append('"').append(i % 60).append('"');
+        }
+        given.append("]}");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            theDefaultParallelDeserializer(executor).deserializeJson(given.toString(), AComplexTypeWithArray.class);
+            fail("should throw exception");
+        } catch (final AggregatedValidationException parallel) {
+            try {
+                theDefaultDeserializer().deserializeJson(given.toString(), AComplexTypeWithArray.class);
+                fail("should throw exception");
+            } catch (final AggregatedValidationException sequential) {
+                assertThat(parallel.getMessage(), is(equalTo(sequential.getMessage())));
+                assertThat(parallel.getValidationErrors().size(), is(equalTo(sequential.getValidationErrors().size())));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void givenComplexNestedTypeJson_whenDeserializing_thenReturnAComplexObject() {
         final String given = "{" +
@@ -576,6 +617,146 @@ public final class DeserializerTest {
         assertThat(result.complexType2.number2.internalValueForMapping(), is(equalTo("4")));
     }
 
+    @Test
+    public void givenAVeryDeepObjectGraph_whenSerializingAndDeserializing_thenDoesNotOverflowTheStack() {
+        final int depth = 20_000;
+        ALinkedType given = null;
+        for (int i = 0; i < depth; ++i) {
+            given = aLinkedType(fromString(String.valueOf(i % 10)), given);
+        }
+
+        final Map<String, Object> serialized = theDefaultSerializer().serializeToMap(given);
+        final ALinkedType result = theDefaultDeserializer().deserializeFromMap(serialized, ALinkedType.class);
+
+        int length = 0;
+        for (ALinkedType expected = given, actual = result;
+             expected != null;
+             expected = expected.next, actual = actual.next) {
+            assertThat(actual.value, is(equalTo(expected.value)));
+            ++length;
+        }
+        assertThat(length, is(depth));
+    }
+
+    @Test
+    public void givenAVeryDeepObjectGraph_whenGoingThroughATape_thenDoesNotOverflowTheStack() {
+        final int depth = 20_000;
+        ALinkedType given = null;
+        for (int i = 0; i < depth; ++i) {
+            given = aLinkedType(fromString(String.valueOf(i % 10)), given);
+        }
+
+        final ALinkedType result;
+        try (Tape tape = tape()) {
+            theDefaultSerializer().serializeToTape(given, tape);
+            assertThat(tape.isComplete(), is(true));
+            result = theDefaultDeserializer().deserializeFromTape(tape, ALinkedType.class);
+        }
+
+        int length = 0;
+        for (ALinkedType expected = given, actual = result;
+             expected != null;
+             expected = expected.next, actual = actual.next) {
+            assertThat(actual.value, is(equalTo(expected.value)));
+            ++length;
+        }
+        assertThat(length, is(depth));
+    }
+
+    @Test
+    public void givenASharedInstance_whenSerializingWithReferences_thenTheInstanceIsSerializedOnce() {
+        final AComplexType shared = aComplexType(fromString("a"), fromString("b"), fromInt(1), fromInt(2));
+        final AComplexNestedType given = AComplexNestedType.aComplexNestedType(shared, shared);
+
+        final Map<String, Object> serialized = theDefaultReferencePreservingSerializer().serializeToMap(given);
+        assertThat(Set.of(serialized.get("complexType1"), serialized.get("complexType2")), is(equalTo(Set.of(
+                Map.of("@id", "1", "stringA", "a", "stringB", "b", "number1", "1", "number2", "2"),
+                Map.of("@ref", "1")))));
+
+        final AComplexNestedType result = theDefaultReferenceResolvingDeserializer()
+                .deserializeJson(new Gson().toJson(serialized), AComplexNestedType.class);
+        assertThat(result.complexType1, is(sameInstance(result.complexType2)));
+        assertThat(result.complexType1.stringA, is(equalTo(shared.stringA)));
+        assertThat(result.complexType1.number2, is(equalTo(shared.number2)));
+    }
+
+    @Test
+    public void givenAReferenceBeforeItsDefinition_whenDeserializingWithReferences_thenResolvesTheReference() {
+        final String json = "{" +
+                "\"complexType1\":{\"@ref\":\"7\"}," +
+                "\"complexType2\":{\"@id\":\"7\",\"number1\":\"1\",\"number2\":\"2\",\"stringA\":\"a\"}" +
+                "}";
+        final AComplexNestedType result = theDefaultReferenceResolvingDeserializer()
+                .deserializeJson(json, AComplexNestedType.class);
+        assertThat(result.complexType1, is(sameInstance(result.complexType2)));
+        assertThat(result.complexType2.stringA.internalValueForMapping(), is(equalTo("a")));
+    }
+
+    @Test
+    public void givenAnUnknownReference_whenDeserializingWithReferences_thenThrowsException() {
+        final String json = "{\"complexType1\":{\"@ref\":\"7\"}}";
+        try {
+            theDefaultReferenceResolvingDeserializer().deserializeJson(json, AComplexNestedType.class);
+            fail("should throw exception");
+        } catch (final UnrecognizedExceptionOccurredException e) {
+            assertThat(e.unmappedException, is(instanceOf(InvalidReferenceException.class)));
+        }
+    }
+
+    @Test
+    public void givenPayloadsExceedingTheLimits_whenDeserializing_thenThrowsTypedException() {
+        final String nested = "{" +
+                "\"complexType1\":" +
+                "{\"number1\":\"1\",\"number2\":\"2\",\"stringA\":\"a\",\"stringB\":\"b\"}" +
+                "}";
+        try {
+            theDefaultLimitedDeserializer(unlimitedPayloads().withMaxDepth(1))
+                    .deserializeJson(nested, AComplexNestedType.class);
+            fail("should throw exception");
+        } catch (final PayloadLimitExceededException e) {
+            assertThat(e.limit(), is(PayloadLimit.DEPTH));
+            assertThat(e.maximum(), is(1L));
+            assertThat(e.actual(), is(2L));
+        }
+
+        final String array = "{\"array\":[\"1\", \"2\", \"3\"]}";
+        try {
+            theDefaultLimitedDeserializer(unlimitedPayloads().withMaxArrayLength(2))
+                    .deserializeJson(array, AComplexTypeWithArray.class);
+            fail("should throw exception");
+        } catch (final PayloadLimitExceededException e) {
+            assertThat(e.limit(), is(PayloadLimit.ARRAY_LENGTH));
+        }
+
+        try {
+            theDefaultLimitedDeserializer(unlimitedPayloads().withMaxInputSize(16))
+                    .deserialize(new ByteArrayInputStream(array.getBytes(UTF_8)), AComplexTypeWithArray.class, json());
+            fail("should throw exception");
+        } catch (final PayloadLimitExceededException e) {
+            assertThat(e.limit(), is(PayloadLimit.INPUT_SIZE));
+        }
+
+        final AComplexTypeWithArray result = theDefaultLimitedDeserializer(unlimitedPayloads()
+                .withMaxDepth(2)
+                .withMaxArrayLength(3)
+                .withMaxStringLength(1))
+                .deserializeJson(array, AComplexTypeWithArray.class);
+        assertThat(result.array.length, is(equalTo(3)));
+    }
+
+    @Test
+    public void givenAStringInput_whenCheckingTheInputSize_thenCountsEncodedBytes() {
+        final String multiByte = "{\"stringA\":\"\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\"}";
+        try {
+            theDefaultLimitedDeserializer(unlimitedPayloads().withMaxInputSize(20))
+                    .deserializeJson(multiByte, AComplexType.class);
+            fail("should throw exception");
+        } catch (final PayloadLimitExceededException e) {
+            assertThat(e.limit(), is(PayloadLimit.INPUT_SIZE));
+            assertThat(e.actual(), is(26L));
+        }
+    }
+
     @Test
     public void deserializerCanFindFactoryMethodsWithArrays() {
         final Deserializer deserializer = aDeserializer()
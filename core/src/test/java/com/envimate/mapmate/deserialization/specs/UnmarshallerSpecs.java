@@ -25,6 +25,8 @@ import com.envimate.mapmate.builder.recipes.marshallers.urlencoded.UrlEncodedMar
 import com.envimate.mapmate.domain.valid.AComplexNestedType;
 import com.envimate.mapmate.domain.valid.AComplexType;
 import com.envimate.mapmate.domain.valid.AComplexTypeWithArray;
+import com.envimate.mapmate.domain.valid.ANumber;
+import com.envimate.mapmate.domain.valid.AString;
 import org.junit.Test;
 
 import static com.envimate.mapmate.deserialization.specs.givenwhenthen.Given.givenTheExampleMapMateDeserializer;
@@ -114,6 +116,53 @@ public final class UnmarshallerSpecs {
                 .theDeserializedObjectIs(theFullyInitializedNestedExampleDto());
     }
 
+    @Test
+    public void testUrlEncodedUnmarshallingWithUnorderedAndEncodedArrayIndicesIsPossible() {
+        givenTheExampleMapMateDeserializer()
+                .when().theDeserializerDeserializes("array%5B1%5D=2&array%5B0%5D=1")
+                .as(UrlEncodedMarshallerRecipe.urlEncoded()).toTheType(AComplexTypeWithArray.class)
+                .theDeserializedObjectIs(theFullyInitializedExampleDtoWithCollections());
+    }
+
+    @Test
+    public void testUrlEncodedUnmarshallingDecodesValues() {
+        givenTheExampleMapMateDeserializer()
+                .when().theDeserializerDeserializes("number1=1&number2=5&stringA=as%64f&stringB=q+w%C3%A9r")
+                .as(UrlEncodedMarshallerRecipe.urlEncoded()).toTheType(AComplexType.class)
+                .theDeserializedObjectIs(AComplexType.aComplexType(
+                        AString.fromString("asdf"),
+                        AString.fromString("q w\u00e9r"),
+                        ANumber.fromInt(1),
+                        ANumber.fromInt(5)));
+    }
+
+    @Test
+    public void testUrlEncodedUnmarshallingRejectsSparseArrayIndices() {
+        givenTheExampleMapMateDeserializer()
+                .when().theDeserializerDeserializes("array[999999999]=1")
+                .as(UrlEncodedMarshallerRecipe.urlEncoded()).toTheType(AComplexTypeWithArray.class)
+                .anExceptionIsThrownCausedByAMessageContaining(
+                        "array index 999999999 is out of range for an array with 1 elements");
+    }
+
+    @Test
+    public void testUrlEncodedUnmarshallingRejectsArrayIndicesMixedWithMapKeys() {
+        givenTheExampleMapMateDeserializer()
+                .when().theDeserializerDeserializes("array[0]=1&array[foo]=2")
+                .as(UrlEncodedMarshallerRecipe.urlEncoded()).toTheType(AComplexTypeWithArray.class)
+                .anExceptionIsThrownCausedByAMessageContaining(
+                        "key 'foo' cannot be mixed with array indices on the same level");
+    }
+
+    @Test
+    public void testUrlEncodedUnmarshallingRejectsDuplicateArrayIndices() {
+        givenTheExampleMapMateDeserializer()
+                .when().theDeserializerDeserializes("array[0]=1&array[00]=2")
+                .as(UrlEncodedMarshallerRecipe.urlEncoded()).toTheType(AComplexTypeWithArray.class)
+                .anExceptionIsThrownCausedByAMessageContaining(
+                        "array index '00' denotes an element that is already present");
+    }
+
     @Test
     public void testUnknownUnmarshallerThrowsAnException() {
         givenTheExampleMapMateDeserializer()
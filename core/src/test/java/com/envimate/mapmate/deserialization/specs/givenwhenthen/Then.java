@@ -42,4 +42,9 @@ public final class Then {
         assertThat(this.exception.getMessage(), StringContains.containsString(message));
         return this;
     }
+
+    public Then anExceptionIsThrownCausedByAMessageContaining(final String message) {
+        assertThat(this.exception.getCause().getMessage(), StringContains.containsString(message));
+        return this;
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.envimate.mapmate.flow;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class BufferedProcessorTest {
+
+    @Test
+    public void givenRequestsOfOne_whenProcessing_thenDeliversOneItemPerRequest() {
+        final Upstream upstream = new Upstream();
+        final Downstream downstream = new Downstream();
+        final BufferedProcessor<String, String> processor = duplicating(1, 4);
+        processor.subscribe(downstream);
+        processor.onSubscribe(upstream);
+        assertThat(upstream.requested, is(0L));
+
+        downstream.subscription.request(1);
+        assertThat(upstream.requested, is(1L));
+        processor.onNext("a");
+        assertThat(downstream.received, is(List.of("a")));
+        assertThat(upstream.requested, is(1L));
+
+        downstream.subscription.request(1);
+        assertThat(upstream.requested, is(2L));
+        processor.onNext("b");
+        processor.onComplete();
+        assertThat(downstream.received, is(List.of("a", "b")));
+        assertThat(downstream.completed, is(true));
+    }
+
+    @Test
+    public void givenBufferedItems_whenRequesting_thenServesThemBeforeRequestingUpstream() {
+        final Upstream upstream = new Upstream();
+        final Downstream downstream = new Downstream();
+        final BufferedProcessor<String, String> processor = duplicating(3, 2);
+        processor.subscribe(downstream);
+        processor.onSubscribe(upstream);
+
+        downstream.subscription.request(1);
+        processor.onNext("a");
+        assertThat(downstream.received, is(List.of("a")));
+        assertThat(upstream.requested, is(1L));
+
+        downstream.subscription.request(2);
+        assertThat(downstream.received, is(List.of("a", "a", "a")));
+        assertThat(upstream.requested, is(1L));
+
+        downstream.subscription.request(1);
+        assertThat(upstream.requested, is(2L));
+    }
+
+    @Test
+    public void givenACancellationMidStream_whenMoreItemsArrive_thenNothingIsDelivered() {
+        final Upstream upstream = new Upstream();
+        final Downstream downstream = new Downstream();
+        final BufferedProcessor<String, String> processor = duplicating(2, 4);
+        processor.subscribe(downstream);
+        processor.onSubscribe(upstream);
+
+        downstream.subscription.request(1);
+        processor.onNext("a");
+        downstream.subscription.cancel();
+        assertThat(upstream.cancelled, is(true));
+
+        downstream.subscription.request(10);
+        processor.onNext("b");
+        processor.onComplete();
+        assertThat(downstream.received, is(List.of("a")));
+        assertThat(downstream.completed, is(false));
+        assertThat(downstream.error, is(nullValue()));
+    }
+
+    @Test
+    public void givenAnUpstreamErrorWithBufferedItems_whenRequesting_thenDeliversTheItemsBeforeTheError() {
+        final Upstream upstream = new Upstream();
+        final Downstream downstream = new Downstream();
+        final BufferedProcessor<String, String> processor = duplicating(2, 4);
+        processor.subscribe(downstream);
+        processor.onSubscribe(upstream);
+
+        downstream.subscription.request(1);
+        processor.onNext("a");
+        final RuntimeException failure = new RuntimeException("upstream failed");
+        processor.onError(failure);
+        assertThat(downstream.received, is(List.of("a")));
+        assertThat(downstream.error, is(nullValue()));
+
+        downstream.subscription.request(1);
+        assertThat(downstream.received, is(List.of("a", "a")));
+        assertThat(downstream.error, is(sameInstance(failure)));
+        assertThat(downstream.completed, is(false));
+    }
+
+    @Test
+    public void givenARequestOfZero_whenRequesting_thenFailsImmediatelyAndCancelsUpstream() {
+        final Upstream upstream = new Upstream();
+        final Downstream downstream = new Downstream();
+        final BufferedProcessor<String, String> processor = duplicating(2, 4);
+        processor.subscribe(downstream);
+        processor.onSubscribe(upstream);
+
+        downstream.subscription.request(1);
+        processor.onNext("a");
+        downstream.subscription.request(0);
+
+        assertThat(downstream.received, is(List.of("a")));
+        assertThat(downstream.error, is(instanceOf(IllegalArgumentException.class)));
+        assertThat(upstream.cancelled, is(true));
+    }
+
+    @Test
+    public void givenASecondSubscriber_whenSubscribing_thenOnlyTheSecondOneFails() {
+        final Upstream upstream = new Upstream();
+        final Downstream first = new Downstream();
+        final Downstream second = new Downstream();
+        final BufferedProcessor<String, String> processor = duplicating(1, 4);
+        processor.subscribe(first);
+        processor.onSubscribe(upstream);
+        processor.subscribe(second);
+
+        assertThat(second.subscription, is(instanceOf(Flow.Subscription.class)));
+        assertThat(second.error, is(instanceOf(IllegalStateException.class)));
+
+        first.subscription.request(1);
+        processor.onNext("a");
+        processor.onComplete();
+        assertThat(first.received, is(List.of("a")));
+        assertThat(first.completed, is(true));
+        assertThat(second.received, is(List.of()));
+    }
+
+    private static BufferedProcessor<String, String> duplicating(final int copies, final int bufferSize) {
+        return new BufferedProcessor<>(bufferSize) {
+            @Override
+            protected void process(final String item, final Consumer<String> output) {
+                for (int i = 0; i < copies; ++i) {
+                    output.accept(item);
+                }
+            }
+
+            @Override
+            protected void finish(final Consumer<String> output) {
+            }
+        };
+    }
+
+    private static final class Upstream implements Flow.Subscription {
+        private long requested;
+        private boolean cancelled;
+
+        @Override
+        public void request(final long n) {
+            this.requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+    }
+
+    private static final class Downstream implements Flow.Subscriber<String> {
+        private final List<String> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final String item) {
+            this.received.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.envimate.mapmate.marshalling;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.envimate.mapmate.marshalling.CompactMapShape.compactMapShape;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public final class CompactMapTest {
+
+    @Test
+    public void givenAnEmptyMap_whenPuttingKeysOfItsShape_thenIteratesInShapeOrder() {
+        final CompactMap map = compactMapShape("a", "b", "c").newMap();
+        assertThat(map.isEmpty(), is(true));
+
+        assertThat(map.put("c", "3"), is(nullValue()));
+        assertThat(map.put("a", "1"), is(nullValue()));
+        assertThat(map.put("a", "one"), is("1"));
+
+        assertThat(map.size(), is(2));
+        assertThat(List.copyOf(map.keySet()), is(List.of("a", "c")));
+        assertThat(map, is(Map.of("a", "one", "c", "3")));
+        assertThat(map.hashCode(), is(new HashMap<>(map).hashCode()));
+    }
+
+    @Test
+    public void givenANullValue_whenPut_thenTheKeyIsPresent() {
+        final CompactMap map = compactMapShape("a", "b").newMap();
+        map.put("b", null);
+
+        assertThat(map.size(), is(1));
+        assertThat(map.containsKey("b"), is(true));
+        assertThat(map.containsKey("a"), is(false));
+        assertThat(map.get("b"), is(nullValue()));
+    }
+
+    @Test
+    public void givenAKeyOutsideTheShape_whenPutting_thenThrows() {
+        final CompactMap map = compactMapShape("a").newMap();
+
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", "2"));
+        assertThat(map.get("b"), is(nullValue()));
+        assertThat(map.remove("b"), is(nullValue()));
+        assertThat(map.isEmpty(), is(true));
+    }
+
+    @Test
+    public void givenAFilledMap_whenRemovingAndClearing_thenSizeFollows() {
+        final CompactMap map = compactMapShape("a", "b", "c").newMap();
+        map.putAll(Map.of("a", "1", "b", "2", "c", "3"));
+
+        assertThat(map.remove("b"), is("2"));
+        assertThat(map.remove("b"), is(nullValue()));
+        assertThat(map.size(), is(2));
+
+        map.clear();
+        assertThat(map.isEmpty(), is(true));
+        map.put("b", "again");
+        assertThat(map, is(Map.of("b", "again")));
+    }
+
+    @Test
+    public void givenAnEntryIterator_whenMutatingThroughIt_thenTheMapChanges() {
+        final CompactMap map = compactMapShape("a", "b", "c").newMap();
+        map.putAll(Map.of("a", "1", "b", "2", "c", "3"));
+
+        final Iterator<Map.Entry<String, Object>> entries = map.entrySet().iterator();
+        assertThrows(IllegalStateException.class, entries::remove);
+        assertThat(entries.next().setValue("one"), is("1"));
+        entries.next();
+        entries.remove();
+        assertThrows(IllegalStateException.class, entries::remove);
+
+        assertThat(map, is(Map.of("a", "one", "c", "3")));
+        assertThat(map.size(), is(2));
+    }
+
+    @Test
+    public void givenDuplicateKeys_whenCreatingAShape_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> compactMapShape("a", "a"));
+    }
+}
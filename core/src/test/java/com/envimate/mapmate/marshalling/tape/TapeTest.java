@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.envimate.mapmate.marshalling.tape;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.envimate.mapmate.marshalling.tape.Tape.tape;
+import static com.envimate.mapmate.marshalling.tape.TapeSegmentPool.tapeSegmentPool;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public final class TapeTest {
+    private static final int SEGMENT_SIZE = 16;
+
+    @Test
+    public void givenEveryAlignment_whenReadingBack_thenHeadersCrossingSegmentsAreIntact() {
+        for (int padding = 0; padding <= 2 * SEGMENT_SIZE; ++padding) {
+            final String text = "x".repeat(padding);
+            try (Tape tape = tape(tapeSegmentPool(SEGMENT_SIZE, 0))) {
+                tape.startArray();
+                tape.string(text);
+                tape.startArray();
+                tape.number(Long.MAX_VALUE);
+                tape.string("two");
+                tape.bool(true);
+                tape.nullValue();
+                tape.endArray();
+                tape.startObject();
+                tape.fieldName("key");
+                tape.number(-5);
+                tape.endObject();
+                tape.endArray();
+
+                assertThat("padding " + padding, tape.isComplete(), is(true));
+                assertThat("padding " + padding, tape.root(), is(List.of(
+                        text,
+                        Arrays.asList(Long.MAX_VALUE, "two", true, null),
+                        Map.of("key", -5))));
+            }
+        }
+    }
+
+    @Test
+    public void givenPrimitiveArrays_whenWritten_thenElementsKeepTheirValues() {
+        try (Tape tape = tape(tapeSegmentPool(SEGMENT_SIZE, 0))) {
+            tape.startArray();
+            tape.primitiveArray(new long[]{Long.MIN_VALUE, 0, 42});
+            tape.primitiveArray(new double[]{1.5, -2.25});
+            tape.primitiveArray(new float[]{0.5f});
+            tape.primitiveArray(new byte[]{Byte.MIN_VALUE});
+            tape.primitiveArray(new boolean[]{true, false});
+            tape.primitiveArray(new char[]{'a', '\u00e4'});
+            tape.endArray();
+
+            assertThat(tape.root(), is(List.of(
+                    List.of(Long.MIN_VALUE, 0, 42),
+                    List.of(1.5, -2.25),
+                    List.of(0.5),
+                    List.of(-128),
+                    List.of(true, false),
+                    List.of("a", "\u00e4"))));
+        }
+    }
+
+    @Test
+    public void givenAnObjectWithDuplicateKeys_whenReadingIt_thenTheLastOccurrenceWins() {
+        try (Tape tape = tape(tapeSegmentPool(SEGMENT_SIZE, 0))) {
+            tape.startObject();
+            tape.fieldName("\u00fcber");
+            tape.string("first");
+            tape.fieldName("other");
+            tape.number("1");
+            tape.fieldName("\u00fcber");
+            tape.string("second");
+            tape.endObject();
+
+            final Map<?, ?> root = (Map<?, ?>) tape.root();
+            assertThat(root.get("\u00fcber"), is("second"));
+            assertThat(root.get("other"), is(1));
+            assertThat(root.containsKey("missing"), is(false));
+            assertThat(root.get("missing"), is(nullValue()));
+            assertThat(root.get(1), is(nullValue()));
+            assertThat(root.size(), is(2));
+            assertThat(new ArrayList<>(root.entrySet()), is(List.of(
+                    Map.entry("\u00fcber", "second"), Map.entry("other", 1))));
+            final Map<Object, Object> visited = new LinkedHashMap<>();
+            root.forEach(visited::put);
+            assertThat(visited, is(root));
+        }
+    }
+
+    @Test
+    public void givenAClosedTape_whenReleasingSegments_thenThePoolKeepsAtMostItsLimit() {
+        final TapeSegmentPool pool = tapeSegmentPool(SEGMENT_SIZE, 2);
+        final Tape tape = tape(pool);
+        tape.string("a string that spans several segments");
+        tape.close();
+        tape.close();
+
+        assertThat(pool.pooledSegments(), is(2));
+        assertThrows(IllegalStateException.class, tape::root);
+
+        try (Tape reused = tape(pool)) {
+            reused.string("reused");
+            assertThat(pool.pooledSegments(), is(1));
+            assertThat(reused.root(), is("reused"));
+        }
+        assertThat(pool.pooledSegments(), is(2));
+    }
+
+    @Test
+    public void givenTooSmallSegments_whenCreatingAPool_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> tapeSegmentPool(SEGMENT_SIZE - 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> tapeSegmentPool(SEGMENT_SIZE, -1));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019 envimate GmbH - https://envimate.com/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.envimate.mapmate.serialization;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.envimate.mapmate.marshalling.MarshallingType.json;
+import static com.envimate.mapmate.marshalling.MarshallingType.xml;
+import static com.envimate.mapmate.serialization.OutputCache.outputCacheFor;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public final class OutputCacheTest {
+
+    @Test
+    public void givenACachedObject_whenMarshallingAgain_thenReturnsTheCachedOutput() {
+        final OutputCache cache = outputCacheFor(4, Object.class);
+        final Object object = new Object();
+        final AtomicInteger marshalled = new AtomicInteger();
+
+        assertThat(cache.string(object, json(), () -> "v" + marshalled.incrementAndGet()), is("v1"));
+        assertThat(cache.string(object, json(), () -> "v" + marshalled.incrementAndGet()), is("v1"));
+        assertThat(cache.string(object, xml(), () -> "v" + marshalled.incrementAndGet()), is("v2"));
+        assertThat(new String(cache.bytes(object, json(), () -> "b".getBytes(UTF_8)), UTF_8), is("b"));
+
+        assertThat(cache.hits(), is(1L));
+        assertThat(cache.misses(), is(3L));
+        assertThat(cache.size(), is(2L));
+        assertThat(cache.isCacheable(object), is(true));
+        assertThat(cache.isCacheable("not an Object instance"), is(false));
+    }
+
+    @Test
+    public void givenAFullCache_whenAddingAnotherObject_thenEvictsTheLeastRecentlyUsed() {
+        final OutputCache cache = outputCacheFor(1, Object.class);
+        final Object first = new Object();
+        final Object second = new Object();
+
+        cache.string(first, json(), () -> "first");
+        cache.string(second, json(), () -> "second");
+        assertThat(cache.evictions(), is(1L));
+        assertThat(cache.size(), is(1L));
+
+        assertThat(cache.string(first, json(), () -> "again"), is("again"));
+        assertThat(cache.string(first, json(), () -> "unused"), is("again"));
+        assertThat(cache.evictions(), is(2L));
+
+        cache.clear();
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void givenAnUnreachableKey_whenCollected_thenItsEntryExpires() throws InterruptedException {
+        final OutputCache cache = outputCacheFor(16, Object.class);
+        cache.string(new Object(), json(), () -> "collectable");
+        assertThat(cache.size(), is(1L));
+
+        for (int attempt = 0; attempt < 100 && cache.size() > 0; ++attempt) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void givenANonPositiveSize_whenCreatingACache_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> outputCacheFor(0, Object.class));
+    }
+}
@@ -29,17 +29,35 @@ import com.envimate.mapmate.validators.CustomTypeValidationException;
 import com.google.gson.Gson;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.envimate.mapmate.Defaults.theDefaultCachingSerializer;
+import static com.envimate.mapmate.Defaults.theDefaultCanonicalSerializer;
+import static com.envimate.mapmate.Defaults.theDefaultCompactSerializer;
 import static com.envimate.mapmate.Defaults.theDefaultSerializer;
 import static com.envimate.mapmate.filters.ClassFilters.*;
 import static com.envimate.mapmate.marshalling.MarshallingType.json;
+import static com.envimate.mapmate.parallel.Parallelism.parallelAbove;
+import static com.envimate.mapmate.serialization.OutputCache.outputCacheFor;
 import static com.envimate.mapmate.serialization.Serializer.aSerializer;
 import static com.envimate.mapmate.serialization.methods.ProvidedMethodSerializationCPMethod.providedMethodSerializationCPMethod;
 import static junit.framework.TestCase.fail;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public final class SerializerTest {
@@ -65,6 +83,60 @@ public final class SerializerTest {
         assertThat(result, is("{\"number1\":\"1\",\"number2\":\"5555\",\"stringA\":\"asdf\",\"stringB\":\"qwer\"}"));
     }
 
+    @Test
+    public void testParallelSerializationProducesTheSameOutputAsSequentialSerialization() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Serializer serializer = aSerializer()
+                    .withJsonMarshaller(new Gson()::toJson)
+                    .withDataTransferObject(AComplexType.class)
+                    .serializedByItsPublicFields()
+                    .withCustomPrimitive(AString.class)
+                    .serializedUsingTheMethod(AString::internalValueForMapping)
+                    .withCustomPrimitive(ANumber.class)
+                    .serializedUsingTheMethod(ANumber::internalValueForMapping)
+                    .withParallelism(parallelAbove(2, executor))
+                    .build();
+
+            final AComplexType[] given = new AComplexType[1000];
+            for (int i = 0; i < given.length; ++i) {
+                given[i] = AComplexType.aComplexType(
+                        AString.fromString("a" + i),
+                        AString.fromString("b" + i),
+                        ANumber.fromInt(i),
+                        ANumber.fromInt(i + 1));
+            }
+            final String expected = theDefaultSerializer().serializeToJson(given);
+            assertThat(serializer.serializeToJson(given), is(expected));
+            assertThat(serializer.serializeToJson(List.of(given)), is(expected));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelSerializationFromAThreadOfItsOwnExecutorDoesNotDeadlock() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Serializer serializer = aSerializer()
+                    .withJsonMarshaller(new Gson()::toJson)
+                    .withCustomPrimitive(AString.class)
+                    .serializedUsingTheMethod(AString::internalValueForMapping)
+                    .withParallelism(parallelAbove(2, executor))
+                    .build();
+
+            final AString[] given = new AString[100];
+            for (int i = 0; i < given.length; ++i) {
+                given[i] = AString.fromString("a" + i);
+            }
+            final String expected = theDefaultSerializer().serializeToJson(given);
+            final Future<String> result = executor.submit(() -> serializer.serializeToJson(given));
+            assertThat(result.get(10, TimeUnit.SECONDS), is(expected));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void givenStringDomain_whenSerializing_thenReturnsJsonString() {
         final AString given = AString.fromString("test@test.test");
@@ -185,6 +257,48 @@ public final class SerializerTest {
         }
     }
 
+    @Test
+    public void givenValuesNestedInAList_whenSerializing_thenCallsTheSerializationMethodOnce() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Serializer serializer = aSerializer()
+                .withJsonMarshaller(new Gson()::toJson)
+                .withDataTransferObject(AComplexType.class)
+                .serializedUsing((object, callback) -> {
+                    calls.incrementAndGet();
+                    final AComplexType complexType = (AComplexType) object;
+                    return List.of(callback.apply(complexType.stringA), callback.apply(complexType.stringB));
+                })
+                .withCustomPrimitive(AString.class)
+                .serializedUsingTheMethod(AString::internalValueForMapping)
+                .build();
+        final AComplexType given = AComplexType.aComplexType(
+                AString.fromString("a"), AString.fromString("b"), ANumber.fromInt(1), ANumber.fromInt(2));
+
+        assertThat(serializer.serializeToJson(given), is("[\"a\",\"b\"]"));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void givenValuesHiddenInAnOpaqueObject_whenSerializing_thenThrowsError() {
+        final Serializer serializer = aSerializer()
+                .withJsonMarshaller(new Gson()::toJson)
+                .withDataTransferObject(AComplexType.class)
+                .serializedUsing((object, callback) ->
+                        Map.of("wrapped", Optional.of(callback.apply(((AComplexType) object).stringA))))
+                .withCustomPrimitive(AString.class)
+                .serializedUsingTheMethod(AString::internalValueForMapping)
+                .build();
+        final AComplexType given = AComplexType.aComplexType(
+                AString.fromString("a"), AString.fromString("b"), ANumber.fromInt(1), ANumber.fromInt(2));
+
+        try {
+            serializer.serializeToJson(given);
+            fail("should throw SerializationException");
+        } catch (final SerializationException result) {
+            assertThat(result.getMessage(), containsString("hid 1 of its field values"));
+        }
+    }
+
     @Test
     public void givenCyclicType_whenSerializing_thenThrowsError() {
         final ACyclicType given1 = ACyclicType.aCyclicType(AString.fromString("a"));
@@ -203,6 +317,91 @@ public final class SerializerTest {
         }
     }
 
+    @Test
+    public void givenCanonicalOutput_whenSerializing_thenKeysAreSorted() {
+        final Map<AString, ANumber> map = new LinkedHashMap<>();
+        map.put(AString.fromString("z"), ANumber.fromInt(1));
+        map.put(AString.fromString("a"), ANumber.fromInt(2));
+        final AComplexTypeWithMap given = AComplexTypeWithMap.aComplexTypeWithMap(map, new HashMap<>(), new HashMap<>());
+
+        final String result = theDefaultCanonicalSerializer().serializeToJson(given);
+        assertThat(result, is(equalTo("{\"complexMap\":{},\"hashMap\":{},\"map\":{\"a\":\"2\",\"z\":\"1\"}}")));
+    }
+
+    @Test
+    public void givenCompactMaps_whenSerializing_thenWritesFieldsInDeclarationOrder() {
+        final AComplexType given = AComplexType.aComplexType(
+                AString.fromString("a"),
+                AString.fromString("b"),
+                ANumber.fromInt(1),
+                ANumber.fromInt(2));
+        final Serializer serializer = theDefaultCompactSerializer();
+        assertThat(serializer.serializeToJson(given),
+                is(equalTo("{\"stringA\":\"a\",\"stringB\":\"b\",\"number1\":\"1\",\"number2\":\"2\"}")));
+
+        final Map<String, Object> map = serializer.serializeToMap(given);
+        map.put("unknown", "value");
+        assertThat(map.get("unknown"), is(equalTo("value")));
+    }
+
+    @Test
+    public void givenDefaultOptions_whenSerializingToMap_thenReturnsAMutableHashMap() {
+        final AComplexType given = AComplexType.aComplexType(
+                AString.fromString("a"),
+                AString.fromString("b"),
+                ANumber.fromInt(1),
+                ANumber.fromInt(2));
+        final Map<String, Object> map = theDefaultSerializer().serializeToMap(given);
+        assertThat(map, is(instanceOf(HashMap.class)));
+        map.put("unknown", "value");
+        assertThat(map.get("unknown"), is(equalTo("value")));
+    }
+
+    @Test
+    public void givenEqualContent_whenDigesting_thenDigestsTheCanonicalBytes() throws Exception {
+        final Map<AString, ANumber> ascending = new LinkedHashMap<>();
+        ascending.put(AString.fromString("a"), ANumber.fromInt(2));
+        ascending.put(AString.fromString("z\u00e9"), ANumber.fromInt(1));
+        final Map<AString, ANumber> descending = new LinkedHashMap<>();
+        descending.put(AString.fromString("z\u00e9"), ANumber.fromInt(1));
+        descending.put(AString.fromString("a"), ANumber.fromInt(2));
+        final Serializer serializer = theDefaultSerializer();
+
+        final ContentDigest first = serializer.digest(
+                AComplexTypeWithMap.aComplexTypeWithMap(ascending, new HashMap<>(), new HashMap<>()), "SHA-256");
+        final ContentDigest second = serializer.digest(
+                AComplexTypeWithMap.aComplexTypeWithMap(descending, new HashMap<>(), new HashMap<>()), "SHA-256");
+
+        final byte[] canonical = "{\"complexMap\":{},\"hashMap\":{},\"map\":{\"a\":\"2\",\"z\u00e9\":\"1\"}}"
+                .getBytes(StandardCharsets.UTF_8);
+        assertThat(first, is(equalTo(second)));
+        assertThat(first.length(), is((long) canonical.length));
+        assertThat(first.digest(), is(equalTo(MessageDigest.getInstance("SHA-256").digest(canonical))));
+    }
+
+    @Test
+    public void givenACacheableInstance_whenSerializingRepeatedly_thenReusesTheOutput() {
+        final AComplexType given = AComplexType.aComplexType(
+                AString.fromString("a"), AString.fromString("b"), ANumber.fromInt(1), ANumber.fromInt(2));
+        final AComplexType other = AComplexType.aComplexType(
+                AString.fromString("c"), AString.fromString("d"), ANumber.fromInt(3), ANumber.fromInt(4));
+        final Serializer serializer = theDefaultCachingSerializer(outputCacheFor(1, AComplexType.class));
+
+        final String first = serializer.serializeToJson(given);
+        final String second = serializer.serializeToJson(given);
+        serializer.serializeToJson(AComplexNestedType.aComplexNestedType(given, given));
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(serializer.outputCache().hits(), is(1L));
+        assertThat(serializer.outputCache().misses(), is(1L));
+
+        serializer.serializeToJson(other);
+        serializer.serializeToJson(given);
+        assertThat(serializer.outputCache().misses(), is(3L));
+        assertThat(serializer.outputCache().evictions(), is(2L));
+        assertThat(serializer.outputCache().size(), is(1L));
+    }
+
     @Test
     public void givenNonCyclicType_whenSerializing_thenDoesNotThrowsError() {
         final ACyclicType given1 = ACyclicType.aCyclicType(AString.fromString("a"));
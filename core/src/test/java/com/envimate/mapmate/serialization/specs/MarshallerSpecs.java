@@ -22,6 +22,9 @@
 package com.envimate.mapmate.serialization.specs;
 
 import com.envimate.mapmate.builder.recipes.marshallers.urlencoded.UrlEncodedMarshallerRecipe;
+import com.envimate.mapmate.domain.valid.AComplexType;
+import com.envimate.mapmate.domain.valid.ANumber;
+import com.envimate.mapmate.domain.valid.AString;
 import org.junit.Test;
 
 import static com.envimate.mapmate.deserialization.specs.instances.Instances.*;
@@ -109,6 +112,17 @@ public final class MarshallerSpecs {
                         "complexType1[stringB]=b");
     }
 
+    @Test
+    public void testUrlEncodedMarshallingEncodesValues() {
+        givenTheExampleMapMateSerializer()
+                .when(AComplexType.aComplexType(
+                        AString.fromString("a&b=c"),
+                        AString.fromString("q w\u00e9r"),
+                        ANumber.fromInt(1),
+                        ANumber.fromInt(5))).isSerializedTo(UrlEncodedMarshallerRecipe.urlEncoded())
+                .theSerializationResultWas("number1=1&number2=5&stringA=a%26b%3Dc&stringB=q+w%C3%A9r");
+    }
+
     @Test
     public void testUnknownMarshallerThrowsAnException() {
         givenTheExampleMapMateSerializer()